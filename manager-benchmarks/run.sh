@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Builds the manager classes as a plain jar, builds the benchmarks and runs them with the GC profiler
+# Usage: ./run.sh [JMH options and benchmark regex], e.g. ./run.sh TransferFee -f 1 -wi 3 -i 5
+# Results are reported in ops/s, the gc.alloc.rate.norm lines give the bytes allocated per operation
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RESULTS=${RESULTS:-results}
+mkdir -p "$RESULTS"
+
+mvn -B -q -f ../manager/pom.xml -DskipTests -Dspring-boot.repackage.skip=true install
+mvn -B -q clean package
+
+java -jar target/benchmarks.jar -prof gc \
+    -rf json -rff "$RESULTS/jmh-$(date +%Y%m%d-%H%M%S).json" "$@"
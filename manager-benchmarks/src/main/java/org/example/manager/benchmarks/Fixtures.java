@@ -0,0 +1,35 @@
+package org.example.manager.benchmarks;
+
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+
+import java.math.BigDecimal;
+
+/**
+ * Entities shared by the benchmarks, valid against the entity constraints
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static Team team(Long id) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName("Real Madrid");
+        team.setCountry("Spain");
+        team.setBalance(new BigDecimal("125000000.50"));
+        team.setCommissionRate(5.0);
+        return team;
+    }
+
+    static Player player(Long id, Team team) {
+        Player player = new Player();
+        player.setId(id);
+        player.setFirstName("Jean-Pierre");
+        player.setLastName("Van Dijk");
+        player.setAge(27);
+        player.setMonthsOfExperience(120);
+        player.setTeam(team);
+        return player;
+    }
+}
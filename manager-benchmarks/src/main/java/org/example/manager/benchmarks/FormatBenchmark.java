@@ -0,0 +1,107 @@
+package org.example.manager.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import org.example.manager.config.BinaryFormatConfig;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.model.Team;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JSON, Smile and CBOR encodings of the list responses
+ * Encodes with the mappers of the HTTP converters and decodes into plain documents, the way batch consumers do,
+ * so the JSON decode includes parsing the balance strings. Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+    @Param({"JSON", "SMILE", "CBOR"})
+    private String format;
+    @Param({"500"})
+    private int pageSize;
+    private ObjectMapper objectMapper;
+    private List<PlayerInformationResponse> playerPage;
+    private List<TeamInformationResponse> teamPage;
+    private byte[] encodedPlayerPage;
+    private byte[] encodedTeamPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch(format) {
+            case "JSON" -> Jackson2ObjectMapperBuilder.json().build();
+            case "SMILE" -> BinaryFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.smile());
+            case "CBOR" -> BinaryFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.cbor());
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+        playerPage = new ArrayList<>(pageSize);
+        teamPage = new ArrayList<>(pageSize);
+        for(long id = 1; id <= pageSize; id++) {
+            Team team = Fixtures.team(id);
+            team.setBalance(team.getBalance().add(BigDecimal.valueOf(id, 2)));
+            teamPage.add(new TeamInformationResponse(team));
+            playerPage.add(new PlayerInformationResponse(Fixtures.player(id, team)));
+        }
+        encodedPlayerPage = objectMapper.writeValueAsBytes(playerPage);
+        encodedTeamPage = objectMapper.writeValueAsBytes(teamPage);
+        System.out.printf("%n%s payload of %d items: players %d bytes, teams %d bytes%n",
+                format, pageSize, encodedPlayerPage.length, encodedTeamPage.length);
+    }
+
+    @Benchmark
+    public byte[] encodePlayerPage() throws IOException {
+        return objectMapper.writeValueAsBytes(playerPage);
+    }
+
+    @Benchmark
+    public byte[] encodeTeamPage() throws IOException {
+        return objectMapper.writeValueAsBytes(teamPage);
+    }
+
+    @Benchmark
+    public PlayerDocument[] decodePlayerPage() throws IOException {
+        return objectMapper.readValue(encodedPlayerPage, PlayerDocument[].class);
+    }
+
+    @Benchmark
+    public TeamDocument[] decodeTeamPage() throws IOException {
+        return objectMapper.readValue(encodedTeamPage, TeamDocument[].class);
+    }
+
+    /**
+     * Player as read by a consumer
+     */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class PlayerDocument {
+        public Long id;
+        public String firstName;
+        public String lastName;
+        public Integer age;
+        public Integer monthsOfExperience;
+        public String teamName;
+    }
+
+    /**
+     * Team as read by a consumer, the balance is a string in JSON and a decimal number in the binary formats
+     */
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class TeamDocument {
+        public Long id;
+        public String name;
+        public String country;
+        public BigDecimal balance;
+        public Double commissionRate;
+    }
+}
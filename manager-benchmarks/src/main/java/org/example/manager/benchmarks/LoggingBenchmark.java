@@ -0,0 +1,139 @@
+package org.example.manager.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.logging.AccessLogFilter;
+import org.example.manager.logging.SampledRequestTurboFilter;
+import org.example.manager.model.Player;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the log calls of one transfer request under the default and the prod logging modes
+ * SYNC is the default mode, INFO application logs and the SQL logger at DEBUG written synchronously;
+ * ASYNC writes the same events through the non-blocking async appender of the prod profile;
+ * PROD adds the prod levels, one access log line per request and 1% of the requests sampled at DEBUG.
+ * Events are written to a temporary file with the Boot console pattern, run with several threads to see the appender lock.
+ * The async appender drops events when its queue is full, so its score is the throughput of the request threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+    private static final double PROD_SAMPLE_RATE = 0.01;
+    @Param({"SYNC", "ASYNC", "PROD"})
+    private String mode;
+    private LoggerContext context;
+    private File logFile;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+    private Logger sqlLogger;
+    private Logger accessLogger;
+    private TransferRequest request;
+    private Player player;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log").toFile();
+        context = new LoggerContext();
+        context.start();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if(!mode.equals("SYNC")) {
+            // same settings as the ASYNC appender of logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        controllerLogger = context.getLogger("org.example.manager.controller.TransferController");
+        serviceLogger = context.getLogger("org.example.manager.service.impl.TransferServiceImpl");
+        sqlLogger = context.getLogger("org.hibernate.SQL");
+        accessLogger = context.getLogger(AccessLogFilter.class.getName());
+        if(mode.equals("PROD")) {
+            SampledRequestTurboFilter filter = new SampledRequestTurboFilter();
+            filter.setContext(context);
+            filter.addLoggerPrefix("org.example.manager");
+            filter.addLoggerPrefix("org.hibernate.SQL");
+            filter.start();
+            context.addTurboFilter(filter);
+            context.getLogger("org.example.manager").setLevel(Level.WARN);
+            accessLogger.setLevel(Level.INFO);
+            sqlLogger.setLevel(Level.INFO);
+        } else {
+            sqlLogger.setLevel(Level.DEBUG);
+        }
+
+        request = new TransferRequest(1L, 2L);
+        player = Fixtures.player(1L, Fixtures.team(1L));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void transferRequest() {
+        boolean prod = mode.equals("PROD");
+        boolean sampled = prod && ThreadLocalRandom.current().nextDouble() < PROD_SAMPLE_RATE;
+        if(sampled) MDC.put(AccessLogFilter.SAMPLED_KEY, "true");
+        long start = System.nanoTime();
+        controllerLogger.info("Transferring player with request: {}", request);
+        serviceLogger.info("Transferring player with ID: {} to team with ID: {}", request.getPlayerId(), request.getNewTeamId());
+        serviceLogger.debug("Loaded player: {}", player);
+        sqlLogger.debug("update team set balance=balance-?,version=version+1 where id=? and balance>=?");
+        sqlLogger.debug("update team set balance=balance+?,version=version+1 where id=?");
+        sqlLogger.debug("update player set team_id=?,version=version+1 where id=? and team_id=?");
+        serviceLogger.info("Successfully transferred player with ID: {} to team: {}", request.getPlayerId(), "Real Madrid");
+        controllerLogger.info("Successfully transferred player with ID: {}", request.getPlayerId());
+        if(prod) {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            accessLogger.atInfo()
+                    .addKeyValue("http.method", "POST")
+                    .addKeyValue("url.path", "/transfer/1/to/2")
+                    .addKeyValue("http.status", 200)
+                    .addKeyValue("duration_ms", durationMillis)
+                    .addKeyValue(AccessLogFilter.SAMPLED_KEY, sampled)
+                    .log("{} {} {} {}ms", "POST", "/transfer/1/to/2", 200, durationMillis);
+        }
+        if(sampled) MDC.remove(AccessLogFilter.SAMPLED_KEY);
+    }
+}
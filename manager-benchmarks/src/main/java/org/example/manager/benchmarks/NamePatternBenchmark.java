@@ -0,0 +1,53 @@
+package org.example.manager.benchmarks;
+
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of the name regexes declared with @Pattern on the entities
+ * The expressions are read from the annotations, so the benchmark always measures the shipped regexes
+ * Compiled patterns match how the validator caches them, String.matches shows the cost of compiling on every call
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NamePatternBenchmark {
+    @Param({"Jean-Pierre", "Van Der Sar", "jean-pierre", "Aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa-"})
+    private String input;
+    private String playerNameRegex;
+    private String teamNameRegex;
+    private Pattern playerNamePattern;
+    private Pattern teamNamePattern;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        playerNameRegex = Player.class.getDeclaredField("firstName")
+                .getAnnotation(jakarta.validation.constraints.Pattern.class).regexp();
+        teamNameRegex = Team.class.getDeclaredField("name")
+                .getAnnotation(jakarta.validation.constraints.Pattern.class).regexp();
+        playerNamePattern = Pattern.compile(playerNameRegex);
+        teamNamePattern = Pattern.compile(teamNameRegex);
+    }
+
+    @Benchmark
+    public boolean playerNameCompiled() {
+        return playerNamePattern.matcher(input).matches();
+    }
+
+    @Benchmark
+    public boolean teamNameCompiled() {
+        return teamNamePattern.matcher(input).matches();
+    }
+
+    @Benchmark
+    public boolean playerNameStringMatches() {
+        return input.matches(playerNameRegex);
+    }
+}
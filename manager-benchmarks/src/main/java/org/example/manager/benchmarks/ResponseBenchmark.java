@@ -0,0 +1,51 @@
+package org.example.manager.benchmarks;
+
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the response DTO construction from entities and from projection values
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseBenchmark {
+    private Player player;
+    private Team team;
+
+    @Setup
+    public void setUp() {
+        team = Fixtures.team(1L);
+        player = Fixtures.player(1L, team);
+    }
+
+    @Benchmark
+    public PlayerInformationResponse playerFromEntity() {
+        return new PlayerInformationResponse(player);
+    }
+
+    @Benchmark
+    public PlayerInformationResponse playerFromProjection() {
+        return new PlayerInformationResponse(player.getId(), player.getFirstName(), player.getLastName(),
+                player.getAge(), player.getMonthsOfExperience(), team.getName());
+    }
+
+    @Benchmark
+    public TeamInformationResponse teamFromEntity() {
+        return new TeamInformationResponse(team);
+    }
+
+    @Benchmark
+    public TeamInformationResponse teamFromProjection() {
+        return new TeamInformationResponse(team.getId(), team.getName(), team.getCountry(),
+                team.getBalance(), team.getCommissionRate());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.manager.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.model.Team;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the snake_case Jackson serialization of the response DTOs
+ * The page size matches the default page size of the list endpoints
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"50"})
+    private int pageSize;
+    private ObjectMapper objectMapper;
+    private PlayerInformationResponse player;
+    private TeamInformationResponse team;
+    private List<PlayerInformationResponse> playerPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        Team entity = Fixtures.team(1L);
+        team = new TeamInformationResponse(entity);
+        player = new PlayerInformationResponse(Fixtures.player(1L, entity));
+        playerPage = new ArrayList<>(pageSize);
+        for(long id = 1; id <= pageSize; id++) {
+            playerPage.add(new PlayerInformationResponse(Fixtures.player(id, entity)));
+        }
+    }
+
+    @Benchmark
+    public byte[] player() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(player);
+    }
+
+    @Benchmark
+    public byte[] team() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(team);
+    }
+
+    @Benchmark
+    public byte[] playerPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(playerPage);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.manager.benchmarks;
+
+import org.example.manager.service.TransferFeeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the transfer fee math, BigDecimal division with HALF_UP rounding
+ * Inputs cycle over a fixed set of valid players and commission rates so that no branch is constant-folded
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferFeeBenchmark {
+    private static final int INPUTS = 1024;
+    private final int[] ages = new int[INPUTS];
+    private final int[] monthsOfExperience = new int[INPUTS];
+    private final double[] commissionRates = new double[INPUTS];
+    private final BigDecimal[] transferAmounts = new BigDecimal[INPUTS];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for(int i = 0; i < INPUTS; i++) {
+            ages[i] = random.nextInt(16, 46);
+            monthsOfExperience[i] = random.nextInt(0, (ages[i] - 6) * 12 + 1);
+            commissionRates[i] = random.nextInt(0, 101) / 10.0;
+            transferAmounts[i] = TransferFeeCalculator.transferAmount(monthsOfExperience[i], ages[i]);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (INPUTS - 1);
+        return index;
+    }
+
+    @Benchmark
+    public BigDecimal transferAmount() {
+        int i = next();
+        return TransferFeeCalculator.transferAmount(monthsOfExperience[i], ages[i]);
+    }
+
+    @Benchmark
+    public BigDecimal commission() {
+        int i = next();
+        return TransferFeeCalculator.commission(transferAmounts[i], commissionRates[i]);
+    }
+
+    @Benchmark
+    public BigDecimal fullAmount() {
+        int i = next();
+        BigDecimal transferAmount = TransferFeeCalculator.transferAmount(monthsOfExperience[i], ages[i]);
+        return transferAmount.add(TransferFeeCalculator.commission(transferAmount, commissionRates[i]));
+    }
+}
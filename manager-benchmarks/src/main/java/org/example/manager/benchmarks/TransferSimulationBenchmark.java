@@ -0,0 +1,66 @@
+package org.example.manager.benchmarks;
+
+import org.example.manager.service.TransferSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the in-memory transfer simulation over a columnar snapshot
+ * One invocation replays STEPS random transfers, the score is simulated transfers per second.
+ * Balances are sized so that a part of the transfers fails with a low balance, like on deadline day
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferSimulationBenchmark {
+    private static final int STEPS = 1_000_000;
+
+    @Param({"100", "10000"})
+    private int teams;
+    @Param({"1000000"})
+    private int players;
+
+    private TransferSnapshot snapshot;
+    private final long[] playerIds = new long[STEPS];
+    private final long[] teamIds = new long[STEPS];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] snapshotTeamIds = new long[teams];
+        long[] balances = new long[teams];
+        double[] commissionRates = new double[teams];
+        for(int i = 0; i < teams; i++) {
+            snapshotTeamIds[i] = i + 1;
+            balances[i] = random.nextLong(100_000_000_00L, 1_000_000_000_00L);
+            commissionRates[i] = random.nextInt(0, 1001) / 100.0;
+        }
+        long[] snapshotPlayerIds = new long[players];
+        int[] ages = new int[players];
+        int[] monthsOfExperience = new int[players];
+        long[] playerTeamIds = new long[players];
+        for(int i = 0; i < players; i++) {
+            snapshotPlayerIds[i] = i + 1;
+            ages[i] = random.nextInt(16, 46);
+            monthsOfExperience[i] = random.nextInt(0, (ages[i] - 6) * 12 + 1);
+            playerTeamIds[i] = random.nextLong(1, teams + 1);
+        }
+        snapshot = new TransferSnapshot(snapshotTeamIds, balances, commissionRates,
+                snapshotPlayerIds, ages, monthsOfExperience, playerTeamIds);
+        for(int i = 0; i < STEPS; i++) {
+            playerIds[i] = random.nextLong(1, players + 1);
+            teamIds[i] = random.nextLong(1, teams + 1);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public TransferSnapshot.Simulation simulate() {
+        return snapshot.simulate(playerIds, teamIds);
+    }
+}
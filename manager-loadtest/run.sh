@@ -0,0 +1,10 @@
+#!/usr/bin/env bash
+# Installs the plain manager jar, then runs the load test against in-memory H2
+# Usage: ./run.sh [--teams=100] [--players=10000] [--clients=64] [--duration=60] [--warmup=15]
+#                 [--mix=player.read:60,team.list:10,player.create:15,transfer:15] [--seed=42] [--report=reports/...]
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+mvn -B -q -f ../manager/pom.xml -DskipTests -Dspring-boot.repackage.skip=true install
+mvn -B -q compile exec:java -Dexec.args="$*"
@@ -0,0 +1,57 @@
+package org.example.manager.loadtest;
+
+import org.example.manager.service.TransferFeeCalculator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds teams and players straight into the database with JDBC batches
+ * The schema is freshly created, so the generated ids are 1..teams and 1..players
+ */
+final class DataSeeder {
+    private static final int BATCH_SIZE = 1000;
+    private static final String PLAYER_INSERT =
+            "INSERT INTO player (first_name, last_name, age, months_of_experience, transfer_value, team_id) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String[] COUNTRIES = {"Spain", "England", "Italy", "Germany", "France", "Ukraine"};
+
+    private DataSeeder() {
+    }
+
+    /**
+     * Inserts the teams and the players of the options
+     * @param jdbcTemplate template of the application DataSource
+     * @param options load test options with the number of teams and players and the seed
+     */
+    static void seed(JdbcTemplate jdbcTemplate, LoadTestOptions options) {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        List<Object[]> teams = new ArrayList<>(options.teams());
+        for(int i = 0; i < options.teams(); i++) {
+            teams.add(new Object[]{"Team " + Names.of(i), COUNTRIES[random.nextInt(COUNTRIES.length)],
+                    BigDecimal.valueOf(random.nextLong(100_000_000L, 1_000_000_000L), 2),
+                    random.nextInt(0, 11) * 1.0});
+        }
+        insert(jdbcTemplate, "INSERT INTO team (name, country, balance, commission_rate) VALUES (?, ?, ?, ?)", teams);
+
+        List<Object[]> players = new ArrayList<>(BATCH_SIZE);
+        for(int i = 0; i < options.players(); i++) {
+            int age = random.nextInt(16, 46);
+            int monthsOfExperience = random.nextInt(0, (age - 6) * 12 + 1);
+            players.add(new Object[]{Names.random(random), Names.random(random), age, monthsOfExperience,
+                    TransferFeeCalculator.transferAmount(monthsOfExperience, age), random.nextLong(1, options.teams() + 1)});
+            if(players.size() == BATCH_SIZE) {
+                insert(jdbcTemplate, PLAYER_INSERT, players);
+                players.clear();
+            }
+        }
+        insert(jdbcTemplate, PLAYER_INSERT, players);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        if(!rows.isEmpty()) jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
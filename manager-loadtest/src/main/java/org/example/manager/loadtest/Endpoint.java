@@ -0,0 +1,83 @@
+package org.example.manager.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * Endpoints driven by the load test, each one builds a request with random but repeatable parameters
+ */
+enum Endpoint {
+    PLAYER_READ("player.read") {
+        @Override
+        HttpRequest request(URI baseUri, SplittableRandom random, LoadTestOptions options) {
+            long playerId = random.nextLong(1, options.players() + 1);
+            return HttpRequest.newBuilder(baseUri.resolve("/player/" + playerId)).GET().build();
+        }
+    },
+    TEAM_LIST("team.list") {
+        @Override
+        HttpRequest request(URI baseUri, SplittableRandom random, LoadTestOptions options) {
+            return HttpRequest.newBuilder(baseUri.resolve("/team/list")).GET().build();
+        }
+    },
+    PLAYER_CREATE("player.create") {
+        @Override
+        HttpRequest request(URI baseUri, SplittableRandom random, LoadTestOptions options) {
+            int age = random.nextInt(16, 46);
+            String body = "{\"first_name\":\"" + Names.random(random) + "\",\"last_name\":\"" + Names.random(random)
+                    + "\",\"age\":" + age + ",\"months_of_experience\":" + random.nextInt(0, (age - 6) * 12 + 1)
+                    + ",\"team_id\":" + random.nextLong(1, options.teams() + 1) + "}";
+            return HttpRequest.newBuilder(baseUri.resolve("/player/create"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    TRANSFER("transfer") {
+        @Override
+        HttpRequest request(URI baseUri, SplittableRandom random, LoadTestOptions options) {
+            long playerId = random.nextLong(1, options.players() + 1);
+            long teamId = random.nextLong(1, options.teams() + 1);
+            return HttpRequest.newBuilder(baseUri.resolve("/transfer/" + playerId + "/to/" + teamId))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    };
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the name of the endpoint used in the mix option and in the report
+     * @return endpoint name
+     */
+    String key() {
+        return key;
+    }
+
+    /**
+     * Builds the next request to this endpoint
+     * @param baseUri URI of the running application
+     * @param random random source of the client, seeded for repeatable request sequences
+     * @param options load test options with the seeded id ranges
+     * @return request to send
+     */
+    abstract HttpRequest request(URI baseUri, SplittableRandom random, LoadTestOptions options);
+
+    /**
+     * Finds an endpoint by its name
+     * @param key endpoint name as used in the mix option
+     * @return the endpoint
+     * @throws IllegalArgumentException if there is no endpoint with this name
+     */
+    static Endpoint fromKey(String key) {
+        for(Endpoint endpoint : values()) {
+            if(endpoint.key.equals(key)) return endpoint;
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.manager.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of the requests to one endpoint, owned by one client until merged
+ */
+final class EndpointStats {
+    private final Histogram latencies = new Histogram(3);
+    private long successes;
+    private long clientErrors;
+    private long failures;
+
+    /**
+     * Records a completed request
+     * @param latencyNanos time from sending the request to receiving the whole response
+     * @param status HTTP status of the response, or -1 if the request failed without a response
+     */
+    void record(long latencyNanos, int status) {
+        // GET /player/{id} answers 302 FOUND, redirects are never followed, so 3xx counts as success
+        if(status >= 200 && status < 400) successes++;
+        else if(status >= 400 && status < 500) clientErrors++;
+        else failures++;
+        if(status > 0) latencies.recordValue(latencyNanos);
+    }
+
+    /**
+     * Adds the requests recorded by another client
+     * @param other stats of the same endpoint recorded by another client
+     */
+    void merge(EndpointStats other) {
+        latencies.add(other.latencies);
+        successes += other.successes;
+        clientErrors += other.clientErrors;
+        failures += other.failures;
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long requests() {
+        return successes + clientErrors + failures;
+    }
+
+    long successes() {
+        return successes;
+    }
+
+    long clientErrors() {
+        return clientErrors;
+    }
+
+    long failures() {
+        return failures;
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.manager.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the throughput and the latency percentiles of every endpoint
+ */
+final class LoadReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadReport() {
+    }
+
+    /**
+     * Writes the summary table followed by the full percentile distribution of every endpoint
+     * @param options options of the run
+     * @param stats merged stats of every endpoint of the mix
+     * @param elapsedSeconds measured duration of the run
+     * @throws IOException if the report file cannot be written
+     */
+    static void write(LoadTestOptions options, Map<Endpoint, EndpointStats> stats, double elapsedSeconds) throws IOException {
+        Path report = options.report().toAbsolutePath();
+        Files.createDirectories(report.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report), false, StandardCharsets.UTF_8)) {
+            printSummary(out, options, stats, elapsedSeconds);
+            for(Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+                out.printf("%n== %s latency distribution (ms) ==%n", entry.getKey().key());
+                Histogram latencies = entry.getValue().latencies();
+                if(latencies.getTotalCount() > 0) latencies.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+        printSummary(System.out, options, stats, elapsedSeconds);
+        System.out.println("Report written to " + report);
+    }
+
+    private static void printSummary(PrintStream out, LoadTestOptions options, Map<Endpoint, EndpointStats> stats,
+                                     double elapsedSeconds) {
+        out.printf("teams=%d players=%d clients=%d warmup=%ds duration=%ds seed=%d mix=%s%n",
+                options.teams(), options.players(), options.clients(), options.warmupSeconds(),
+                options.durationSeconds(), options.seed(), options.mix().entrySet().stream()
+                        .map(weight -> weight.getKey().key() + ":" + weight.getValue())
+                        .collect(Collectors.joining(",")));
+        out.printf("java=%s cpus=%d maxHeap=%dMB measured=%.1fs%n", System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() >> 20, elapsedSeconds);
+        out.printf("%-14s %10s %10s %8s %8s %10s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "ok", "4xx",
+                "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        EndpointStats total = new EndpointStats();
+        for(Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            printRow(out, entry.getKey().key(), entry.getValue(), elapsedSeconds);
+            total.merge(entry.getValue());
+        }
+        printRow(out, "total", total, elapsedSeconds);
+    }
+
+    private static void printRow(PrintStream out, String name, EndpointStats stats, double elapsedSeconds) {
+        Histogram latencies = stats.latencies();
+        out.printf("%-14s %10d %10d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, stats.requests(),
+                stats.successes(), stats.clientErrors(), stats.failures(), stats.requests() / elapsedSeconds,
+                millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+}
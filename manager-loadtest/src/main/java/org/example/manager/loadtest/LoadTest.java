@@ -0,0 +1,110 @@
+package org.example.manager.loadtest;
+
+import org.example.manager.ManagerApplication;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load-test harness
+ * Starts the manager in-process against in-memory H2 (h2 profile), seeds teams and players, drives the endpoint mix
+ * from concurrent clients and writes throughput and latency percentiles per endpoint to a report file.
+ * The data is seeded by an application runner, before the structures loaded on application ready read the database.
+ * Every client sends requests back to back with its own seeded random source, so runs with the same options
+ * replay the same request sequences.
+ */
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ManagerApplication.class)
+                .profiles("h2")
+                .properties("server.port=0")
+                // runners are called before ApplicationReadyEvent, so the leaderboards and indexes load the seeded rows
+                .initializers(applicationContext -> applicationContext.getBeanFactory().registerSingleton("dataSeeder",
+                        (ApplicationRunner) arguments -> DataSeeder.seed(applicationContext.getBean(JdbcTemplate.class), options)))
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            run(URI.create("http://localhost:" + port), options);
+        }
+    }
+
+    private static void run(URI baseUri, LoadTestOptions options) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(options.warmupSeconds()).toNanos();
+        long end = measureFrom + Duration.ofSeconds(options.durationSeconds()).toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(options.clients());
+        List<Future<Map<Endpoint, EndpointStats>>> results = new ArrayList<>(options.clients());
+        for(int i = 0; i < options.clients(); i++) {
+            SplittableRandom random = new SplittableRandom(options.seed() + i);
+            results.add(clients.submit(() -> runClient(httpClient, baseUri, options, random, measureFrom, end)));
+        }
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for(Future<Map<Endpoint, EndpointStats>> result : results) {
+            result.get().forEach((endpoint, clientStats) ->
+                    stats.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(clientStats));
+        }
+        // includes the tail of the requests that were in flight at the end of the run
+        double elapsedSeconds = (System.nanoTime() - measureFrom) / 1e9;
+        clients.shutdown();
+        LoadReport.write(options, stats, elapsedSeconds);
+    }
+
+    private static Map<Endpoint, EndpointStats> runClient(HttpClient httpClient, URI baseUri, LoadTestOptions options,
+                                                          SplittableRandom random, long measureFrom, long end) {
+        Endpoint[] endpoints = options.mix().keySet().toArray(Endpoint[]::new);
+        int[] cumulativeWeights = new int[endpoints.length];
+        int totalWeight = 0;
+        for(int i = 0; i < endpoints.length; i++) {
+            totalWeight += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for(Endpoint endpoint : endpoints) stats.put(endpoint, new EndpointStats());
+
+        long now;
+        while((now = System.nanoTime()) < end) {
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while(cumulativeWeights[index] <= pick) index++;
+            Endpoint endpoint = endpoints[index];
+            HttpRequest request = endpoint.request(baseUri, random, options);
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long latency = System.nanoTime() - now;
+            if(now >= measureFrom) stats.get(endpoint).record(latency, status);
+        }
+        return stats;
+    }
+}
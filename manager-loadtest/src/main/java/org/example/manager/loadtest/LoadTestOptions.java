@@ -0,0 +1,84 @@
+package org.example.manager.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a load test run, parsed from --name=value arguments
+ * @param teams number of seeded teams
+ * @param players number of seeded players
+ * @param clients number of concurrent clients, each one sends its requests sequentially
+ * @param warmupSeconds duration of the warmup, its requests are not reported
+ * @param durationSeconds duration of the measured run
+ * @param mix relative weight of every endpoint
+ * @param seed seed of the seeded data and of the request sequences
+ * @param report file the report is written to
+ */
+record LoadTestOptions(int teams, int players, int clients, int warmupSeconds, int durationSeconds,
+                       Map<Endpoint, Integer> mix, long seed, Path report) {
+    private static final Set<String> KNOWN_OPTIONS =
+            Set.of("teams", "players", "clients", "warmup", "duration", "mix", "seed", "report");
+    private static final String DEFAULT_MIX = "player.read:60,team.list:10,player.create:15,transfer:15";
+
+    /**
+     * Parses the options, every option has a default
+     * @param args arguments in --name=value form
+     * @return parsed options
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for(String arg : args) {
+            if(arg.isBlank()) continue;
+            int separator = arg.indexOf('=');
+            if(!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Arguments must have the form --name=value: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        if(!KNOWN_OPTIONS.containsAll(values.keySet())) {
+            throw new IllegalArgumentException("Unknown options, expected some of " + KNOWN_OPTIONS + ": " + values.keySet());
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("teams", "100")),
+                Integer.parseInt(values.getOrDefault("players", "10000")),
+                Integer.parseInt(values.getOrDefault("clients", "64")),
+                Integer.parseInt(values.getOrDefault("warmup", "15")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "reports/loadtest-" + timestamp + ".txt")));
+        if(options.teams < 2 || options.players < 1 || options.clients < 1 || options.durationSeconds < 1) {
+            throw new IllegalArgumentException("At least 2 teams, 1 player, 1 client and 1 second are required");
+        }
+        return options;
+    }
+
+    /**
+     * Parses an endpoint mix like player.read:60,transfer:40
+     * @param mix comma-separated endpoint:weight pairs
+     * @return weight of every listed endpoint
+     */
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for(String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if(parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must have the form endpoint:weight: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if(weight < 0) throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            weights.put(Endpoint.fromKey(parts[0]), weight);
+        }
+        if(weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must have at least one positive weight");
+        }
+        return weights;
+    }
+}
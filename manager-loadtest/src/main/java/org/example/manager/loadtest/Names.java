@@ -0,0 +1,43 @@
+package org.example.manager.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates names accepted by the name patterns of the entities, letters only starting with a capital letter
+ */
+final class Names {
+    private Names() {
+    }
+
+    /**
+     * Returns a unique name for a sequence number, e.g. 0 is "A", 26 is "Ba"
+     * @param sequence non-negative sequence number
+     * @return capitalized name
+     */
+    static String of(long sequence) {
+        StringBuilder name = new StringBuilder();
+        long value = sequence;
+        do {
+            name.append((char) ('a' + value % 26));
+            value /= 26;
+        } while(value > 0);
+        name.reverse();
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    /**
+     * Returns a random capitalized name of 3 to 10 letters
+     * @param random random source
+     * @return capitalized name
+     */
+    static String random(SplittableRandom random) {
+        int length = random.nextInt(3, 11);
+        StringBuilder name = new StringBuilder(length);
+        name.append((char) ('A' + random.nextInt(26)));
+        for(int i = 1; i < length; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+}
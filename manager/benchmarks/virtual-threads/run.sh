@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Compares the platform-thread and virtual-thread execution modes on /player/list and /transfer
+# Usage: ./run.sh path/to/manager.jar
+# Needs wrk, a Java 21 runtime and a seeded PostgreSQL reachable with the usual SPRING_DATASOURCE_* variables
+set -euo pipefail
+
+JAR=${1:?path to the manager jar built with -Pjava21}
+DURATION=${DURATION:-60s}
+WARMUP=${WARMUP:-20s}
+CONNECTIONS=${CONNECTIONS:-400}
+THREADS=${THREADS:-8}
+PORT=${PORT:-8080}
+RESULTS=${RESULTS:-results/$(date +%Y%m%d-%H%M%S)}
+BASE_URL="http://localhost:${PORT}"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+mkdir -p "$RESULTS"
+
+run_mode() {
+    local mode=$1 profiles=$2
+    echo "== $mode =="
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" \
+        --spring.jpa.show-sql=false > "$RESULTS/$mode-app.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+    until curl -sf "$BASE_URL/team/list" > /dev/null; do sleep 1; done
+
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$WARMUP" "$BASE_URL/player/list?limit=50" > /dev/null
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$BASE_URL/player/list?limit=50" \
+        | tee "$RESULTS/$mode-player-list.txt"
+    wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency -s "$SCRIPT_DIR/transfer.lua" "$BASE_URL" \
+        | tee "$RESULTS/$mode-transfer.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+echo "Results written to $RESULTS"
+grep -H -E "Requests/sec|99%" "$RESULTS"/*-player-list.txt "$RESULTS"/*-transfer.txt
@@ -0,0 +1,12 @@
+-- Posts transfers of random players to random teams
+-- Failed transfers (409, 403) are expected and still exercise the transactional path
+local players = tonumber(os.getenv("PLAYERS") or "1000")
+local teams = tonumber(os.getenv("TEAMS") or "50")
+
+math.randomseed(42)
+
+request = function()
+    local player = math.random(1, players)
+    local team = math.random(1, teams)
+    return wrk.format("POST", "/transfer/" .. player .. "/to/" .. team)
+end
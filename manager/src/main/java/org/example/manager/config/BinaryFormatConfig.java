@@ -0,0 +1,70 @@
+package org.example.manager.config;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.manager.dto.response.TeamBalanceResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration class for the binary response formats.
+ * Registers Smile and CBOR converters built from the application Jackson settings, so binary documents carry
+ * the same snake_case fields and ISO dates as JSON. JSON stays the default, the binary formats are selected by Accept.
+ * Balances are written as native decimal numbers in the binary formats instead of the two-decimal strings of JSON,
+ * so binary consumers do not parse them from text.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    /**
+     * Creates the Smile converter, replacing the default one of Spring MVC
+     *
+     * @param builder application Jackson builder, a new instance per injection point
+     * @return converter for application/x-jackson-smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(binaryMapper(builder.factory(new SmileFactory())));
+    }
+
+    /**
+     * Creates the CBOR converter, replacing the default one of Spring MVC
+     *
+     * @param builder application Jackson builder, a new instance per injection point
+     * @return converter for application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(binaryMapper(builder.factory(new CBORFactory())));
+    }
+
+    /**
+     * Builds the mapper of a binary format with the balances written as numbers
+     * Public for the format benchmark, which encodes with the same mappers as the converters
+     *
+     * @param builder application Jackson builder with the binary factory set
+     * @return mapper of the binary format
+     */
+    public static ObjectMapper binaryMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .mixIn(TeamInformationResponse.class, NumericBalanceMixin.class)
+                .mixIn(TeamBalanceResponse.class, NumericBalanceMixin.class)
+                .build();
+    }
+
+    /**
+     * Overrides the string shape of the balance of the team responses
+     */
+    abstract static class NumericBalanceMixin {
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        BigDecimal balance;
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.manager.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for the database bulkhead.
+ * Enabled with manager.datasource.bulkhead.enabled=true, which the virtual-threads profile sets.
+ * Wraps the application DataSource into a BulkheadDataSource sized like the connection pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "manager.datasource.bulkhead.enabled", havingValue = "true")
+public class DataSourceBulkheadConfig {
+
+    /**
+     * Creates a post processor wrapping every connection pool bean into a BulkheadDataSource.
+     * DataSources delegating to other DataSource beans, like the read replica router, are not wrapped.
+     * Static so that it is registered before the DataSource bean is created.
+     *
+     * @param permits maximum number of connections borrowed at the same time
+     * @param acquireTimeoutMillis maximum time to wait for a connection permit
+     * @return BeanPostProcessor applying the bulkhead
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(
+            @Value("${manager.datasource.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${manager.datasource.bulkhead.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new BulkheadDataSource(dataSource, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.manager.metrics.QueryStatisticsFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration class for the application metrics.
+ * Enables @Timed on the service classes, adds a saturation gauge of the connection pool
+ * next to the hikaricp.* metrics published by Spring Boot and collects the SQL statistics of every request.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the aspect timing the methods of classes and methods annotated with @Timed
+     *
+     * @param registry registry the timers are registered in
+     * @return TimedAspect for the registry
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Creates the saturation gauges of the Hikari connection pools.
+     * The gauge is the number of connections in use plus the threads waiting for one, divided by the pool size,
+     * so values above 1 mean requests are queueing for connections; the wait time is the hikaricp.connections.acquire timer.
+     *
+     * @param dataSources DataSource beans, possibly wrapping Hikari pools
+     * @return MeterBinder registering one gauge per pool, tagged with the pool name
+     */
+    @Bean
+    public MeterBinder connectionPoolSaturationMetrics(List<DataSource> dataSources) {
+        return registry -> {
+            Set<HikariDataSource> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+            for(DataSource dataSource : dataSources) {
+                HikariDataSource hikari = unwrapHikari(dataSource);
+                if(hikari == null || !pools.add(hikari)) continue;
+                Gauge.builder("manager.datasource.pool.saturation", hikari, MetricsConfig::saturation)
+                        .description("Connections in use plus threads waiting for one, divided by the maximum pool size")
+                        .tag("pool", String.valueOf(hikari.getPoolName()))
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Creates the filter collecting the SQL statement count and JDBC time of every request.
+     * The statistics are filled by the StatementCountingInspector and JdbcTimingSessionListener
+     * registered in the Hibernate properties.
+     *
+     * @param registry registry the statistics are recorded in
+     * @param statementBudget number of statements a request may execute without a warning
+     * @param jdbcTimeBudget JDBC time a request may spend without a warning
+     * @return QueryStatisticsFilter with the configured budgets
+     */
+    @Bean
+    public QueryStatisticsFilter queryStatisticsFilter(MeterRegistry registry,
+                                                       @Value("${manager.sql.statement-budget:20}") int statementBudget,
+                                                       @Value("${manager.sql.jdbc-time-budget:500ms}") Duration jdbcTimeBudget) {
+        return new QueryStatisticsFilter(registry, statementBudget, jdbcTimeBudget);
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        // the pool is created lazily by the first connection request
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if(pool == null) return 0;
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for the read replica.
+ * Enabled with manager.datasource.replica.enabled=true and the replica connection in manager.datasource.replica.*.
+ * Read-only transactions are sent to the replica pool, everything else stays on the primary pool configured
+ * in spring.datasource.*; the replica pool takes its Hikari settings from manager.datasource.replica.hikari.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "manager.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Creates the connection pool of the primary database from the spring.datasource properties.
+     *
+     * @param properties spring.datasource properties
+     * @return HikariDataSource connected to the primary
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the connection pool of the replica database.
+     * User and password default to the ones of the primary.
+     *
+     * @param url JDBC URL of the replica
+     * @param username user of the replica
+     * @param password password of the replica
+     * @return HikariDataSource connected to the replica
+     */
+    @Bean
+    @ConfigurationProperties("manager.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${manager.datasource.replica.url}") String url,
+                                              @Value("${manager.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${manager.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the application DataSource routing read-only transactions to the replica.
+     * The lazy proxy fetches the connection on the first statement, after the transaction was marked read-only.
+     *
+     * @param primary connection pool of the primary
+     * @param replica connection pool of the replica
+     * @return DataSource used by JPA and JDBC
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * Installs ReadReplicaJpaDialect on the entity manager factory, the transaction manager takes the dialect from it.
+     * Static, so it is registered before the entity manager factory is created.
+     *
+     * @return post processor setting the dialect of the entity manager factory
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if(bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReadReplicaJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+}
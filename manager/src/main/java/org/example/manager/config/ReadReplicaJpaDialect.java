@@ -0,0 +1,51 @@
+package org.example.manager.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * JPA dialect keeping the sessions of read-only transactions from filling the second-level cache
+ * Read-only transactions are routed to the replica, which may lag behind the primary, so the entities they load
+ * must not be cached where the transactions on the primary would find them.
+ * The sessions still read from the cache, they only bypass it when storing the loaded entities.
+ */
+public class ReadReplicaJpaDialect extends HibernateJpaDialect {
+    private static final String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if(!definition.isReadOnly()) return transactionData;
+        // a property instead of the cache mode of the session, finds derive their cache mode from the properties
+        Object previousStoreMode = entityManager.getProperties().getOrDefault(CACHE_STORE_MODE, CacheStoreMode.USE);
+        entityManager.setProperty(CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReplicaTransactionData(transactionData, entityManager, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if(transactionData instanceof ReplicaTransactionData replicaTransactionData) {
+            if(replicaTransactionData.entityManager().isOpen()) {
+                replicaTransactionData.entityManager().setProperty(CACHE_STORE_MODE, replicaTransactionData.previousStoreMode());
+            }
+            super.cleanupTransaction(replicaTransactionData.transactionData());
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    /**
+     * Transaction data of a read-only transaction, with the cache store mode to restore on cleanup
+     * @param transactionData transaction data of HibernateJpaDialect
+     * @param entityManager entity manager of the transaction
+     * @param previousStoreMode cache store mode of the entity manager before the transaction
+     */
+    private record ReplicaTransactionData(Object transactionData, EntityManager entityManager, Object previousStoreMode) {
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.manager.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource routing the connections of read-only transactions to the replica and all others to the primary
+ * The transaction is only known to be read-only once it started, so the router has to be wrapped
+ * into a LazyConnectionDataSourceProxy fetching the connection on the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the routed databases
+     */
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Constructor for ReadReplicaRoutingDataSource
+     * @param primary DataSource of the primary, used for writes and work outside read-only transactions
+     * @param replica DataSource of the replica, used for read-only transactions
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.manager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling scheduled jobs, such as the periodic team balance snapshots
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,39 @@
+package org.example.manager.config;
+
+import org.example.manager.repository.PlayerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Backfills the transfer value of players stored before the transfer_value column existed
+ * The schema is updated by Hibernate, which adds the column empty to an existing player table,
+ * so the column is mapped nullable and filled here before the application reports ready
+ * and the leaderboards and affordable player queries read it. Runs first among the application runners
+ * and updates nothing once every player has a transfer value
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransferValueMigration implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(TransferValueMigration.class);
+
+    private final PlayerRepository playerRepository;
+
+    public TransferValueMigration(PlayerRepository playerRepository) {
+        this.playerRepository = playerRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int backfilled = playerRepository.backfillTransferValues();
+        if(backfilled > 0) {
+            logger.info("Backfilled the transfer value of {} players", backfilled);
+        }
+    }
+}
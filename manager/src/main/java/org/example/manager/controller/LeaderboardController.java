@@ -0,0 +1,81 @@
+package org.example.manager.controller;
+
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+import org.example.manager.service.LeaderboardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the dashboard leaderboards
+ * Provides API for the richest teams and the most valuable players served from memory
+ */
+@RestController
+@RequestMapping("/leaderboard")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+    private static final int DEFAULT_TOP = 10;
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardController.class);
+
+    /**
+     * Constructor for LeaderboardController
+     * @param leaderboardService service for the leaderboards
+     */
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Get the teams with the highest balances
+     * @param top number of teams, optional
+     * @return list of leaderboard entries with HTTP status OK
+     */
+    @GetMapping("/teams")
+    public ResponseEntity<?> topTeams(@RequestParam(defaultValue = "" + DEFAULT_TOP) int top) {
+        logger.debug("Fetching top {} teams", top);
+        List<LeaderboardEntryResponse> teams = leaderboardService.topTeams(top);
+        return ResponseEntity.status(HttpStatus.OK).body(teams);
+    }
+
+    /**
+     * Get the leaderboard position of a team
+     * @param id team identifier
+     * @return leaderboard entry of the team with HTTP status OK
+     */
+    @GetMapping("/teams/{id}")
+    public ResponseEntity<?> teamRank(@PathVariable Long id) {
+        logger.debug("Fetching leaderboard rank of team with ID: {}", id);
+        return ResponseEntity.status(HttpStatus.OK).body(leaderboardService.teamRank(id));
+    }
+
+    /**
+     * Get the players with the highest transfer values
+     * @param top number of players, optional
+     * @return list of leaderboard entries with HTTP status OK
+     */
+    @GetMapping("/players")
+    public ResponseEntity<?> topPlayers(@RequestParam(defaultValue = "" + DEFAULT_TOP) int top) {
+        logger.debug("Fetching top {} players", top);
+        List<LeaderboardEntryResponse> players = leaderboardService.topPlayers(top);
+        return ResponseEntity.status(HttpStatus.OK).body(players);
+    }
+
+    /**
+     * Get the leaderboard position of a player
+     * @param id player identifier
+     * @return leaderboard entry of the player with HTTP status OK
+     */
+    @GetMapping("/players/{id}")
+    public ResponseEntity<?> playerRank(@PathVariable Long id) {
+        logger.debug("Fetching leaderboard rank of player with ID: {}", id);
+        return ResponseEntity.status(HttpStatus.OK).body(leaderboardService.playerRank(id));
+    }
+}
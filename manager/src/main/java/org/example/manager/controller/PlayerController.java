@@ -1,16 +1,32 @@
 package org.example.manager.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.response.CursorPageResponse;
+import org.example.manager.dto.response.PageResponse;
+import org.example.manager.dto.response.PlayerImportResponse;
 import org.example.manager.dto.response.PlayerInformationResponse;
 import org.example.manager.model.Player;
+import org.example.manager.service.EntityTagService;
+import org.example.manager.service.EntityTagService.Resource;
+import org.example.manager.service.ResponseFormat;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.ExportService;
+import org.example.manager.service.PlayerImportService;
 import org.example.manager.service.PlayerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -21,27 +37,59 @@ import java.util.List;
 @RequestMapping("/player")
 public class PlayerController {
     private final PlayerService playerService;
+    private final ExportService exportService;
+    private final PlayerImportService playerImportService;
+    private final EntityTagService entityTagService;
+    private static final int DEFAULT_PAGE_SIZE = 50;
     private static final Logger logger = LoggerFactory.getLogger(PlayerController.class);
 
     /**
      * Constructor for PlayerController
      * @param playerService service for player operations
+     * @param exportService service for streaming exports
+     * @param playerImportService service for bulk imports
+     * @param entityTagService service computing the ETags of player reads
      */
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, ExportService exportService,
+                            PlayerImportService playerImportService, EntityTagService entityTagService) {
         this.playerService = playerService;
+        this.exportService = exportService;
+        this.playerImportService = playerImportService;
+        this.entityTagService = entityTagService;
     }
 
     /**
      * Get player by ID
+     * Answered with HTTP status NOT_MODIFIED without a database query if no player changed since the tag in
+     * If-None-Match was issued, or without a response body if the player and its team kept their versions
      * @param id player identifier
-     * @return player information response with HTTP status FOUND
+     * @param accept accepted response formats, JSON if absent
+     * @param ifNoneMatch ETags of the representation held by the client, optional
+     * @return player information response with its ETag and HTTP status FOUND
+     * @throws HttpMediaTypeNotAcceptableException if none of the response formats is accepted
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> readPlayer(@PathVariable Long id) {
+    public ResponseEntity<?> readPlayer(@PathVariable Long id,
+                                        @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        long generation = entityTagService.currentGeneration(Resource.PLAYER);
+        String currentTag = entityTagService.findCurrentTag(ifNoneMatch, Resource.PLAYER, format, generation);
+        if(currentTag != null) {
+            logger.debug("Player with ID: {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         logger.info("Fetching player with ID: {}", id);
         Player player = playerService.readPlayer(id);
         logger.debug("Successfully fetched player: {}", player);
-        return ResponseEntity.status(HttpStatus.FOUND).body(new PlayerInformationResponse(player));
+        String etag = entityTagService.entityTag(Resource.PLAYER, format, generation,
+                player.getVersion(), player.getTeam().getVersion());
+        if(entityTagService.matchesVersions(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType()).body(new PlayerInformationResponse(player));
     }
 
     /**
@@ -57,6 +105,24 @@ public class PlayerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(new PlayerInformationResponse(player));
     }
 
+    /**
+     * Import players in bulk from a CSV or newline-delimited JSON upload
+     * The request body is parsed while it is read, invalid rows are skipped and reported
+     * @param format upload format, csv (default) or ndjson
+     * @param body raw request body with one player per line
+     * @return number of imported and rejected rows with the reasons of the rejected rows with HTTP status OK
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importPlayers(@RequestParam(defaultValue = "csv") String format, InputStream body)
+            throws IOException {
+        ExportFormat importFormat = ExportFormat.fromValue(format);
+        logger.info("Importing players as {}", importFormat);
+        PlayerImportResponse response = playerImportService.importPlayers(importFormat, body);
+        logger.info("Successfully imported {} players, rejected {} rows", response.getImportedRows(), response.getRejectedRows());
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     /**
      * Update existing player information
      * @param id player identifier
@@ -85,16 +151,96 @@ public class PlayerController {
     }
 
     /**
-     * Get list of all players
-     * @return list of player information responses with HTTP status OK
+     * Search players by optional filters, sorted and paginated on the server
+     * @param minAge minimal age, inclusive, optional
+     * @param maxAge maximal age, inclusive, optional
+     * @param minExperience minimal months of experience, inclusive, optional
+     * @param maxExperience maximal months of experience, inclusive, optional
+     * @param teamId ID of the team, optional
+     * @param country country of the team, optional
+     * @param name case-sensitive prefix of the last name, optional
+     * @param sort sort order as field or field,asc|desc, one of id, age, months_of_experience,
+     *             first_name, last_name, optional
+     * @param page zero-based page number, 0 by default
+     * @param size maximum number of players in the page
+     * @return page of matching player information responses with HTTP status OK
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPlayers(@RequestParam(name = "min_age", required = false) Integer minAge,
+                                           @RequestParam(name = "max_age", required = false) Integer maxAge,
+                                           @RequestParam(name = "min_experience", required = false) Integer minExperience,
+                                           @RequestParam(name = "max_experience", required = false) Integer maxExperience,
+                                           @RequestParam(name = "team_id", required = false) Long teamId,
+                                           @RequestParam(required = false) String country,
+                                           @RequestParam(required = false) String name,
+                                           @RequestParam(required = false) String sort,
+                                           @RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        PlayerSearchRequest request = new PlayerSearchRequest(minAge, maxAge, minExperience, maxExperience,
+                teamId, country, name, sort, page, size);
+        logger.info("Searching players with request: {}", request);
+        PageResponse<PlayerInformationResponse> players = playerService.searchPlayers(request);
+        logger.debug("Successfully found {} players", players.getItems().size());
+        return ResponseEntity.status(HttpStatus.OK).body(players);
+    }
+
+    /**
+     * Get list of players
+     * Without paging parameters the full list is returned, otherwise one keyset page is returned
+     * Answered with HTTP status NOT_MODIFIED without a database query if no player changed since the tag in
+     * If-None-Match was issued
+     * @param after ID of the last player of the previous page, optional
+     * @param limit maximum number of players in the page, optional
+     * @param accept accepted response formats, JSON if absent
+     * @param ifNoneMatch ETags of the representation held by the client, optional
+     * @return list of player information responses, or a page with the next cursor, with its ETag and HTTP status OK
+     * @throws HttpMediaTypeNotAcceptableException if none of the response formats is accepted
      */
     @GetMapping("/list")
-    public ResponseEntity<?> listPlayers() {
+    public ResponseEntity<?> listPlayers(@RequestParam(required = false) Long after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                         @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        long generation = entityTagService.currentGeneration(Resource.PLAYER);
+        String etag = entityTagService.listTag(Resource.PLAYER, format, generation);
+        if(entityTagService.findCurrentTag(ifNoneMatch, Resource.PLAYER, format, generation) != null) {
+            logger.debug("List of players not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        if(after != null || limit != null) {
+            int pageLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+            logger.info("Fetching page of players after ID: {} with limit: {}", after, pageLimit);
+            List<PlayerInformationResponse> players = playerService.getPlayersPage(after, pageLimit);
+            logger.debug("Successfully fetched {} players", players.size());
+            return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format.getMediaType())
+                    .body(CursorPageResponse.of(players, pageLimit, PlayerInformationResponse::getId));
+        }
         logger.info("Fetching list of all players");
-        List<PlayerInformationResponse> players = playerService.getAllPlayers().stream()
-                .map(PlayerInformationResponse::new)
-                .toList();
+        List<PlayerInformationResponse> players = playerService.getAllPlayers();
         logger.debug("Successfully fetched {} players", players.size());
-        return ResponseEntity.status(HttpStatus.OK).body(players);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType()).body(players);
+    }
+
+    /**
+     * Export all players as newline-delimited JSON or CSV
+     * Rows are written to the response while they are read from the database cursor
+     * @param format export format, ndjson (default) or csv
+     * @param response HTTP response the rows are streamed to with HTTP status OK
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping("/export")
+    public void exportPlayers(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        logger.info("Exporting players as {}", exportFormat);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        exportService.exportPlayers(exportFormat, response.getOutputStream());
+        logger.info("Successfully exported players");
     }
 }
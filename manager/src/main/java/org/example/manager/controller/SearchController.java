@@ -0,0 +1,48 @@
+package org.example.manager.controller;
+
+import org.example.manager.dto.response.SuggestionResponse;
+import org.example.manager.service.SuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for searching across players and teams
+ * Provides API for name autocomplete served from memory
+ */
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    private final SuggestionService suggestionService;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+
+    /**
+     * Constructor for SearchController
+     * @param suggestionService service for name suggestions
+     */
+    public SearchController(SuggestionService suggestionService) {
+        this.suggestionService = suggestionService;
+    }
+
+    /**
+     * Suggest players and teams whose name has a word starting with the query
+     * @param q prefix typed by the user, case and accent insensitive
+     * @param limit maximum number of suggestions, optional
+     * @return list of suggestions with HTTP status OK
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String q,
+                                     @RequestParam(defaultValue = "" + DEFAULT_SUGGESTIONS) int limit) {
+        logger.debug("Suggesting names for query: {}", q);
+        List<SuggestionResponse> suggestions = suggestionService.suggest(q, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(suggestions);
+    }
+}
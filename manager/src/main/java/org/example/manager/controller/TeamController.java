@@ -1,16 +1,32 @@
 package org.example.manager.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.CursorPageResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamBalanceResponse;
 import org.example.manager.dto.response.TeamInformationResponse;
 import org.example.manager.model.Team;
+import org.example.manager.service.BalanceSnapshotService;
+import org.example.manager.service.EntityTagService;
+import org.example.manager.service.EntityTagService.Resource;
+import org.example.manager.service.ResponseFormat;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.ExportService;
 import org.example.manager.service.TeamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -21,27 +37,74 @@ import java.util.List;
 @RequestMapping("/team")
 public class TeamController {
     private final TeamService teamService;
+    private final ExportService exportService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final EntityTagService entityTagService;
+    private static final int DEFAULT_PAGE_SIZE = 50;
     private static final Logger logger = LoggerFactory.getLogger(TeamController.class);
 
     /**
      * Constructor for TeamController
      * @param teamService service for team operations
+     * @param exportService service for streaming exports
+     * @param balanceSnapshotService service rebuilding past balances
+     * @param entityTagService service computing the ETags of team reads
      */
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService, ExportService exportService,
+                          BalanceSnapshotService balanceSnapshotService, EntityTagService entityTagService) {
         this.teamService = teamService;
+        this.exportService = exportService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.entityTagService = entityTagService;
     }
 
     /**
      * Get team by ID
+     * Answered with HTTP status NOT_MODIFIED without a database query if no team changed since the tag in
+     * If-None-Match was issued, or without a response body if the team kept its version
      * @param id team identifier
-     * @return team information response with HTTP status FOUND
+     * @param accept accepted response formats, JSON if absent
+     * @param ifNoneMatch ETags of the representation held by the client, optional
+     * @return team information response with its ETag and HTTP status FOUND
+     * @throws HttpMediaTypeNotAcceptableException if none of the response formats is accepted
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> readTeam(@PathVariable Long id) {
+    public ResponseEntity<?> readTeam(@PathVariable Long id,
+                                      @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        long generation = entityTagService.currentGeneration(Resource.TEAM);
+        String currentTag = entityTagService.findCurrentTag(ifNoneMatch, Resource.TEAM, format, generation);
+        if(currentTag != null) {
+            logger.debug("Team with ID: {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         logger.info("Fetching team with ID: {}", id);
         Team team = teamService.readTeam(id);
         logger.debug("Successfully fetched team: {}", team);
-        return ResponseEntity.status(HttpStatus.FOUND).body(new TeamInformationResponse(team));
+        String etag = entityTagService.entityTag(Resource.TEAM, format, generation, team.getVersion());
+        if(entityTagService.matchesVersions(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType()).body(new TeamInformationResponse(team));
+    }
+
+    /**
+     * Get the balance of a team at a point in time
+     * The balance is rebuilt from the last balance snapshot before that time and the transfers after it
+     * @param id team identifier
+     * @param at ISO-8601 instant, optional, the current time if absent
+     * @return team balance response with HTTP status OK
+     */
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<?> readTeamBalance(@PathVariable Long id, @RequestParam(required = false) Instant at) {
+        Instant pointInTime = at != null ? at : Instant.now();
+        logger.info("Fetching balance of team with ID: {} at {}", id, pointInTime);
+        TeamBalanceResponse balance = balanceSnapshotService.getBalanceAt(id, pointInTime);
+        logger.debug("Successfully fetched team balance: {}", balance);
+        return ResponseEntity.status(HttpStatus.OK).body(balance);
     }
 
     /**
@@ -85,16 +148,98 @@ public class TeamController {
     }
 
     /**
-     * Get list of all teams
-     * @return list of team information responses with HTTP status OK
+     * Get list of teams
+     * Without paging parameters the full list is returned, otherwise one keyset page is returned
+     * Answered with HTTP status NOT_MODIFIED without a database query if no team changed since the tag in
+     * If-None-Match was issued
+     * @param after ID of the last team of the previous page, optional
+     * @param limit maximum number of teams in the page, optional
+     * @param accept accepted response formats, JSON if absent
+     * @param ifNoneMatch ETags of the representation held by the client, optional
+     * @return list of team information responses, or a page with the next cursor, with its ETag and HTTP status OK
+     * @throws HttpMediaTypeNotAcceptableException if none of the response formats is accepted
      */
     @GetMapping("/list")
-    public ResponseEntity<?> listTeams() {
+    public ResponseEntity<?> listTeams(@RequestParam(required = false) Long after,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                                       @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+            throws HttpMediaTypeNotAcceptableException {
+        ResponseFormat format = ResponseFormat.fromAccept(accept);
+        long generation = entityTagService.currentGeneration(Resource.TEAM);
+        String etag = entityTagService.listTag(Resource.TEAM, format, generation);
+        if(entityTagService.findCurrentTag(ifNoneMatch, Resource.TEAM, format, generation) != null) {
+            logger.debug("List of teams not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        if(after != null || limit != null) {
+            int pageLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+            logger.info("Fetching page of teams after ID: {} with limit: {}", after, pageLimit);
+            List<TeamInformationResponse> teams = teamService.getTeamsPage(after, pageLimit);
+            logger.debug("Successfully fetched {} teams", teams.size());
+            return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                    .contentType(format.getMediaType())
+                    .body(CursorPageResponse.of(teams, pageLimit, TeamInformationResponse::getId));
+        }
         logger.info("Fetching list of all teams");
-        List<TeamInformationResponse> teams = teamService.getAllTeams().stream()
-                .map(TeamInformationResponse::new)
-                .toList();
+        List<TeamInformationResponse> teams = teamService.getAllTeams();
         logger.debug("Successfully fetched {} teams", teams.size());
-        return ResponseEntity.status(HttpStatus.OK).body(teams);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType()).body(teams);
+    }
+
+    /**
+     * Get one page of the players of a team
+     * Pages are ordered by player ID, the next cursor of a full page is the ID of its last player
+     * @param id team identifier
+     * @param after ID of the last player of the previous page, optional
+     * @param limit maximum number of players in the page, optional
+     * @return page of player information responses with the next cursor, with HTTP status OK
+     */
+    @GetMapping("/{id}/players")
+    public ResponseEntity<?> listTeamPlayers(@PathVariable Long id,
+                                             @RequestParam(required = false) Long after,
+                                             @RequestParam(required = false) Integer limit) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        logger.info("Fetching page of players of team with ID: {} after ID: {} with limit: {}", id, after, pageLimit);
+        List<PlayerInformationResponse> players = teamService.getTeamPlayersPage(id, after, pageLimit);
+        logger.debug("Successfully fetched {} players", players.size());
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(CursorPageResponse.of(players, pageLimit, PlayerInformationResponse::getId));
+    }
+
+    /**
+     * Get the most expensive players of other teams the team can afford
+     * The cost of a player is the transfer value plus the commission of the selling team
+     * @param id team identifier
+     * @param limit maximum number of players, optional
+     * @return list of affordable players ordered by transfer value descending, with HTTP status OK
+     */
+    @GetMapping("/{id}/affordable")
+    public ResponseEntity<?> listAffordablePlayers(@PathVariable Long id, @RequestParam(required = false) Integer limit) {
+        int pageLimit = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        logger.info("Fetching players affordable by team with ID: {} with limit: {}", id, pageLimit);
+        List<AffordablePlayerResponse> players = teamService.getAffordablePlayers(id, pageLimit);
+        logger.debug("Successfully fetched {} affordable players", players.size());
+        return ResponseEntity.status(HttpStatus.OK).body(players);
+    }
+
+    /**
+     * Export all teams as newline-delimited JSON or CSV
+     * Rows are written to the response while they are read from the database cursor
+     * @param format export format, ndjson (default) or csv
+     * @param response HTTP response the rows are streamed to with HTTP status OK
+     * @throws IOException if writing to the response fails
+     */
+    @GetMapping("/export")
+    public void exportTeams(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+        logger.info("Exporting teams as {}", exportFormat);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        exportService.exportTeams(exportFormat, response.getOutputStream());
+        logger.info("Successfully exported teams");
     }
 }
@@ -1,17 +1,29 @@
 package org.example.manager.controller;
 
+import org.example.manager.dto.request.TransferRequest;
 import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.dto.response.TransferSimulationResponse;
+import org.example.manager.dto.response.TransferTicketResponse;
 import org.example.manager.model.Player;
-import org.example.manager.service.PlayerService;
+import org.example.manager.service.AsyncTransferService;
 import org.example.manager.service.TransferService;
+import org.example.manager.service.TransferSimulationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.List;
+
 /**
  * REST controller for managing player transfers between teams
  * Provides API for transferring players from one team to another
@@ -20,31 +32,83 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/transfer")
 public class TransferController {
     private final TransferService transferService;
-    private final PlayerService playerService;
+    private final AsyncTransferService asyncTransferService;
+    private final TransferSimulationService transferSimulationService;
     private static final Logger logger = LoggerFactory.getLogger(TransferController.class);
 
     /**
      * Constructor for TransferController
      * @param transferService service for handling player transfers
-     * @param playerService service for player operations
+     * @param asyncTransferService service for queueing asynchronous transfers
+     * @param transferSimulationService service for simulating transfers in memory
      */
-    public TransferController(TransferService transferService, PlayerService playerService) {
+    public TransferController(TransferService transferService, AsyncTransferService asyncTransferService,
+                              TransferSimulationService transferSimulationService) {
         this.transferService = transferService;
-        this.playerService = playerService;
+        this.asyncTransferService = asyncTransferService;
+        this.transferSimulationService = transferSimulationService;
     }
 
     /**
      * Transfer a player to a new team
+     * In asynchronous mode the transfer is queued and a ticket is returned instead of the player
      * @param playerId identifier of the player to transfer
      * @param newTeamId identifier of the team to transfer the player to
-     * @return updated player information response with HTTP status OK
+     * @param async whether to queue the transfer instead of applying it within the request
+     * @return updated player information response with HTTP status OK,
+     * or transfer ticket with HTTP status ACCEPTED in asynchronous mode
      */
     @PostMapping("{playerId}/to/{newTeamId}")
-    public ResponseEntity<?> transferPlayer(@PathVariable Long playerId, @PathVariable Long newTeamId) {
+    public ResponseEntity<?> transferPlayer(@PathVariable Long playerId, @PathVariable Long newTeamId,
+                                            @RequestParam(defaultValue = "false") boolean async) {
+        if(async) {
+            logger.info("Queueing transfer of player with ID: {} to team with ID: {}", playerId, newTeamId);
+            TransferTicketResponse ticket = asyncTransferService.submitTransfer(playerId, newTeamId);
+            logger.info("Successfully queued transfer with ticket: {}", ticket.getTicketId());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(URI.create("/transfer/status/" + ticket.getTicketId()))
+                    .body(ticket);
+        }
         logger.info("Transferring player with ID: {} to team with ID: {}", playerId, newTeamId);
-        transferService.transferPlayer(playerId, newTeamId);
-        Player player = playerService.readPlayer(playerId);
+        Player player = transferService.transferPlayer(playerId, newTeamId);
         logger.info("Successfully transferred player with ID: {} to team: {}", playerId, player.getTeam().getName());
         return ResponseEntity.ok().body(new PlayerInformationResponse(player));
     }
+
+    /**
+     * Get the state of an asynchronous transfer
+     * @param ticket ticket returned when the transfer was queued
+     * @return transfer ticket with its current state with HTTP status OK
+     */
+    @GetMapping("/status/{ticket}")
+    public ResponseEntity<?> transferStatus(@PathVariable String ticket) {
+        logger.debug("Fetching status of transfer ticket: {}", ticket);
+        return ResponseEntity.ok().body(asyncTransferService.getTransferStatus(ticket));
+    }
+
+    /**
+     * Transfer a batch of players in one transaction
+     * @param requests list of player and new team identifiers, applied in the given order
+     * @return outcome of every transfer in request order with HTTP status OK
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> transferPlayers(@RequestBody List<TransferRequest> requests) {
+        logger.info("Transferring batch of {} players", requests == null ? 0 : requests.size());
+        List<TransferResultResponse> results = transferService.transferPlayers(requests);
+        logger.info("Successfully processed batch of {} transfers", results.size());
+        return ResponseEntity.ok().body(results);
+    }
+
+    /**
+     * Simulate a sequence of transfers without changing any team or player
+     * @param requests list of player and new team identifiers, applied in the given order
+     * @return final balances of the teams involved and the failed transfers with HTTP status OK
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simulateTransfers(@RequestBody List<TransferRequest> requests) {
+        logger.info("Simulating {} transfers", requests == null ? 0 : requests.size());
+        TransferSimulationResponse simulation = transferSimulationService.simulate(requests);
+        logger.info("Successfully simulated {} transfers, {} failed", simulation.getTransfers(), simulation.getFailed());
+        return ResponseEntity.ok().body(simulation);
+    }
 }
@@ -0,0 +1,64 @@
+package org.example.manager.dto.request;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object for player search request
+ * Every filter is optional, the given filters are combined with AND
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class PlayerSearchRequest {
+    /**
+     * Minimal age of the players, inclusive
+     */
+    private Integer minAge;
+
+    /**
+     * Maximal age of the players, inclusive
+     */
+    private Integer maxAge;
+
+    /**
+     * Minimal months of experience of the players, inclusive
+     */
+    private Integer minExperience;
+
+    /**
+     * Maximal months of experience of the players, inclusive
+     */
+    private Integer maxExperience;
+
+    /**
+     * ID of the team of the players
+     */
+    private Long teamId;
+
+    /**
+     * Country of the team of the players
+     */
+    private String country;
+
+    /**
+     * Case-sensitive prefix of the players' last name
+     */
+    private String name;
+
+    /**
+     * Sort order as "field" or "field,asc|desc", ascending by ID if absent
+     */
+    private String sort;
+
+    /**
+     * Zero-based page number
+     */
+    private int page;
+
+    /**
+     * Maximum number of players in the page
+     */
+    private int size;
+}
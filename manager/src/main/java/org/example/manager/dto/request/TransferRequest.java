@@ -0,0 +1,29 @@
+package org.example.manager.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.*;
+
+/**
+ * Data Transfer Object for one item of a transfer request
+ * Used for batch transfers, where every item moves one player to a new team
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferRequest {
+    /**
+     * ID of the player to transfer
+     */
+    private Long playerId;
+
+    /**
+     * ID of the team to transfer the player to
+     */
+    private Long newTeamId;
+}
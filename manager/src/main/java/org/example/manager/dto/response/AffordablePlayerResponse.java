@@ -0,0 +1,58 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+import org.example.manager.service.TransferFeeCalculator;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a player a team can afford to buy
+ * Used to return the players of other teams with the full cost of their transfer with snake_case naming
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AffordablePlayerResponse {
+    Long id;
+    String firstName;
+    String lastName;
+    String teamName;
+    /**
+     * Base transfer fee of the player formatted as string with two decimal places
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+    BigDecimal transferValue;
+    /**
+     * Commission of the selling team formatted as string with two decimal places
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+    BigDecimal commission;
+    /**
+     * Amount charged to the buying team, transfer value plus commission, formatted as string with two decimal places
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+    BigDecimal totalCost;
+
+    /**
+     * Constructor used by the JPQL constructor expression of the affordable players query
+     * The commission is calculated with the same rounding as the transfer itself
+     * @param id the ID of the player
+     * @param firstName player's first name
+     * @param lastName player's last name
+     * @param teamName name of the selling team
+     * @param transferValue stored transfer value of the player
+     * @param commissionRate commission rate of the selling team in percent
+     */
+    public AffordablePlayerResponse(Long id, String firstName, String lastName, String teamName,
+                                    BigDecimal transferValue, Double commissionRate) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.teamName = teamName;
+        this.transferValue = transferValue;
+        this.commission = TransferFeeCalculator.commission(transferValue, commissionRate);
+        this.totalCost = transferValue.add(commission);
+    }
+}
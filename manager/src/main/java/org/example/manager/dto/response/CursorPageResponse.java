@@ -0,0 +1,35 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Data Transfer Object for one page of a keyset (cursor) paginated listing
+ * The next cursor is the id of the last returned item, or null when there are no more items
+ * @param <T> type of the page items
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CursorPageResponse<T> {
+    List<T> items;
+    Long nextCursor;
+
+    /**
+     * Builds a page from the items fetched for the requested limit
+     * A full page means more items may follow, so its last id becomes the next cursor
+     * @param items items of the current page ordered by id
+     * @param limit requested page size
+     * @param idExtractor function returning the id of an item
+     * @return page response with the next cursor filled in when the page is full
+     */
+    public static <T> CursorPageResponse<T> of(List<T> items, int limit, Function<T, Long> idExtractor) {
+        Long nextCursor = items.size() == limit && !items.isEmpty()
+                ? idExtractor.apply(items.get(items.size() - 1))
+                : null;
+        return new CursorPageResponse<>(items, nextCursor);
+    }
+}
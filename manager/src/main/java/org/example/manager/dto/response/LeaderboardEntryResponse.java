@@ -0,0 +1,33 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one entry of a leaderboard
+ * Used to return the richest teams and the most valuable players with snake_case naming
+ */
+@Value
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class LeaderboardEntryResponse {
+    /**
+     * 1-based position on the leaderboard, equal values are ranked by ascending ID
+     */
+    int rank;
+    Long id;
+    /**
+     * Display name, first and last name of a player or name of a team
+     */
+    String name;
+    /**
+     * Balance of a team or transfer value of a player, formatted as string with two decimal places
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+    BigDecimal value;
+}
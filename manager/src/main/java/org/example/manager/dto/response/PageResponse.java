@@ -0,0 +1,21 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of an offset paginated listing
+ * The total number of items is not counted, has_next tells whether another page follows
+ * @param <T> type of the page items
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PageResponse<T> {
+    List<T> items;
+    int page;
+    int size;
+    boolean hasNext;
+}
@@ -0,0 +1,34 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a bulk player import
+ * Used to return the number of imported and rejected rows with the reason of every rejected row with snake_case naming
+ * Only the first rejected rows are listed, errors_truncated tells whether more rows were rejected
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PlayerImportResponse {
+    long importedRows;
+    long rejectedRows;
+    List<RowError> errors;
+    boolean errorsTruncated;
+
+    /**
+     * Reason a single row was rejected
+     */
+    @Value
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class RowError {
+        /**
+         * Line number of the row in the uploaded file, starting at 1
+         */
+        long line;
+        String error;
+    }
+}
@@ -2,14 +2,17 @@ package org.example.manager.dto.response;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.example.manager.model.Player;
 
 /**
  * Data Transfer Object for player information response
  * Used to return player information in API responses with snake_case naming
+ * The all-arguments constructor is used by JPQL constructor expressions of the projection queries
  */
 @Value
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class PlayerInformationResponse {
     Long id;
@@ -0,0 +1,20 @@
+package org.example.manager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for the player columns the in-memory leaderboard and suggestion index are loaded from
+ * Carries the version of the row, so the loaded values are ordered against the change events of the player
+ * The all-arguments constructor is used by the JPQL constructor expression of the projection query
+ */
+@Value
+@AllArgsConstructor
+public class PlayerSummaryResponse {
+    Long id;
+    String firstName;
+    String lastName;
+    Integer age;
+    Integer monthsOfExperience;
+    long version;
+}
@@ -0,0 +1,25 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for one name suggestion of the autocomplete
+ * Used to return matching players and teams with snake_case naming
+ */
+@Value
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SuggestionResponse {
+    /**
+     * Kind of the suggested entity, player or team
+     */
+    String type;
+    Long id;
+    /**
+     * Display name, first and last name of a player or name of a team
+     */
+    String label;
+}
@@ -0,0 +1,34 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for the balance of a team at a point in time
+ * Used to return a balance rebuilt from a snapshot and the transfer ledger with snake_case naming
+ */
+@Value
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TeamBalanceResponse {
+    Long teamId;
+    /**
+     * Point in time the balance was rebuilt for
+     */
+    Instant at;
+    /**
+     * Team's balance at that time formatted as string with two decimal places
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+    BigDecimal balance;
+    /**
+     * Time of the snapshot the balance was rebuilt from
+     */
+    Instant snapshotTakenAt;
+}
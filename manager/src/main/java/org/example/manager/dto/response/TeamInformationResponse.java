@@ -3,6 +3,7 @@ package org.example.manager.dto.response;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.example.manager.model.Team;
 
@@ -10,8 +11,10 @@ import java.math.BigDecimal;
 /**
  * Data Transfer Object for team information response
  * Used to return team information in API responses with snake_case naming
+ * The all-arguments constructor is used by JPQL constructor expressions of the projection queries
  */
 @Value
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class TeamInformationResponse {
     Long id;
@@ -0,0 +1,46 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for the outcome of one transfer of a batch
+ * Used to report success or the failure reason of every requested transfer with snake_case naming
+ */
+@Value
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferResultResponse {
+    Long playerId;
+    Long newTeamId;
+    boolean success;
+    /**
+     * Failure reason, absent for successful transfers
+     */
+    String error;
+
+    /**
+     * Creates the result of a successful transfer
+     * @param playerId ID of the transferred player
+     * @param newTeamId ID of the team the player was transferred to
+     * @return successful transfer result
+     */
+    public static TransferResultResponse success(Long playerId, Long newTeamId) {
+        return new TransferResultResponse(playerId, newTeamId, true, null);
+    }
+
+    /**
+     * Creates the result of a failed transfer
+     * @param playerId ID of the player that was not transferred
+     * @param newTeamId ID of the requested team
+     * @param error failure reason
+     * @return failed transfer result
+     */
+    public static TransferResultResponse failure(Long playerId, Long newTeamId, String error) {
+        return new TransferResultResponse(playerId, newTeamId, false, error);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the outcome of a transfer simulation
+ * Used to return the final balances of the teams involved and the failure of every failed step with snake_case naming
+ * Only the first failed steps are listed, failures_truncated tells whether more steps failed
+ */
+@Value
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TransferSimulationResponse {
+    long transfers;
+    long succeeded;
+    long failed;
+    /**
+     * Balances of the teams that took part in at least one successful step, ordered by team ID
+     */
+    List<TeamBalance> balances;
+    List<StepFailure> failures;
+    boolean failuresTruncated;
+
+    /**
+     * Balance of one team before and after the simulation
+     */
+    @Value
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class TeamBalance {
+        Long teamId;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+        BigDecimal initialBalance;
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "#0.00")
+        BigDecimal balance;
+    }
+
+    /**
+     * Reason a single step failed
+     */
+    @Value
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class StepFailure {
+        /**
+         * Position of the step in the submitted transfers, starting at 1
+         */
+        long step;
+        Long playerId;
+        Long newTeamId;
+        /**
+         * Failure kind, player_not_found, team_not_found, wrong_team or low_balance
+         */
+        String outcome;
+        String error;
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.manager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Data Transfer Object for the state of an asynchronous transfer
+ * Used to return the ticket of a queued transfer and its outcome with snake_case naming
+ */
+@Value
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferTicketResponse {
+    String ticketId;
+    Long playerId;
+    Long newTeamId;
+    Status status;
+    /**
+     * Failure reason, present only for failed transfers
+     */
+    String error;
+
+    /**
+     * Processing state of an asynchronous transfer
+     */
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+}
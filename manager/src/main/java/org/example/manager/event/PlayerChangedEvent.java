@@ -0,0 +1,47 @@
+package org.example.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.example.manager.model.Player;
+
+/**
+ * Event published when a player is created, updated or deleted
+ * Carries the values of the player at publishing time, so listeners running after commit do not load the entity,
+ * and the version of the row, so listeners running out of order can ignore changes older than the ones they applied
+ */
+@Value
+@AllArgsConstructor
+public class PlayerChangedEvent {
+    Long playerId;
+    String firstName;
+    String lastName;
+    Integer age;
+    Integer monthsOfExperience;
+    /**
+     * Version of the player row with the names, age and experience, 0 for a deleted player
+     */
+    long version;
+    /**
+     * Whether the player was deleted, the names, age and experience are absent then
+     */
+    boolean deleted;
+
+    /**
+     * Creates the event of a created or updated player
+     * @param player the saved player, flushed so its version is current
+     * @return event with the current names, age, experience and version of the player
+     */
+    public static PlayerChangedEvent saved(Player player) {
+        return new PlayerChangedEvent(player.getId(), player.getFirstName(), player.getLastName(),
+                player.getAge(), player.getMonthsOfExperience(), player.getVersion(), false);
+    }
+
+    /**
+     * Creates the event of a deleted player
+     * @param playerId ID of the deleted player
+     * @return event of the deletion
+     */
+    public static PlayerChangedEvent deleted(Long playerId) {
+        return new PlayerChangedEvent(playerId, null, null, null, null, 0, true);
+    }
+}
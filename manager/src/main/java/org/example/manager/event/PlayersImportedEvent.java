@@ -0,0 +1,21 @@
+package org.example.manager.event;
+
+import lombok.Value;
+
+/**
+ * Event published when players were inserted in bulk
+ * The bulk insert does not return the generated IDs, they lie between the first and the last player ID of the event.
+ * Players created concurrently may get IDs in the same range, listeners reload the whole range
+ */
+@Value
+public class PlayersImportedEvent {
+    long importedRows;
+    /**
+     * Lowest ID an imported player can have, greater than every ID committed before the import
+     */
+    long firstPlayerId;
+    /**
+     * Highest ID of the imported players
+     */
+    long lastPlayerId;
+}
@@ -0,0 +1,46 @@
+package org.example.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.example.manager.model.Team;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published when a team is created, updated or deleted
+ * Carries the values of the team at publishing time, so listeners running after commit do not load the entity
+ * The version of the team orders the event against the transfer events of the same team
+ */
+@Value
+@AllArgsConstructor
+public class TeamChangedEvent {
+    Long teamId;
+    String name;
+    BigDecimal balance;
+    /**
+     * Version of the team row with the name and the balance, 0 for a deleted team
+     */
+    long version;
+    /**
+     * Whether the team was deleted, the name and the balance are absent then
+     */
+    boolean deleted;
+
+    /**
+     * Creates the event of a created or updated team
+     * @param team the saved team, flushed so its version is current
+     * @return event with the current name, balance and version of the team
+     */
+    public static TeamChangedEvent saved(Team team) {
+        return new TeamChangedEvent(team.getId(), team.getName(), team.getBalance(), team.getVersion(), false);
+    }
+
+    /**
+     * Creates the event of a deleted team
+     * @param teamId ID of the deleted team
+     * @return event of the deletion
+     */
+    public static TeamChangedEvent deleted(Long teamId) {
+        return new TeamChangedEvent(teamId, null, null, 0, true);
+    }
+}
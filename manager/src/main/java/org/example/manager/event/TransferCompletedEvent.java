@@ -0,0 +1,41 @@
+package org.example.manager.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.example.manager.model.Team;
+import org.example.manager.model.TransferLedgerEntry;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published for every completed transfer, single or part of a batch
+ * Carries the values of the ledger entry, so listeners running after commit do not load the entities,
+ * and the balances and versions of both teams after the transfer, so listeners can order it against other changes
+ * of the teams. Transfers of one batch carry the balances and versions of the teams at the end of the batch
+ */
+@Value
+@AllArgsConstructor
+public class TransferCompletedEvent {
+    Long playerId;
+    Long fromTeamId;
+    Long toTeamId;
+    BigDecimal fee;
+    BigDecimal commission;
+    BigDecimal fromTeamBalance;
+    long fromTeamVersion;
+    BigDecimal toTeamBalance;
+    long toTeamVersion;
+
+    /**
+     * Creates the event of a recorded transfer
+     * @param entry the ledger entry of the transfer
+     * @param fromTeam the selling team, with the balance and version after the transfer
+     * @param toTeam the buying team, with the balance and version after the transfer
+     * @return event with the teams and the amounts of the transfer
+     */
+    public static TransferCompletedEvent of(TransferLedgerEntry entry, Team fromTeam, Team toTeam) {
+        return new TransferCompletedEvent(entry.getPlayerId(), entry.getFromTeamId(), entry.getToTeamId(),
+                entry.getFee(), entry.getCommission(), fromTeam.getBalance(), fromTeam.getVersion(),
+                toTeam.getBalance(), toTeam.getVersion());
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.example.manager.exception.custom.LowBalanceException;
 import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.TransferQueueFullException;
 import org.example.manager.exception.custom.WrongTeamException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.postgresql.util.PSQLException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -43,11 +45,11 @@ public class GlobalExceptionHandler {
     }
 
     /**
-     * Handles entity already exists and wrong team exceptions
+     * Handles entity already exists, wrong team and concurrent update exceptions
      * @param ex the EntityExistsException that was thrown
      * @return ResponseEntity with HTTP status 409 and error details
      */
-    @ExceptionHandler({EntityExistsException.class, WrongTeamException.class})
+    @ExceptionHandler({EntityExistsException.class, WrongTeamException.class, OptimisticLockingFailureException.class})
     public ResponseEntity<Object> handleEntityExistsException(Exception ex) {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage());
     }
@@ -62,6 +64,16 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.FORBIDDEN, ex.getMessage());
     }
 
+    /**
+     * Handles full asynchronous transfer queues
+     * @param ex the TransferQueueFullException that was thrown
+     * @return ResponseEntity with HTTP status 503 and error details
+     */
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<Object> handleTransferQueueFullException(TransferQueueFullException ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     /**
      * Builds response for every exception using HTTP status, made to reduce repetition in code
      * @param status HTTP status to be thrown
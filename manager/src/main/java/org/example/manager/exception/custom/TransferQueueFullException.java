@@ -0,0 +1,15 @@
+package org.example.manager.exception.custom;
+
+/**
+ * Custom exception thrown when an asynchronous transfer cannot be queued because its partition queue is full
+ * This is a runtime exception that indicates a temporary overload, the request can be retried later
+ */
+public class TransferQueueFullException extends RuntimeException {
+    /**
+     * Constructs a new TransferQueueFullException with the specified detail message
+     * @param message the detail message explaining the reason for the exception
+     */
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+}
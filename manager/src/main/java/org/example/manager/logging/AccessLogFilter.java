@@ -0,0 +1,66 @@
+package org.example.manager.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter writing one access log line per request, with the request fields as structured key-value pairs.
+ * Enabled with manager.logging.access-log.enabled=true, which the prod profile sets.
+ * A share of the requests, manager.logging.debug-sample-rate, is marked as sampled in the MDC,
+ * SampledRequestTurboFilter lets all application logs of these requests through regardless of the logger levels.
+ */
+@Component
+@ConditionalOnProperty(name = "manager.logging.access-log.enabled", havingValue = "true")
+public class AccessLogFilter extends OncePerRequestFilter {
+    /**
+     * MDC key marking the requests whose debug logs are written
+     */
+    public static final String SAMPLED_KEY = "sampled";
+    private final double debugSampleRate;
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    /**
+     * Constructor for AccessLogFilter
+     * @param debugSampleRate share of the requests to sample, between 0 (none) and 1 (all)
+     */
+    public AccessLogFilter(@Value("${manager.logging.debug-sample-rate:0}") double debugSampleRate) {
+        if(debugSampleRate < 0 || debugSampleRate > 1) {
+            throw new IllegalArgumentException("Debug sample rate must be between 0 and 1");
+        }
+        this.debugSampleRate = debugSampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = debugSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < debugSampleRate;
+        if(sampled) MDC.put(SAMPLED_KEY, "true");
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.atInfo()
+                    .addKeyValue("http.method", request.getMethod())
+                    .addKeyValue("url.path", request.getRequestURI())
+                    .addKeyValue("http.status", response.getStatus())
+                    .addKeyValue("duration_ms", durationMillis)
+                    .addKeyValue(SAMPLED_KEY, sampled)
+                    .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), response.getStatus(), durationMillis);
+            if(sampled) MDC.remove(SAMPLED_KEY);
+        }
+    }
+}
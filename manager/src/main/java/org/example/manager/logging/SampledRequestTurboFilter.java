@@ -0,0 +1,50 @@
+package org.example.manager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logback turbo filter letting the logs of sampled requests through below the configured logger levels
+ * Requests are sampled by AccessLogFilter, which marks them in the MDC. Events of DEBUG and above from loggers
+ * with one of the configured prefixes are accepted for them, every other event goes through the level check.
+ * Only an MDC lookup is added to the hot path, the disabled log calls of unsampled requests stay cheap
+ */
+public class SampledRequestTurboFilter extends TurboFilter {
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private String mdcKey = AccessLogFilter.SAMPLED_KEY;
+
+    /**
+     * Adds a logger name prefix whose events are accepted for sampled requests, set from the loggerPrefix elements
+     * @param loggerPrefix logger name prefix, e.g. a package name
+     */
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    /**
+     * Sets the MDC key marking sampled requests
+     * @param mdcKey MDC key, AccessLogFilter.SAMPLED_KEY by default
+     */
+    public void setMdcKey(String mdcKey) {
+        this.mdcKey = mdcKey;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if(!isStarted() || level.toInt() < Level.DEBUG_INT || MDC.get(mdcKey) == null) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for(String prefix : loggerPrefixes) {
+            if(name.startsWith(prefix)) return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.manager.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate SessionEventListener adding the JDBC execution time of a session to the statistics of the current request
+ * Registered with hibernate.session.events.auto, Hibernate creates one instance per session.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryStatistics statistics = QueryStatistics.current();
+        if(statistics != null) statistics.statementExecuted(System.nanoTime() - executionStart);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.manager.metrics;
+
+/**
+ * SQL statistics of the current request: number of prepared statements and time spent executing them
+ * The statistics are bound to the request thread between begin() and end(), statements issued by other threads,
+ * like the async transfer workers, are not counted.
+ * Filled by StatementCountingInspector and JdbcTimingSessionListener, which Hibernate calls on the request thread.
+ */
+public final class QueryStatistics {
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+    private int statementCount;
+    private long jdbcTimeNanos;
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Starts collecting the statistics of the current thread
+     * @return the statistics of the current thread, empty
+     */
+    public static QueryStatistics begin() {
+        QueryStatistics statistics = new QueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops collecting the statistics of the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the statistics of the current thread, or null if they are not collected
+     */
+    static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statementCount++;
+    }
+
+    void statementExecuted(long nanos) {
+        jdbcTimeNanos += nanos;
+    }
+
+    /**
+     * @return number of SQL statements prepared, a JDBC batch counts once
+     */
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * @return time spent in JDBC statement and batch executions, in nanoseconds
+     */
+    public long getJdbcTimeNanos() {
+        return jdbcTimeNanos;
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.manager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter collecting the SQL statistics of every request
+ * The statement count and the JDBC time are written to the X-Query-Count and X-Query-Time (milliseconds) headers
+ * when the response starts, and recorded per endpoint in the manager.http.statements and manager.http.jdbc meters
+ * when the request ends, so statements issued while the body is written only show in the meters.
+ * Requests over the statement or JDBC time budget are logged as warnings.
+ */
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    /**
+     * Request attribute holding the QueryStatistics of the request
+     */
+    public static final String ATTRIBUTE = QueryStatistics.class.getName();
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time";
+    private final MeterRegistry registry;
+    private final int statementBudget;
+    private final long jdbcTimeBudgetNanos;
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsFilter.class);
+
+    /**
+     * Constructor for QueryStatisticsFilter
+     * @param registry registry the statistics are recorded in
+     * @param statementBudget number of statements a request may execute without a warning
+     * @param jdbcTimeBudget JDBC time a request may spend without a warning
+     */
+    public QueryStatisticsFilter(MeterRegistry registry, int statementBudget, Duration jdbcTimeBudget) {
+        this.registry = registry;
+        this.statementBudget = statementBudget;
+        this.jdbcTimeBudgetNanos = jdbcTimeBudget.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.begin();
+        request.setAttribute(ATTRIBUTE, statistics);
+        StatisticsHeaderResponse wrapped = new StatisticsHeaderResponse(response, statistics);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            QueryStatistics.end();
+            wrapped.writeHeaders();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("manager.http.statements")
+                .description("SQL statements executed per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(statistics.getStatementCount());
+        Timer.builder("manager.http.jdbc")
+                .description("JDBC execution time per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(statistics.getJdbcTimeNanos(), TimeUnit.NANOSECONDS);
+        if(statistics.getStatementCount() > statementBudget || statistics.getJdbcTimeNanos() > jdbcTimeBudgetNanos) {
+            logger.warn("{} {} executed {} SQL statements in {} ms, over the budget of {} statements or {} ms",
+                    request.getMethod(), uri, statistics.getStatementCount(), millis(statistics.getJdbcTimeNanos()),
+                    statementBudget, millis(jdbcTimeBudgetNanos));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Response writing the statistics headers before the response is committed
+     */
+    private static class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+        private final QueryStatistics statistics;
+        private boolean headersWritten;
+
+        StatisticsHeaderResponse(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void writeHeaders() {
+            if(headersWritten || isCommitted()) return;
+            headersWritten = true;
+            setHeader(COUNT_HEADER, String.valueOf(statistics.getStatementCount()));
+            setHeader(TIME_HEADER, millis(statistics.getJdbcTimeNanos()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.manager.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector counting the SQL statements of the current request
+ * Registered with hibernate.session_factory.statement_inspector, the SQL is returned unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if(statistics != null) statistics.statementPrepared();
+        return sql;
+    }
+}
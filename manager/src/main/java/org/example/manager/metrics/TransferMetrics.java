@@ -0,0 +1,79 @@
+package org.example.manager.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.exception.custom.LowBalanceException;
+import org.example.manager.exception.custom.WrongTeamException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Metrics of player transfers, single and batched
+ * manager.transfers counts the transfers by outcome, successes once their transaction committed;
+ * manager.transfer.fee is the distribution of the fees of the committed transfers
+ */
+@Component
+public class TransferMetrics {
+    static final String TRANSFERS = "manager.transfers";
+    static final String FEE = "manager.transfer.fee";
+    private final Counter success;
+    private final Counter lowBalance;
+    private final Counter wrongTeam;
+    private final Counter notFound;
+    private final Counter invalid;
+    private final DistributionSummary fee;
+
+    /**
+     * Constructor for TransferMetrics
+     * @param registry registry the transfer meters are registered in
+     */
+    public TransferMetrics(MeterRegistry registry) {
+        success = counter(registry, "success");
+        lowBalance = counter(registry, "low_balance");
+        wrongTeam = counter(registry, "wrong_team");
+        notFound = counter(registry, "not_found");
+        invalid = counter(registry, "invalid");
+        fee = DistributionSummary.builder(FEE)
+                .description("Fees of the completed transfers, without the commission")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1_000.0)
+                .maximumExpectedValue(10_000_000.0)
+                .register(registry);
+    }
+
+    /**
+     * Records a committed transfer
+     * @param event the completed transfer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        success.increment();
+        fee.record(event.getFee().doubleValue());
+    }
+
+    /**
+     * Records a rejected transfer by the reason of the rejection
+     * @param ex the exception the transfer was rejected with
+     */
+    public void recordFailure(RuntimeException ex) {
+        if(ex instanceof LowBalanceException) {
+            lowBalance.increment();
+        } else if(ex instanceof WrongTeamException) {
+            wrongTeam.increment();
+        } else if(ex instanceof EntityNotFoundException) {
+            notFound.increment();
+        } else {
+            invalid.increment();
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder(TRANSFERS)
+                .description("Transfers by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
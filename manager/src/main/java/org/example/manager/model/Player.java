@@ -3,16 +3,34 @@ package org.example.manager.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.example.manager.service.TransferFeeCalculator;
+
+import java.math.BigDecimal;
 
 /**
  * Entity class representing a player in the football management system
  * Maps to the 'player' table in the database
+ * Cached by id in the second-level cache, see ehcache.xml for the size and expiry of the region
+ * Indexed by team and ID, so team rosters are read with an index range scan in ID order,
+ * and by the age, experience and name columns filtered and sorted on by the player search,
+ * and by the stored transfer value, so the players a team can afford are read with an index range scan
  */
 @Entity
-@Table(name = "player")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "player", indexes = {
+        @Index(name = "idx_player_team_id", columnList = "team_id, id"),
+        @Index(name = "idx_player_age_experience", columnList = "age, months_of_experience"),
+        @Index(name = "idx_player_name", columnList = "last_name, first_name"),
+        @Index(name = "idx_player_transfer_value", columnList = "transfer_value")
+})
 @Getter
 @Setter
 @ToString
@@ -60,12 +78,42 @@ public class Player {
     @Max(value = 468, message = "Player's months of experience must be lower or equals 468")
     private Integer monthsOfExperience;
 
+    /**
+     * Base transfer fee of the player without the commission of the selling team
+     * Derived from the age and the experience before every insert and update, never set directly
+     * Nullable in the mapping so Hibernate can add the column to an existing table,
+     * players stored before are backfilled at startup by TransferValueMigration
+     */
+    @Column(name = "transfer_value", precision = 15, scale = 2)
+    @Setter(AccessLevel.NONE)
+    private BigDecimal transferValue;
+
     /**
      * The team that the player belongs to
      * Many players can belong to one team (Many-to-One relationship)
+     * Loaded lazily, the read paths fetch it explicitly with an entity graph or a join
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id", nullable = false)
     @ToString.Exclude
     private Team team;
-}
\ No newline at end of file
+
+    /**
+     * Version of the player row, incremented on every update including the team change of transfers
+     * Used for optimistic locking and as part of the ETag of the player
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Recomputes the transfer value from the current age and experience
+     * Bulk inserts bypassing the entity, like the player import, compute the same value themselves
+     */
+    @PrePersist
+    @PreUpdate
+    void updateTransferValue() {
+        transferValue = TransferFeeCalculator.transferAmount(monthsOfExperience, age);
+    }
+}
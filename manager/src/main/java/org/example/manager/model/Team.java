@@ -2,6 +2,9 @@ package org.example.manager.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
@@ -11,9 +14,15 @@ import java.math.BigDecimal;
 /**
  * Entity class representing a team in the football management system
  * Maps to the 'team' table in the database
+ * Cached by id in the second-level cache, see ehcache.xml for the size and expiry of the region
+ * Indexed by country for the player search by the country of the team
  */
 @Entity
-@Table(name = "team")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "team", indexes = {
+        @Index(name = "idx_team_country", columnList = "country")
+})
 @Getter
 @Setter
 @ToString
@@ -59,4 +68,13 @@ public class Team {
     @Min(value = 0, message = "Team's commission rate must be higher or equals 0")
     @Max(value = 10, message = "Team's commission rate must be lower or equals 10")
     private Double commissionRate;
+
+    /**
+     * Version of the team row, incremented on every update including the balance delta updates of transfers
+     * Used for optimistic locking and as part of the ETag of the team
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
 }
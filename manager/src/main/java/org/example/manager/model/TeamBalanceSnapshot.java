@@ -0,0 +1,72 @@
+package org.example.manager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity class representing the balance of a team at a point in time
+ * Maps to the 'team_balance_snapshot' table in the database
+ * The balance at any later time is the snapshot balance plus the ledger entries of the team after the snapshot position
+ */
+@Entity
+@Immutable
+@Table(name = "team_balance_snapshot", indexes = {
+        @Index(name = "idx_team_balance_snapshot_team", columnList = "team_id, taken_at")
+})
+@Getter
+@ToString
+@NoArgsConstructor
+public class TeamBalanceSnapshot {
+    /**
+     * Unique identifier for the snapshot
+     * Generated automatically by the database
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * ID of the team, stored without a foreign key so snapshots outlive deleted teams
+     */
+    @Column(name = "team_id", nullable = false, updatable = false)
+    private Long teamId;
+
+    /**
+     * Balance of the team when the snapshot was taken
+     */
+    @Column(name = "balance", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal balance;
+
+    /**
+     * ID of the last ledger entry of the team included in the balance, 0 if there was none
+     */
+    @Column(name = "last_ledger_id", nullable = false, updatable = false)
+    private Long lastLedgerId;
+
+    /**
+     * Time the snapshot was taken, set by Hibernate on insert
+     */
+    @CreationTimestamp
+    @Column(name = "taken_at", nullable = false, updatable = false)
+    private Instant takenAt;
+
+    /**
+     * Constructor for a new snapshot
+     * @param teamId ID of the team
+     * @param balance balance of the team
+     * @param lastLedgerId ID of the last ledger entry of the team included in the balance
+     */
+    public TeamBalanceSnapshot(Long teamId, BigDecimal balance, Long lastLedgerId) {
+        this.teamId = teamId;
+        this.balance = balance;
+        this.lastLedgerId = lastLedgerId;
+    }
+}
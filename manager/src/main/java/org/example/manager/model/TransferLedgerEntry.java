@@ -0,0 +1,100 @@
+package org.example.manager.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity class representing one completed transfer in the append-only transfer ledger
+ * Maps to the 'transfer_ledger' table in the database
+ * Entries are written in the transaction of the transfer and never updated or deleted,
+ * team and player IDs are stored without foreign keys so the history outlives deleted teams and players
+ */
+@Entity
+@Immutable
+@Table(name = "transfer_ledger", indexes = {
+        @Index(name = "idx_transfer_ledger_from_team", columnList = "from_team_id, id"),
+        @Index(name = "idx_transfer_ledger_to_team", columnList = "to_team_id, id")
+})
+@Getter
+@ToString
+@NoArgsConstructor
+public class TransferLedgerEntry {
+    /**
+     * Unique identifier for the entry
+     * Taken from a sequence one value at a time while the team rows of the transfer are locked,
+     * so for every team the IDs of its entries grow in commit order and a snapshot can mark its position by ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_ledger_seq")
+    @SequenceGenerator(name = "transfer_ledger_seq", sequenceName = "transfer_ledger_seq", allocationSize = 1)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    /**
+     * ID of the transferred player
+     */
+    @Column(name = "player_id", nullable = false, updatable = false)
+    private Long playerId;
+
+    /**
+     * ID of the selling team, which receives the fee and the commission
+     */
+    @Column(name = "from_team_id", nullable = false, updatable = false)
+    private Long fromTeamId;
+
+    /**
+     * ID of the buying team, which pays the fee and the commission
+     */
+    @Column(name = "to_team_id", nullable = false, updatable = false)
+    private Long toTeamId;
+
+    /**
+     * Transfer amount calculated from the experience and age of the player
+     */
+    @Column(name = "fee", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal fee;
+
+    /**
+     * Commission of the selling team on top of the fee
+     */
+    @Column(name = "commission", precision = 15, scale = 2, nullable = false, updatable = false)
+    private BigDecimal commission;
+
+    /**
+     * Time the entry was written, set by Hibernate on insert
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Constructor for a new ledger entry
+     * @param playerId ID of the transferred player
+     * @param fromTeamId ID of the selling team
+     * @param toTeamId ID of the buying team
+     * @param fee transfer amount
+     * @param commission commission of the selling team
+     */
+    public TransferLedgerEntry(Long playerId, Long fromTeamId, Long toTeamId, BigDecimal fee, BigDecimal commission) {
+        this.playerId = playerId;
+        this.fromTeamId = fromTeamId;
+        this.toTeamId = toTeamId;
+        this.fee = fee;
+        this.commission = commission;
+    }
+
+    /**
+     * Amount moved between the teams by this transfer
+     * @return fee plus commission
+     */
+    public BigDecimal getFullAmount() {
+        return fee.add(commission);
+    }
+}
@@ -1,22 +1,193 @@
 package org.example.manager.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.PlayerSummaryResponse;
 import org.example.manager.model.Player;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Player entity
  * Provides CRUD operations and custom queries for Player entities
+ * Searches with optional filters are built from the specifications of PlayerSpecifications
  */
 @Repository
-public interface PlayerRepository extends JpaRepository<Player, Long> {
+public interface PlayerRepository extends JpaRepository<Player, Long>, JpaSpecificationExecutor<Player> {
     /**
-     * Custom query to find all players
-     * @return List of all players in the database
+     * Query space of the native team updates, no entity is mapped to it so no cache region is evicted by them
      */
+    String TEAM_QUERY_SPACE = "player_team";
+
+    /**
+     * Find a player by ID together with their team
+     * Overrides the default lookup, so every path reading a player gets the team in the same statement
+     * or from the second-level cache, instead of a lazy load after the transaction
+     * @param id the ID of the player
+     * @return the player with the team loaded, empty if not found
+     */
+    @Override
+    @EntityGraph(attributePaths = "team")
+    Optional<Player> findById(Long id);
+
+    /**
+     * Custom query to find all players with their teams
+     * @return List of all players in the database, read-only
+     */
+    @ReadOnlyQuery
+    @EntityGraph(attributePaths = "team")
     @Query("SELECT p FROM Player p")
     List<Player> findAllPlayers();
+
+    /**
+     * Projection query to find all players as response objects
+     * Joins the team name in the same statement, so no team entities are loaded or managed
+     * @return List of all players as response objects, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.PlayerInformationResponse(" +
+            "p.id, p.firstName, p.lastName, p.age, p.monthsOfExperience, t.name) " +
+            "FROM Player p JOIN p.team t ORDER BY p.id")
+    List<PlayerInformationResponse> findAllPlayerResponses();
+
+    /**
+     * Keyset projection query to find the next page of players ordered by ID
+     * Seeks on the primary key, so the cost does not grow with the page depth
+     * @param after ID of the last player of the previous page, players with greater IDs are returned
+     * @param limit maximum number of players to return
+     * @return List of players with ID greater than the cursor as response objects, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.PlayerInformationResponse(" +
+            "p.id, p.firstName, p.lastName, p.age, p.monthsOfExperience, t.name) " +
+            "FROM Player p JOIN p.team t WHERE p.id > :after ORDER BY p.id")
+    List<PlayerInformationResponse> findPlayerResponsesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Keyset projection query to find the next page of players in a range of IDs, with their versions
+     * Reads the player table only, the team is not needed by the in-memory indexes loaded from it
+     * @param after ID of the last player of the previous page, players with greater IDs are returned
+     * @param last greatest ID of the range
+     * @param limit maximum number of players to return
+     * @return List of players with ID greater than the cursor and at most the end of the range, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.PlayerSummaryResponse(" +
+            "p.id, p.firstName, p.lastName, p.age, p.monthsOfExperience, p.version) " +
+            "FROM Player p WHERE p.id > :after AND p.id <= :last ORDER BY p.id")
+    List<PlayerSummaryResponse> findPlayerSummariesBetween(@Param("after") Long after, @Param("last") Long last, Limit limit);
+
+    /**
+     * Keyset projection query to find the next page of the players of a team ordered by ID
+     * Seeks on the (team_id, id) index, so a page costs an index range scan regardless of the roster size
+     * @param teamId the ID of the team
+     * @param after ID of the last player of the previous page, players with greater IDs are returned
+     * @param limit maximum number of players to return
+     * @return List of the team's players with ID greater than the cursor as response objects, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.PlayerInformationResponse(" +
+            "p.id, p.firstName, p.lastName, p.age, p.monthsOfExperience, t.name) " +
+            "FROM Player p JOIN p.team t WHERE p.team.id = :teamId AND p.id > :after ORDER BY p.id")
+    List<PlayerInformationResponse> findTeamPlayerResponsesAfter(@Param("teamId") Long teamId,
+                                                                 @Param("after") Long after, Limit limit);
+
+    /**
+     * Projection query to find the most expensive players of other teams a team can afford
+     * A player is affordable if the transfer value plus the commission of the selling team does not exceed
+     * the balance of the buying team. The commission is never negative, so the balance bounds the stored
+     * transfer value and the rows are read with a range scan of its index, the commission of every selling team
+     * is then checked on the rows of the range. The transfer rounds the commission HALF_UP to cents, so with the
+     * balance left after the transfer value in cents, the commission fits if it is less than half a cent above it,
+     * which is the strict comparison against the balance plus half a cent, scaled by 100.
+     * @param teamId the ID of the buying team
+     * @param limit maximum number of players to return
+     * @return List of affordable players as response objects, ordered by transfer value descending and by ID,
+     * empty if the team does not exist
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.AffordablePlayerResponse(" +
+            "p.id, p.firstName, p.lastName, t.name, p.transferValue, t.commissionRate) " +
+            "FROM Player p JOIN p.team t JOIN Team buyer ON buyer.id = :teamId " +
+            "WHERE p.transferValue <= buyer.balance AND t.id <> buyer.id " +
+            "AND p.transferValue * (100 + t.commissionRate) < buyer.balance * 100 + 0.5 " +
+            "ORDER BY p.transferValue DESC, p.id")
+    List<AffordablePlayerResponse> findAffordableBy(@Param("teamId") Long teamId, Limit limit);
+
+    /**
+     * Projection query streaming all players from a server-side cursor
+     * Rows are fetched from the database in chunks of the fetch size while the stream is consumed,
+     * so it must be consumed and closed inside a transaction
+     * @return Stream of all players as response objects, ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new org.example.manager.dto.response.PlayerInformationResponse(" +
+            "p.id, p.firstName, p.lastName, p.age, p.monthsOfExperience, t.name) FROM Player p JOIN p.team t ORDER BY p.id")
+    Stream<PlayerInformationResponse> streamAllPlayerResponses();
+
+    /**
+     * Custom query to find the distinct IDs of the current teams of the given players
+     * Reads only the foreign key column, so no entities are loaded
+     * @param ids IDs of the players
+     * @return List of IDs of the teams the players currently belong to
+     */
+    @Query("SELECT DISTINCT p.team.id FROM Player p WHERE p.id IN :ids")
+    List<Long> findTeamIdsByPlayerIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Custom query to find and lock players by their IDs
+     * Rows are locked for update in ascending ID order, so concurrent batches cannot deadlock on them
+     * @param ids IDs of the players to lock
+     * @return List of the locked players, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Player p WHERE p.id IN :ids ORDER BY p.id")
+    List<Player> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically moves a player to a new team if the player still belongs to the expected team
+     * Guards against two concurrent transfers of the same player both succeeding
+     * The update increments the version, so the version of the player and its ETag change with the team
+     * The query is native and synchronized with its own query space only, so Hibernate does not evict
+     * the whole player cache region, the caller evicts the moved player
+     * @param id the ID of the player to move
+     * @param oldTeamId the ID of the team the player is expected to belong to
+     * @param newTeamId the ID of the team to move the player to
+     * @return number of updated rows, 0 if the player does not exist or already left the expected team
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TEAM_QUERY_SPACE))
+    @Query(value = "UPDATE player SET team_id = :newTeamId, version = version + 1 WHERE id = :id AND team_id = :oldTeamId",
+            nativeQuery = true)
+    int moveToTeam(@Param("id") Long id, @Param("oldTeamId") Long oldTeamId, @Param("newTeamId") Long newTeamId);
+
+    /**
+     * Sets the transfer value of the players stored before the transfer_value column existed
+     * Same value as TransferFeeCalculator.transferAmount, rounded half up to cents by the database
+     * @return number of updated rows, 0 once every player has a transfer value
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE player SET transfer_value = ROUND(months_of_experience * 100000.0 / age, 2) " +
+            "WHERE transfer_value IS NULL", nativeQuery = true)
+    int backfillTransferValues();
 }
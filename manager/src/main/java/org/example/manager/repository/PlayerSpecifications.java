@@ -0,0 +1,66 @@
+package org.example.manager.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifications of player searches
+ * The predicates keep the shape the indexes of the player and team tables can serve:
+ * ranges on age and experience, equality on the team and its country and a prefix on the last name
+ */
+public final class PlayerSpecifications {
+    private PlayerSpecifications() {
+    }
+
+    /**
+     * Builds the specification of a player search
+     * The team is fetched in the same statement, so building the responses does not load teams one by one
+     * @param request search filters, absent filters are not applied
+     * @return specification matching the players that satisfy every given filter
+     */
+    @SuppressWarnings("unchecked")
+    public static Specification<Player> matching(PlayerSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            Join<Player, Team> team = null;
+            if(query != null && !Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                team = (Join<Player, Team>) root.<Player, Team>fetch("team", JoinType.INNER);
+            }
+
+            if(request.getMinAge() != null) predicates.add(cb.greaterThanOrEqualTo(root.get("age"), request.getMinAge()));
+            if(request.getMaxAge() != null) predicates.add(cb.lessThanOrEqualTo(root.get("age"), request.getMaxAge()));
+            if(request.getMinExperience() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("monthsOfExperience"), request.getMinExperience()));
+            }
+            if(request.getMaxExperience() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("monthsOfExperience"), request.getMaxExperience()));
+            }
+            if(request.getTeamId() != null) predicates.add(cb.equal(root.get("team").get("id"), request.getTeamId()));
+            if(request.getCountry() != null) {
+                if(team == null) team = root.join("team");
+                predicates.add(cb.equal(team.get("country"), request.getCountry()));
+            }
+            if(request.getName() != null) {
+                predicates.add(cb.like(root.get("lastName"), escapeLike(request.getName()) + "%", '\\'));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a user given prefix
+     * @param value the prefix to escape
+     * @return the prefix matching its characters literally
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.manager.repository;
+
+import org.example.manager.model.TeamBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository interface for TeamBalanceSnapshot entity
+ * Provides inserts and lookups of the balance snapshots of teams
+ */
+public interface TeamBalanceSnapshotRepository extends JpaRepository<TeamBalanceSnapshot, Long> {
+    /**
+     * Find the last snapshot of a team taken at or before the given time
+     * @param teamId the ID of the team
+     * @param at the point in time
+     * @return the last snapshot of the team not later than the given time, empty if there is none
+     */
+    Optional<TeamBalanceSnapshot> findFirstByTeamIdAndTakenAtLessThanEqualOrderByTakenAtDescIdDesc(Long teamId, Instant at);
+
+    /**
+     * Find the latest snapshot of a team
+     * @param teamId the ID of the team
+     * @return the latest snapshot of the team, empty if there is none
+     */
+    Optional<TeamBalanceSnapshot> findFirstByTeamIdOrderByIdDesc(Long teamId);
+}
@@ -1,16 +1,33 @@
 package org.example.manager.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.manager.dto.response.TeamInformationResponse;
 import org.example.manager.model.Team;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Team entity
  * Provides CRUD operations and custom queries for Team entities
  */
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    /**
+     * Query space of the native balance updates, no entity is mapped to it so no cache region is evicted by them
+     */
+    String BALANCE_QUERY_SPACE = "team_balance";
+
     /**
      * Find a team by its name
      * @param name the name of the team to find
@@ -26,10 +43,96 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      */
     boolean existsByNameAndIdNot(String name, Long id);
 
+    /**
+     * Find the IDs of all teams
+     * Used to check the team references of imported rows without a query per row
+     * @return IDs of all teams
+     */
+    @Query("SELECT t.id FROM Team t")
+    List<Long> findAllIds();
+
     /**
      * Custom query to find all teams
-     * @return List of all teams in the database
+     * @return List of all teams in the database, read-only
      */
+    @ReadOnlyQuery
     @Query("SELECT t FROM Team t")
     List<Team> findAllTeams();
+
+    /**
+     * Projection query to find all teams as response objects
+     * Reads only the response columns, so no team entities are loaded or managed
+     * @return List of all teams as response objects, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.TeamInformationResponse(" +
+            "t.id, t.name, t.country, t.balance, t.commissionRate) FROM Team t ORDER BY t.id")
+    List<TeamInformationResponse> findAllTeamResponses();
+
+    /**
+     * Keyset projection query to find the next page of teams ordered by ID
+     * Seeks on the primary key, so the cost does not grow with the page depth
+     * @param after ID of the last team of the previous page, teams with greater IDs are returned
+     * @param limit maximum number of teams to return
+     * @return List of teams with ID greater than the cursor as response objects, ordered by ID
+     */
+    @ReadOnlyQuery
+    @Query("SELECT new org.example.manager.dto.response.TeamInformationResponse(" +
+            "t.id, t.name, t.country, t.balance, t.commissionRate) FROM Team t WHERE t.id > :after ORDER BY t.id")
+    List<TeamInformationResponse> findTeamResponsesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Projection query streaming all teams from a server-side cursor
+     * Rows are fetched from the database in chunks of the fetch size while the stream is consumed,
+     * so it must be consumed and closed inside a transaction
+     * @return Stream of all teams as response objects, ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new org.example.manager.dto.response.TeamInformationResponse(" +
+            "t.id, t.name, t.country, t.balance, t.commissionRate) FROM Team t ORDER BY t.id")
+    Stream<TeamInformationResponse> streamAllTeamResponses();
+
+    /**
+     * Custom query to find and lock teams by their IDs
+     * Rows are locked for update in ascending ID order, so concurrent transfers cannot deadlock on them
+     * @param ids IDs of the teams to lock
+     * @return List of the locked teams, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids ORDER BY t.id")
+    List<Team> findAllForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Atomically withdraws money from a team if its balance covers the amount
+     * The balance check and the update happen in one statement, so concurrent withdrawals cannot overdraw the team
+     * The update increments the version, so the version of the team and its ETag change with the balance
+     * The query is native and synchronized with its own query space only, so Hibernate does not evict
+     * the whole team cache region, the caller evicts the updated team
+     * @param id the ID of the team to withdraw from
+     * @param amount the amount to withdraw
+     * @return number of updated rows, 0 if the team does not exist or its balance is too low
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE team SET balance = balance - :amount, version = version + 1 WHERE id = :id AND balance >= :amount",
+            nativeQuery = true)
+    int withdraw(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Atomically deposits money to a team
+     * The new balance is computed by the database, so concurrent deposits are never lost
+     * The update increments the version, so the version of the team and its ETag change with the balance
+     * Like the withdrawal it leaves the team cache region alone, the caller evicts the updated team
+     * @param id the ID of the team to deposit to
+     * @param amount the amount to deposit
+     * @return number of updated rows, 0 if the team does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE team SET balance = balance + :amount, version = version + 1 WHERE id = :id", nativeQuery = true)
+    int deposit(@Param("id") Long id, @Param("amount") BigDecimal amount);
 }
@@ -0,0 +1,37 @@
+package org.example.manager.repository;
+
+import org.example.manager.model.TransferLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Repository interface for TransferLedgerEntry entity
+ * Provides inserts and aggregate queries over the transfer ledger, entries are never updated
+ */
+public interface TransferLedgerRepository extends JpaRepository<TransferLedgerEntry, Long> {
+    /**
+     * Find the ID of the last ledger entry in which the team sold or bought a player
+     * @param teamId the ID of the team
+     * @return ID of the last entry of the team, 0 if there is none
+     */
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM TransferLedgerEntry e WHERE e.fromTeamId = :teamId OR e.toTeamId = :teamId")
+    long findLastIdByTeamId(@Param("teamId") Long teamId);
+
+    /**
+     * Sum the balance changes of a team over a tail of the ledger
+     * Sales add the fee and the commission, purchases subtract them.
+     * Both team indexes start with the team ID followed by the entry ID, so only the tail is read
+     * @param teamId the ID of the team
+     * @param afterId only entries with a greater ID are summed
+     * @param at only entries written at or before this time are summed
+     * @return the balance change of the team, 0 if there are no matching entries
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.fromTeamId = :teamId THEN e.fee + e.commission " +
+            "ELSE -(e.fee + e.commission) END), 0) FROM TransferLedgerEntry e " +
+            "WHERE (e.fromTeamId = :teamId OR e.toTeamId = :teamId) AND e.id > :afterId AND e.createdAt <= :at")
+    BigDecimal sumBalanceChange(@Param("teamId") Long teamId, @Param("afterId") Long afterId, @Param("at") Instant at);
+}
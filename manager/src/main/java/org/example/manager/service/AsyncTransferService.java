@@ -0,0 +1,24 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.response.TransferTicketResponse;
+
+/**
+ * Service interface for asynchronous player transfers
+ * Provides methods for queueing a transfer and polling its outcome by ticket
+ */
+public interface AsyncTransferService {
+    /**
+     * Queues a transfer of a player to a new team
+     * @param playerId the ID of the player to transfer
+     * @param newTeamId the ID of the team to transfer the player to
+     * @return the ticket of the queued transfer in PENDING state
+     */
+    TransferTicketResponse submitTransfer(Long playerId, Long newTeamId);
+
+    /**
+     * Retrieves the state of a queued transfer
+     * @param ticketId the ticket returned when the transfer was queued
+     * @return the ticket with the current state and the failure reason, if any
+     */
+    TransferTicketResponse getTransferStatus(String ticketId);
+}
@@ -0,0 +1,33 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.response.TeamBalanceResponse;
+import org.example.manager.model.TeamBalanceSnapshot;
+
+import java.time.Instant;
+
+/**
+ * Service interface for team balance snapshots
+ * Balances at any point in time are rebuilt from the last snapshot before it plus the transfer ledger tail
+ */
+public interface BalanceSnapshotService {
+    /**
+     * Takes a snapshot of the current balance of a team
+     * @param teamId the ID of the team
+     * @return the saved snapshot
+     */
+    TeamBalanceSnapshot snapshotTeam(Long teamId);
+
+    /**
+     * Takes a snapshot of every team whose balance changed since its last snapshot
+     * @return number of snapshots taken
+     */
+    int snapshotChangedTeams();
+
+    /**
+     * Rebuilds the balance of a team at a point in time
+     * @param teamId the ID of the team
+     * @param at the point in time
+     * @return the balance of the team at that time
+     */
+    TeamBalanceResponse getBalanceAt(Long teamId, Instant at);
+}
@@ -0,0 +1,64 @@
+package org.example.manager.service;
+
+/**
+ * Service interface for the ETags of team and player reads
+ * A tag is built from a per-resource generation counter, bumped after every committed change of the resource,
+ * and for single entities from the version columns of the entities in the response.
+ * Every response format gets its own tags, the encodings of one resource are different representations.
+ * Requests whose tag carries the current generation are answered before any database query
+ */
+public interface EntityTagService {
+    /**
+     * Resources with their own generation counter
+     */
+    enum Resource {
+        TEAM, PLAYER
+    }
+
+    /**
+     * Reads the current generation of a resource
+     * Must be read before the data it tags, so a change committed in between makes the tag outdated rather than stale
+     * @param resource the tagged resource
+     * @return the current generation
+     */
+    long currentGeneration(Resource resource);
+
+    /**
+     * Builds the tag of a list of a resource
+     * @param resource the listed resource
+     * @param format the format the list is written in
+     * @param generation the generation read before the list was loaded
+     * @return strong ETag, quoted
+     */
+    String listTag(Resource resource, ResponseFormat format, long generation);
+
+    /**
+     * Builds the tag of a single entity
+     * @param resource the resource of the entity
+     * @param format the format the entity is written in
+     * @param generation the generation read before the entity was loaded
+     * @param versions versions of the entity and of the entities embedded in its response
+     * @return strong ETag, quoted
+     */
+    String entityTag(Resource resource, ResponseFormat format, long generation, long... versions);
+
+    /**
+     * Finds a tag of the If-None-Match header that carries the current generation
+     * Nothing of the resource changed since such a tag was issued, so it still matches without loading anything
+     * @param ifNoneMatch value of the If-None-Match header, may be null
+     * @param resource the requested resource
+     * @param format the format the response would be written in
+     * @param generation the current generation
+     * @return the matching tag, quoted, or null if none matches
+     */
+    String findCurrentTag(String ifNoneMatch, Resource resource, ResponseFormat format, long generation);
+
+    /**
+     * Checks whether the If-None-Match header holds a tag with the same entity versions and format as the given tag
+     * Used once the entity is loaded, when the generation changed because of other entities of the resource
+     * @param ifNoneMatch value of the If-None-Match header, may be null
+     * @param entityTag the tag of the loaded entity
+     * @return true if the client representation is still current
+     */
+    boolean matchesVersions(String ifNoneMatch, String entityTag);
+}
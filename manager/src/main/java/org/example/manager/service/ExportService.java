@@ -0,0 +1,26 @@
+package org.example.manager.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting the whole player and team tables
+ * Rows are streamed from a database cursor straight to the output, so memory use does not depend on the table size
+ */
+public interface ExportService {
+    /**
+     * Writes every player to the output stream in the requested format
+     * @param format format of the exported rows
+     * @param out stream to write the rows to, it is flushed but not closed
+     * @throws IOException if writing to the output stream fails
+     */
+    void exportPlayers(ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Writes every team to the output stream in the requested format
+     * @param format format of the exported rows
+     * @param out stream to write the rows to, it is flushed but not closed
+     * @throws IOException if writing to the output stream fails
+     */
+    void exportTeams(ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,39 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the team balance and player transfer value leaderboards
+ * Leaderboards are served from memory and kept up to date from the change events, without database queries
+ */
+public interface LeaderboardService {
+    /**
+     * Finds the teams with the highest balances
+     * @param top maximum number of teams to return
+     * @return the richest teams, in rank order
+     */
+    List<LeaderboardEntryResponse> topTeams(int top);
+
+    /**
+     * Finds the leaderboard position of a team
+     * @param teamId the ID of the team
+     * @return the team with its rank by balance
+     */
+    LeaderboardEntryResponse teamRank(Long teamId);
+
+    /**
+     * Finds the players with the highest transfer values
+     * @param top maximum number of players to return
+     * @return the most valuable players, in rank order
+     */
+    List<LeaderboardEntryResponse> topPlayers(int top);
+
+    /**
+     * Finds the leaderboard position of a player
+     * @param playerId the ID of the player
+     * @return the player with its rank by transfer value
+     */
+    LeaderboardEntryResponse playerRank(Long playerId);
+}
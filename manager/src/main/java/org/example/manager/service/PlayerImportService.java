@@ -0,0 +1,21 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.response.PlayerImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for importing players in bulk
+ * Rows are parsed from the upload as it arrives and inserted in large batches instead of one insert per player
+ */
+public interface PlayerImportService {
+    /**
+     * Imports every valid row of the upload, invalid rows are skipped and reported
+     * @param format format of the uploaded rows
+     * @param in stream of the upload, it is read to the end but not closed
+     * @return number of imported and rejected rows with the reasons of the rejected rows
+     * @throws IOException if reading the upload fails
+     */
+    PlayerImportResponse importPlayers(ExportFormat format, InputStream in) throws IOException;
+}
@@ -1,6 +1,9 @@
 package org.example.manager.service;
 
 import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.response.PageResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
 import org.example.manager.model.Player;
 
 import java.util.List;
@@ -39,8 +42,23 @@ public interface PlayerService {
     void deletePlayer(Long playerId);
 
     /**
-     * Retrieves all players
-     * @return a list of all Player entities
+     * Retrieves all players as response objects built by a single projection query
+     * @return a list of all players as response objects
      */
-    List<Player> getAllPlayers();
+    List<PlayerInformationResponse> getAllPlayers();
+
+    /**
+     * Retrieves one page of players using keyset pagination on the player ID
+     * @param after ID of the last player of the previous page, null to start from the beginning
+     * @param limit maximum number of players to return
+     * @return a list of players with ID greater than the cursor as response objects, ordered by ID
+     */
+    List<PlayerInformationResponse> getPlayersPage(Long after, int limit);
+
+    /**
+     * Searches players by optional filters with server-side sorting and offset pagination
+     * @param request search filters, sort order and page
+     * @return one page of the matching players as response objects
+     */
+    PageResponse<PlayerInformationResponse> searchPlayers(PlayerSearchRequest request);
 }
@@ -0,0 +1,71 @@
+package org.example.manager.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Formats the team and player responses can be written in, selected by the Accept header
+ * JSON stays the default, Smile and CBOR are binary encodings of the same documents for batch consumers
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "s"),
+    CBOR(MediaType.APPLICATION_CBOR, "c");
+
+    private final MediaType mediaType;
+    private final String tagVariant;
+
+    ResponseFormat(MediaType mediaType, String tagVariant) {
+        this.mediaType = mediaType;
+        this.tagVariant = tagVariant;
+    }
+
+    /**
+     * Returns the media type written to the Content-Type header for this format
+     * @return media type of the format
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the code distinguishing the ETags of this format from the ETags of the other formats
+     * @return variant code, empty for JSON
+     */
+    public String getTagVariant() {
+        return tagVariant;
+    }
+
+    /**
+     * Returns the media types of all formats, in order of preference
+     * @return supported media types
+     */
+    public static List<MediaType> mediaTypes() {
+        return Arrays.stream(values()).map(ResponseFormat::getMediaType).toList();
+    }
+
+    /**
+     * Resolves the format from the Accept header
+     * Accepted types are tried from the most specific and highest quality one, wildcards resolve to JSON
+     * @param accept value of the Accept header, may be null
+     * @return the selected format, JSON without an Accept header
+     * @throws HttpMediaTypeNotAcceptableException if no format is acceptable
+     * @throws org.springframework.http.InvalidMediaTypeException if the header cannot be parsed
+     */
+    public static ResponseFormat fromAccept(String accept) throws HttpMediaTypeNotAcceptableException {
+        if(accept == null || accept.isBlank()) return JSON;
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for(MediaType type : accepted) {
+            if(type.getQualityValue() == 0) continue;
+            for(ResponseFormat format : values()) {
+                if(type.isCompatibleWith(format.mediaType)) return format;
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(mediaTypes());
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.manager.service;
+
+/**
+ * Outcome of one simulated transfer
+ * Failures carry the message of the exception the same transfer would fail with in TransferService
+ */
+public enum SimulatedTransferOutcome {
+    SUCCESS(null),
+    /**
+     * EntityNotFoundException for the player
+     */
+    PLAYER_NOT_FOUND("Player with this id not found"),
+    /**
+     * EntityNotFoundException for the new team
+     */
+    TEAM_NOT_FOUND("Team with this id not found"),
+    /**
+     * WrongTeamException
+     */
+    WRONG_TEAM("Player already in the team"),
+    /**
+     * LowBalanceException
+     */
+    LOW_BALANCE("New team does not have enough money");
+
+    private final String message;
+
+    SimulatedTransferOutcome(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Returns the message of the exception the transfer fails with
+     * @return failure reason, null for a successful transfer
+     */
+    public String getMessage() {
+        return message;
+    }
+}
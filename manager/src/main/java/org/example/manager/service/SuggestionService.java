@@ -0,0 +1,19 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for player and team name autocomplete
+ * Suggestions are served from an in-memory prefix index, without database queries
+ */
+public interface SuggestionService {
+    /**
+     * Finds players and teams with a name word starting with the query
+     * @param query prefix typed by the user, matched case and accent insensitively
+     * @param limit maximum number of suggestions to return
+     * @return matching players and teams, ordered by the matched name
+     */
+    List<SuggestionResponse> suggest(String query, int limit);
+}
@@ -1,6 +1,9 @@
 package org.example.manager.service;
 
 import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
 import org.example.manager.model.Team;
 
 import java.util.List;
@@ -39,8 +42,33 @@ public interface TeamService {
     void deleteTeam(Long id);
 
     /**
-     * Retrieves all teams
-     * @return a list of all Team entities
+     * Retrieves all teams as response objects built by a single projection query
+     * @return a list of all teams as response objects
      */
-    List<Team> getAllTeams();
+    List<TeamInformationResponse> getAllTeams();
+
+    /**
+     * Retrieves one page of teams using keyset pagination on the team ID
+     * @param after ID of the last team of the previous page, null to start from the beginning
+     * @param limit maximum number of teams to return
+     * @return a list of teams with ID greater than the cursor as response objects, ordered by ID
+     */
+    List<TeamInformationResponse> getTeamsPage(Long after, int limit);
+
+    /**
+     * Retrieves one page of the players of a team using keyset pagination on the player ID
+     * @param id the ID of the team
+     * @param after ID of the last player of the previous page, null to start from the beginning
+     * @param limit maximum number of players to return
+     * @return a list of the team's players with ID greater than the cursor as response objects, ordered by ID
+     */
+    List<PlayerInformationResponse> getTeamPlayersPage(Long id, Long after, int limit);
+
+    /**
+     * Retrieves the most expensive players of other teams the team can afford, commission of the selling team included
+     * @param id the ID of the buying team
+     * @param limit maximum number of players to return
+     * @return a list of affordable players as response objects, ordered by transfer value descending
+     */
+    List<AffordablePlayerResponse> getAffordablePlayers(Long id, int limit);
 }
@@ -0,0 +1,39 @@
+package org.example.manager.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fee math of player transfers
+ * Pure functions over the transfer inputs, kept apart from the transfer service so they can be reused and benchmarked
+ */
+public final class TransferFeeCalculator {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private TransferFeeCalculator() {
+    }
+
+    /**
+     * Calculates the transfer amount for a player based on their experience and age
+     * Formula: (months of experience * 100,000) / age
+     * @param monthsOfExperience player's experience in months
+     * @param age player's age in years
+     * @return the calculated transfer amount with 2 decimal places, rounded HALF_UP
+     */
+    public static BigDecimal transferAmount(int monthsOfExperience, int age) {
+        return BigDecimal.valueOf(monthsOfExperience * 100_000L)
+                .divide(BigDecimal.valueOf(age), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calculates the commission of the selling team for a transfer
+     * Formula: (transfer amount * commission rate) / 100
+     * @param transferAmount the base transfer amount
+     * @param commissionRate commission rate of the selling team in percent
+     * @return the calculated commission with 2 decimal places, rounded HALF_UP
+     */
+    public static BigDecimal commission(BigDecimal transferAmount, double commissionRate) {
+        return transferAmount.multiply(BigDecimal.valueOf(commissionRate))
+                .divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,14 +1,29 @@
 package org.example.manager.service;
 
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.model.Player;
+
+import java.util.List;
+
 /**
  * Service interface for player transfer operations
- * Provides method for transferring players between teams
+ * Provides methods for transferring players between teams
  */
 public interface TransferService {
     /**
      * Transfers a player from their current team to a new team
      * @param playerId the ID of the player to transfer
      * @param newTeamId the ID of the team to transfer the player to
+     * @return the transferred player with the new team, read within the transfer transaction
+     */
+    Player transferPlayer(Long playerId, Long newTeamId);
+
+    /**
+     * Transfers a batch of players in one transaction
+     * Every transfer is validated on its own, failed transfers are reported and do not affect the others
+     * @param requests the transfers to perform, applied in the given order
+     * @return the outcome of every transfer, in request order
      */
-    void transferPlayer(Long playerId, Long newTeamId);
+    List<TransferResultResponse> transferPlayers(List<TransferRequest> requests);
 }
@@ -0,0 +1,19 @@
+package org.example.manager.service;
+
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferSimulationResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for simulating transfers without changing the database
+ * Defines the contract for replaying hypothetical transfers over a snapshot of the teams and players
+ */
+public interface TransferSimulationService {
+    /**
+     * Applies the transfers in the given order to an in-memory snapshot of the current teams and players
+     * @param requests the transfers to simulate
+     * @return the final balances of the teams involved and the failure of every failed transfer
+     */
+    TransferSimulationResponse simulate(List<TransferRequest> requests);
+}
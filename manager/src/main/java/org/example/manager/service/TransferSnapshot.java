@@ -0,0 +1,290 @@
+package org.example.manager.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Immutable columnar snapshot of the teams and players, used to simulate transfers in memory
+ * Teams and players are stored in primitive arrays sorted by ID: balances in cents, ages and experience as ints,
+ * and the team of every player as an index into the team arrays. Age and experience only decide the transfer amount,
+ * which is computed once per player. Fees follow TransferFeeCalculator exactly, computed with long arithmetic
+ * and HALF_UP rounding to cents instead of BigDecimal.
+ * Kept apart from the simulation service so it can be reused and benchmarked
+ */
+public final class TransferSnapshot {
+    // unscaled commission rates up to this scale keep transfer amount * rate within a long
+    private static final int MAX_EXACT_RATE_SCALE = 8;
+    // IDs spanning at most this many slots per row are looked up in a direct table instead of a binary search
+    private static final int MAX_SLOTS_PER_ID = 2;
+
+    private final long[] teamIds;
+    private final int[] teamSlots;
+    private final long[] balances;
+    private final double[] commissionRates;
+    private final long[] commissionNumerators;
+    private final long[] commissionDivisors;
+    private final long[] playerIds;
+    private final int[] playerSlots;
+    private final int[] playerTeams;
+    private final long[] transferAmounts;
+
+    /**
+     * Creates a snapshot from the columns of the team and player tables
+     * Arrays are used as given, the caller must not change them afterwards
+     * @param teamIds IDs of the teams in ascending order
+     * @param balances balances of the teams in cents
+     * @param commissionRates commission rates of the teams in percent
+     * @param playerIds IDs of the players in ascending order
+     * @param ages ages of the players
+     * @param monthsOfExperience experience of the players in months
+     * @param playerTeamIds IDs of the teams of the players
+     * @throws IllegalArgumentException if the columns differ in length, the IDs are not ascending
+     * or a player references an unknown team
+     */
+    public TransferSnapshot(long[] teamIds, long[] balances, double[] commissionRates,
+                            long[] playerIds, int[] ages, int[] monthsOfExperience, long[] playerTeamIds) {
+        if(balances.length != teamIds.length || commissionRates.length != teamIds.length) {
+            throw new IllegalArgumentException("Team columns must have the same length");
+        }
+        if(ages.length != playerIds.length || monthsOfExperience.length != playerIds.length
+                || playerTeamIds.length != playerIds.length) {
+            throw new IllegalArgumentException("Player columns must have the same length");
+        }
+        checkAscending(teamIds, "Team");
+        checkAscending(playerIds, "Player");
+        this.teamIds = teamIds;
+        this.teamSlots = slots(teamIds);
+        this.balances = balances;
+        this.commissionRates = commissionRates;
+        this.commissionNumerators = new long[teamIds.length];
+        this.commissionDivisors = new long[teamIds.length];
+        for(int team = 0; team < teamIds.length; team++) {
+            BigDecimal rate = BigDecimal.valueOf(commissionRates[team]).stripTrailingZeros();
+            if(rate.scale() < 0) rate = rate.setScale(0);
+            // a divisor of 0 marks a rate with too many decimals, its commission is computed with BigDecimal
+            if(rate.scale() <= MAX_EXACT_RATE_SCALE) {
+                commissionNumerators[team] = rate.unscaledValue().longValueExact();
+                commissionDivisors[team] = 100 * BigDecimal.TEN.pow(rate.scale()).longValueExact();
+            }
+        }
+        this.playerIds = playerIds;
+        this.playerSlots = slots(playerIds);
+        this.playerTeams = new int[playerIds.length];
+        this.transferAmounts = new long[playerIds.length];
+        for(int player = 0; player < playerIds.length; player++) {
+            int team = indexOf(teamIds, teamSlots, playerTeamIds[player]);
+            if(team < 0) {
+                throw new IllegalArgumentException("Player " + playerIds[player] + " belongs to unknown team " + playerTeamIds[player]);
+            }
+            playerTeams[player] = team;
+            transferAmounts[player] = transferAmount(monthsOfExperience[player], ages[player]);
+        }
+    }
+
+    /**
+     * Applies the transfers in the given order to a copy of the snapshot balances and teams
+     * Every step is checked like TransferService.transferPlayer: the player and the new team must exist,
+     * the player must not already belong to the new team and the new team must afford the transfer amount
+     * plus the commission of the current team. Failed steps change nothing.
+     * @param transferPlayerIds IDs of the players to transfer, one per step
+     * @param transferTeamIds IDs of the teams to transfer the players to, one per step
+     * @return final balances and the outcome of every step
+     * @throws IllegalArgumentException if the two arrays differ in length
+     */
+    public Simulation simulate(long[] transferPlayerIds, long[] transferTeamIds) {
+        if(transferPlayerIds.length != transferTeamIds.length) {
+            throw new IllegalArgumentException("Every transfer needs a player and a team");
+        }
+        long[] finalBalances = balances.clone();
+        int[] teams = playerTeams.clone();
+        byte[] outcomes = new byte[transferPlayerIds.length];
+        boolean[] involved = new boolean[teamIds.length];
+        int succeeded = 0;
+        for(int step = 0; step < transferPlayerIds.length; step++) {
+            int player = indexOf(playerIds, playerSlots, transferPlayerIds[step]);
+            if(player < 0) {
+                outcomes[step] = (byte) SimulatedTransferOutcome.PLAYER_NOT_FOUND.ordinal();
+                continue;
+            }
+            int newTeam = indexOf(teamIds, teamSlots, transferTeamIds[step]);
+            if(newTeam < 0) {
+                outcomes[step] = (byte) SimulatedTransferOutcome.TEAM_NOT_FOUND.ordinal();
+                continue;
+            }
+            int oldTeam = teams[player];
+            if(oldTeam == newTeam) {
+                outcomes[step] = (byte) SimulatedTransferOutcome.WRONG_TEAM.ordinal();
+                continue;
+            }
+            long fullAmount = transferAmounts[player] + commission(transferAmounts[player], oldTeam);
+            if(finalBalances[newTeam] < fullAmount) {
+                outcomes[step] = (byte) SimulatedTransferOutcome.LOW_BALANCE.ordinal();
+                continue;
+            }
+            finalBalances[newTeam] -= fullAmount;
+            finalBalances[oldTeam] += fullAmount;
+            teams[player] = newTeam;
+            involved[newTeam] = true;
+            involved[oldTeam] = true;
+            succeeded++;
+        }
+        return new Simulation(finalBalances, involved, outcomes, succeeded);
+    }
+
+    /**
+     * Returns the number of teams, team indexes range from 0 to this count
+     * @return number of teams in the snapshot
+     */
+    public int teamCount() {
+        return teamIds.length;
+    }
+
+    /**
+     * Returns the number of players
+     * @return number of players in the snapshot
+     */
+    public int playerCount() {
+        return playerIds.length;
+    }
+
+    /**
+     * Returns the ID of a team
+     * @param team index of the team, between 0 and the team count
+     * @return ID of the team
+     */
+    public long teamId(int team) {
+        return teamIds[team];
+    }
+
+    /**
+     * Returns the balance of a team when the snapshot was taken
+     * @param team index of the team, between 0 and the team count
+     * @return balance of the team in cents
+     */
+    public long balance(int team) {
+        return balances[team];
+    }
+
+    /**
+     * Calculates the transfer amount in cents, same value as TransferFeeCalculator.transferAmount
+     * @param monthsOfExperience player's experience in months
+     * @param age player's age in years
+     * @return (months of experience * 100,000) / age in cents, rounded HALF_UP
+     */
+    static long transferAmount(int monthsOfExperience, int age) {
+        return divideHalfUp(monthsOfExperience * 10_000_000L, age);
+    }
+
+    /**
+     * Calculates the commission in cents, same value as TransferFeeCalculator.commission
+     * @param transferAmount transfer amount in cents
+     * @param team index of the selling team
+     * @return (transfer amount * commission rate) / 100 in cents, rounded HALF_UP
+     */
+    long commission(long transferAmount, int team) {
+        long divisor = commissionDivisors[team];
+        if(divisor == 0) {
+            return TransferFeeCalculator.commission(BigDecimal.valueOf(transferAmount, 2), commissionRates[team])
+                    .unscaledValue().longValueExact();
+        }
+        return divideHalfUp(transferAmount * commissionNumerators[team], divisor);
+    }
+
+    /**
+     * Builds the direct lookup table of densely generated IDs
+     * Slot i holds the index of the ID first ID + i, or -1 for a gap left by deleted rows
+     * @param ids IDs in ascending order
+     * @return lookup table, null if the IDs are too sparse for a table
+     */
+    private static int[] slots(long[] ids) {
+        if(ids.length == 0) return new int[0];
+        long span = ids[ids.length - 1] - ids[0] + 1;
+        if(span > (long) ids.length * MAX_SLOTS_PER_ID || span > Integer.MAX_VALUE) return null;
+        int[] slots = new int[(int) span];
+        Arrays.fill(slots, -1);
+        for(int i = 0; i < ids.length; i++) {
+            slots[(int) (ids[i] - ids[0])] = i;
+        }
+        return slots;
+    }
+
+    private static int indexOf(long[] ids, int[] slots, long id) {
+        if(slots == null) {
+            int index = Arrays.binarySearch(ids, id);
+            return index < 0 ? -1 : index;
+        }
+        long slot = id - (ids.length == 0 ? 0 : ids[0]);
+        return slot >= 0 && slot < slots.length ? slots[(int) slot] : -1;
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        return (dividend - quotient * divisor) * 2 >= divisor ? quotient + 1 : quotient;
+    }
+
+    private static void checkAscending(long[] ids, String entity) {
+        for(int i = 1; i < ids.length; i++) {
+            if(ids[i] <= ids[i - 1]) throw new IllegalArgumentException(entity + " IDs must be ascending");
+        }
+    }
+
+    /**
+     * Result of a simulation: balances after the last step and the outcome of every step
+     */
+    public static final class Simulation {
+        private final long[] balances;
+        private final boolean[] involved;
+        private final byte[] outcomes;
+        private final int succeeded;
+
+        private Simulation(long[] balances, boolean[] involved, byte[] outcomes, int succeeded) {
+            this.balances = balances;
+            this.involved = involved;
+            this.outcomes = outcomes;
+            this.succeeded = succeeded;
+        }
+
+        /**
+         * Returns the balance of a team after the last step
+         * @param team index of the team in the snapshot
+         * @return balance of the team in cents
+         */
+        public long balance(int team) {
+            return balances[team];
+        }
+
+        /**
+         * Returns whether a team bought or sold a player in a successful step
+         * @param team index of the team in the snapshot
+         * @return true if the balance of the team was changed by a step
+         */
+        public boolean involved(int team) {
+            return involved[team];
+        }
+
+        /**
+         * Returns the outcome of a step
+         * @param step index of the step in the submitted order
+         * @return outcome of the step
+         */
+        public SimulatedTransferOutcome outcome(int step) {
+            return SimulatedTransferOutcome.values()[outcomes[step]];
+        }
+
+        /**
+         * Returns the number of simulated steps
+         * @return number of steps
+         */
+        public int steps() {
+            return outcomes.length;
+        }
+
+        /**
+         * Returns the number of steps that transferred the player
+         * @return number of successful steps
+         */
+        public int succeeded() {
+            return succeeded;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.example.manager.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.dto.response.TransferTicketResponse;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.TransferQueueFullException;
+import org.example.manager.service.AsyncTransferService;
+import org.example.manager.service.TransferService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of AsyncTransferService interface
+ * Queues transfers in memory, partitioned by the ID of the buying team. Every partition has a single writer thread
+ * that drains its queue in order and applies up to a batch of transfers per transaction through
+ * {@link TransferService#transferPlayers}, so transfers into the same team never contend with each other for row locks
+ * and bursts of requests become a steady stream of batched commits. A batch failing twice is applied one transfer
+ * at a time, so an infrastructure failure caused by one transfer does not fail the others.
+ * Only the buying side is serialized: the selling team is known only after the player row is read, so transfers
+ * out of the same team into teams of different partitions still run concurrently and contend for the row lock
+ * of the selling team. transferPlayers locks teams in ascending ID order, so they wait for each other but never deadlock.
+ * Tickets live in memory only, they are lost on restart.
+ */
+@Service
+public class AsyncTransferServiceImpl implements AsyncTransferService {
+    private final TransferService transferService;
+    private final int batchSize;
+    private final int retainedTickets;
+    private final List<BlockingQueue<TransferTicket>> partitions;
+    private final List<Thread> writers;
+    private final Map<String, TransferTicket> tickets = new ConcurrentHashMap<>();
+    private final Queue<String> finishedTickets = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final int BATCH_ATTEMPTS = 2;
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTransferServiceImpl.class);
+
+    /**
+     * Constructor for AsyncTransferServiceImpl
+     * @param transferService service applying the batches of transfers
+     * @param partitionCount number of partitions, each one with its own queue and writer thread
+     * @param queueCapacity maximum number of pending transfers per partition
+     * @param batchSize maximum number of transfers applied in one transaction
+     * @param retainedTickets number of finished tickets kept for status queries before the oldest are evicted
+     */
+    public AsyncTransferServiceImpl(TransferService transferService,
+                                    @Value("${manager.transfer.async.partitions:4}") int partitionCount,
+                                    @Value("${manager.transfer.async.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${manager.transfer.async.batch-size:100}") int batchSize,
+                                    @Value("${manager.transfer.async.retained-tickets:100000}") int retainedTickets) {
+        this.transferService = transferService;
+        this.batchSize = batchSize;
+        this.retainedTickets = retainedTickets;
+        this.partitions = new ArrayList<>(partitionCount);
+        this.writers = new ArrayList<>(partitionCount);
+        for(int i = 0; i < partitionCount; i++) {
+            BlockingQueue<TransferTicket> queue = new ArrayBlockingQueue<>(queueCapacity);
+            partitions.add(queue);
+            Thread writer = new Thread(() -> runWriter(queue), "transfer-writer-" + i);
+            writer.setDaemon(true);
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Starts the writer thread of every partition
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        writers.forEach(Thread::start);
+        logger.info("Started {} asynchronous transfer writers", writers.size());
+    }
+
+    /**
+     * Stops accepting transfers and waits for the writers to apply the transfers that are already queued
+     * @throws InterruptedException if interrupted while waiting for the writers
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for(Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        logger.info("Stopped asynchronous transfer writers");
+    }
+
+    /**
+     * Queues a transfer of a player to a new team
+     * @param playerId the ID of the player to transfer
+     * @param newTeamId the ID of the team to transfer the player to
+     * @return the ticket of the queued transfer in PENDING state
+     * @throws NullableRequestException if the player or team ID is null
+     * @throws TransferQueueFullException if the partition of the new team is full or the service is stopping
+     */
+    @Override
+    public TransferTicketResponse submitTransfer(Long playerId, Long newTeamId) {
+        logger.info("Queueing transfer of player with ID: {} to team with ID: {}", playerId, newTeamId);
+        if(playerId == null || newTeamId == null) {
+            logger.error("Player ID and team ID are required");
+            throw new NullableRequestException("Player ID and team ID are required");
+        }
+        TransferTicket ticket = new TransferTicket(UUID.randomUUID().toString(), playerId, newTeamId);
+        // taken before queueing, the writer may finish the ticket before this method returns
+        TransferTicketResponse pending = ticket.toResponse();
+        tickets.put(ticket.id, ticket);
+        if(!running || !partitions.get(partitionOf(newTeamId)).offer(ticket)) {
+            tickets.remove(ticket.id);
+            logger.error("Transfer queue is full for team with ID: {}", newTeamId);
+            throw new TransferQueueFullException("Transfer queue is full, retry later");
+        }
+        logger.info("Successfully queued transfer with ticket: {}", ticket.id);
+        return pending;
+    }
+
+    /**
+     * Retrieves the state of a queued transfer
+     * @param ticketId the ticket returned when the transfer was queued
+     * @return the ticket with the current state and the failure reason, if any
+     * @throws EntityNotFoundException if the ticket is unknown or was already evicted
+     */
+    @Override
+    public TransferTicketResponse getTransferStatus(String ticketId) {
+        logger.debug("Fetching status of transfer ticket: {}", ticketId);
+        TransferTicket ticket = tickets.get(ticketId);
+        if(ticket == null) {
+            logger.error("Transfer ticket not found: {}", ticketId);
+            throw new EntityNotFoundException("Transfer ticket " + ticketId + " not found");
+        }
+        return ticket.toResponse();
+    }
+
+    /**
+     * Selects the partition of a transfer by the ID of the buying team
+     * The selling team does not take part, it is unknown until the transfer reads the player
+     * @param newTeamId the ID of the buying team
+     * @return index of the partition
+     */
+    private int partitionOf(Long newTeamId) {
+        return Math.floorMod(newTeamId.hashCode(), partitions.size());
+    }
+
+    /**
+     * Writer loop of one partition, drains the queue in order and applies the transfers in batches
+     * Keeps running after stop until the queue is empty
+     * @param queue queue of the partition
+     */
+    private void runWriter(BlockingQueue<TransferTicket> queue) {
+        List<TransferTicket> batch = new ArrayList<>(batchSize);
+        while(running || !queue.isEmpty()) {
+            try {
+                TransferTicket first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if(first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                logger.warn("Transfer writer interrupted with {} pending transfers", queue.size());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of queued transfers in one transaction and records the outcome of every ticket
+     * transferPlayers reports business failures per transfer, so an exception is an infrastructure failure
+     * like a lock or connection timeout. The batch is retried once, then its transfers are applied one at a time,
+     * so only the transfers that keep failing are marked as failed
+     * @param batch tickets to apply, in queue order
+     */
+    private void applyBatch(List<TransferTicket> batch) {
+        logger.debug("Applying batch of {} queued transfers", batch.size());
+        List<TransferRequest> requests = batch.stream()
+                .map(ticket -> new TransferRequest(ticket.playerId, ticket.newTeamId))
+                .toList();
+        for(int attempt = 1; attempt <= BATCH_ATTEMPTS; attempt++) {
+            try {
+                List<TransferResultResponse> results = transferService.transferPlayers(requests);
+                for(int i = 0; i < batch.size(); i++) {
+                    TransferResultResponse result = results.get(i);
+                    finish(batch.get(i), result.isSuccess(), result.getError());
+                }
+                return;
+            } catch (RuntimeException ex) {
+                logger.warn("Batch of {} queued transfers failed, attempt {} of {}", batch.size(), attempt, BATCH_ATTEMPTS, ex);
+            }
+        }
+        batch.forEach(this::applySingle);
+    }
+
+    /**
+     * Applies one queued transfer in its own transaction and records its outcome
+     * @param ticket ticket to apply
+     */
+    private void applySingle(TransferTicket ticket) {
+        try {
+            transferService.transferPlayer(ticket.playerId, ticket.newTeamId);
+            finish(ticket, true, null);
+        } catch (RuntimeException ex) {
+            logger.error("Queued transfer with ticket: {} failed", ticket.id, ex);
+            finish(ticket, false, ex.getMessage());
+        }
+    }
+
+    /**
+     * Records the outcome of a ticket and evicts the oldest finished tickets above the retention limit
+     * @param ticket the finished ticket
+     * @param success whether the transfer was applied
+     * @param error failure reason of a failed transfer
+     */
+    private void finish(TransferTicket ticket, boolean success, String error) {
+        ticket.error = error;
+        ticket.status = success ? TransferTicketResponse.Status.COMPLETED : TransferTicketResponse.Status.FAILED;
+        finishedTickets.add(ticket.id);
+        while(tickets.size() > retainedTickets) {
+            String evicted = finishedTickets.poll();
+            if(evicted == null) break;
+            tickets.remove(evicted);
+        }
+    }
+
+    /**
+     * Queued transfer with its mutable processing state
+     */
+    private static final class TransferTicket {
+        private final String id;
+        private final Long playerId;
+        private final Long newTeamId;
+        private volatile TransferTicketResponse.Status status = TransferTicketResponse.Status.PENDING;
+        private volatile String error;
+
+        private TransferTicket(String id, Long playerId, Long newTeamId) {
+            this.id = id;
+            this.playerId = playerId;
+            this.newTeamId = newTeamId;
+        }
+
+        private TransferTicketResponse toResponse() {
+            // status is written after error by the writer, so reading it first never pairs a final status with a stale error
+            TransferTicketResponse.Status currentStatus = status;
+            return new TransferTicketResponse(id, playerId, newTeamId, currentStatus, error);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.manager.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.TeamBalanceResponse;
+import org.example.manager.model.Team;
+import org.example.manager.model.TeamBalanceSnapshot;
+import org.example.manager.repository.TeamBalanceSnapshotRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
+import org.example.manager.service.BalanceSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of BalanceSnapshotService interface
+ * Snapshots are taken while the team row is locked, so no transfer of the team can commit between
+ * reading the balance and reading the position of the last ledger entry of the team
+ */
+@Service
+public class BalanceSnapshotServiceImpl implements BalanceSnapshotService {
+    private final TeamRepository teamRepository;
+    private final TransferLedgerRepository transferLedgerRepository;
+    private final TeamBalanceSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotServiceImpl.class);
+
+    /**
+     * Constructor for BalanceSnapshotServiceImpl
+     * @param teamRepository repository for team data access
+     * @param transferLedgerRepository repository for the transfer ledger
+     * @param snapshotRepository repository for the balance snapshots
+     * @param transactionManager transaction manager used to snapshot every team in its own transaction
+     */
+    public BalanceSnapshotServiceImpl(TeamRepository teamRepository, TransferLedgerRepository transferLedgerRepository,
+                                      TeamBalanceSnapshotRepository snapshotRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.teamRepository = teamRepository;
+        this.transferLedgerRepository = transferLedgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Takes a snapshot of the current balance of a team
+     * Joins the transaction of the caller, so a balance changed by the caller is snapshotted before it commits
+     * @param teamId the ID of the team
+     * @return the saved snapshot
+     * @throws EntityNotFoundException if the team with the provided ID is not found
+     */
+    @Transactional
+    @Override
+    public TeamBalanceSnapshot snapshotTeam(Long teamId) {
+        return takeSnapshot(teamId, false)
+                .orElseThrow(() -> {
+                    logger.error("Team with this id not found: {}", teamId);
+                    return new EntityNotFoundException("Team with this id not found");
+                });
+    }
+
+    /**
+     * Takes a snapshot of every team whose balance changed since its last snapshot
+     * Runs on a fixed delay, every team is snapshotted in its own short transaction so transfers
+     * wait on at most one locked team row at a time. A failed team is logged and retried on the next run
+     * @return number of snapshots taken
+     */
+    @Scheduled(fixedDelayString = "${manager.ledger.snapshot-interval}",
+            initialDelayString = "${manager.ledger.snapshot-interval}")
+    @Override
+    public int snapshotChangedTeams() {
+        List<Long> teamIds = teamRepository.findAllIds();
+        logger.info("Taking balance snapshots of {} teams", teamIds.size());
+        int taken = 0;
+        for(Long teamId : teamIds) {
+            try {
+                Boolean saved = transactionTemplate.execute(status -> takeSnapshot(teamId, true).isPresent());
+                if(Boolean.TRUE.equals(saved)) taken++;
+            } catch (RuntimeException ex) {
+                logger.warn("Balance snapshot of team with ID: {} failed: {}", teamId, ex.getMessage());
+            }
+        }
+        logger.info("Took {} balance snapshots", taken);
+        return taken;
+    }
+
+    /**
+     * Rebuilds the balance of a team at a point in time
+     * Reads the last snapshot not later than the given time and adds the ledger entries written after it
+     * @param teamId the ID of the team
+     * @param at the point in time
+     * @return the balance of the team at that time
+     * @throws EntityNotFoundException if the team has no snapshot taken at or before the given time
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public TeamBalanceResponse getBalanceAt(Long teamId, Instant at) {
+        logger.info("Rebuilding balance of team with ID: {} at {}", teamId, at);
+        TeamBalanceSnapshot snapshot = snapshotRepository
+                .findFirstByTeamIdAndTakenAtLessThanEqualOrderByTakenAtDescIdDesc(teamId, at)
+                .orElseThrow(() -> {
+                    logger.error("No balance snapshot of team with ID: {} at {}", teamId, at);
+                    return new EntityNotFoundException("No balance snapshot of the team found at this time");
+                });
+        BigDecimal change = transferLedgerRepository.sumBalanceChange(teamId, snapshot.getLastLedgerId(), at);
+        return new TeamBalanceResponse(teamId, at, snapshot.getBalance().add(change), snapshot.getTakenAt());
+    }
+
+    /**
+     * Locks the team row and saves a snapshot of its balance
+     * @param teamId the ID of the team
+     * @param skipUnchanged whether to skip the snapshot if balance and ledger position equal the last snapshot
+     * @return the saved snapshot, empty if the team does not exist or the snapshot was skipped
+     */
+    private Optional<TeamBalanceSnapshot> takeSnapshot(Long teamId, boolean skipUnchanged) {
+        List<Team> locked = teamRepository.findAllForUpdateByIdIn(List.of(teamId));
+        if(locked.isEmpty()) return Optional.empty();
+        BigDecimal balance = locked.get(0).getBalance();
+        long lastLedgerId = transferLedgerRepository.findLastIdByTeamId(teamId);
+
+        if(skipUnchanged) {
+            Optional<TeamBalanceSnapshot> last = snapshotRepository.findFirstByTeamIdOrderByIdDesc(teamId);
+            if(last.isPresent() && last.get().getLastLedgerId() == lastLedgerId
+                    && last.get().getBalance().compareTo(balance) == 0) {
+                return Optional.empty();
+            }
+        }
+        TeamBalanceSnapshot snapshot = snapshotRepository.save(new TeamBalanceSnapshot(teamId, balance, lastLedgerId));
+        logger.debug("Saved balance snapshot: {}", snapshot);
+        return Optional.of(snapshot);
+    }
+}
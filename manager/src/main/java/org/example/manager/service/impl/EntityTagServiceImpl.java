@@ -0,0 +1,159 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.service.EntityTagService;
+import org.example.manager.service.ResponseFormat;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of EntityTagService interface
+ * Tags have the form "epoch-generation" for lists and "epoch-generation-versions" for single entities,
+ * where the generation is preceded by the resource and format codes.
+ * The epoch is chosen at startup, so tags issued before a restart never match the restarted counters.
+ * Generations are bumped from the change events of teams, players, imports and transfers after their transactions commit;
+ * they are kept in the memory of this instance, so every write has to go through this instance.
+ * Player responses embed the team name, so team changes bump the player generation too
+ */
+@Service
+public class EntityTagServiceImpl implements EntityTagService {
+    private static final char SEPARATOR = '-';
+    private static final char VERSION_SEPARATOR = '.';
+    private static final String WEAK_PREFIX = "W/";
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(Character.MAX_RADIX * Character.MAX_RADIX), Character.MAX_RADIX);
+    private final Map<Resource, AtomicLong> generations = new EnumMap<>(Resource.class);
+
+    /**
+     * Constructor for EntityTagServiceImpl
+     */
+    public EntityTagServiceImpl() {
+        for(Resource resource : Resource.values()) {
+            generations.put(resource, new AtomicLong());
+        }
+    }
+
+    @Override
+    public long currentGeneration(Resource resource) {
+        return generations.get(resource).get();
+    }
+
+    @Override
+    public String listTag(Resource resource, ResponseFormat format, long generation) {
+        return quote(prefix(resource, format, generation));
+    }
+
+    @Override
+    public String entityTag(Resource resource, ResponseFormat format, long generation, long... versions) {
+        StringBuilder tag = new StringBuilder(prefix(resource, format, generation)).append(SEPARATOR);
+        for(int i = 0; i < versions.length; i++) {
+            if(i > 0) tag.append(VERSION_SEPARATOR);
+            tag.append(versions[i]);
+        }
+        return quote(tag.toString());
+    }
+
+    @Override
+    public String findCurrentTag(String ifNoneMatch, Resource resource, ResponseFormat format, long generation) {
+        if(ifNoneMatch == null) return null;
+        String prefix = prefix(resource, format, generation);
+        for(String tag : ifNoneMatch.split(",")) {
+            String value = unquote(tag);
+            if(value.equals(prefix) || value.startsWith(prefix + SEPARATOR)) return quote(value);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean matchesVersions(String ifNoneMatch, String entityTag) {
+        if(ifNoneMatch == null) return false;
+        String[] current = unquote(entityTag).split(String.valueOf(SEPARATOR), 3);
+        for(String tag : ifNoneMatch.split(",")) {
+            if(tag.trim().equals("*")) return true;
+            String[] parts = unquote(tag).split(String.valueOf(SEPARATOR), 3);
+            if(parts.length == 3 && parts[0].equals(current[0]) && parts[2].equals(current[2])
+                    && codes(parts[1]).equals(codes(current[1]))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bumps the team and player generations after a team was created, updated or deleted
+     * @param event the committed change of the team
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        bump(Resource.TEAM);
+        bump(Resource.PLAYER);
+    }
+
+    /**
+     * Bumps the player generation after a player was created, updated or deleted
+     * @param event the committed change of the player
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        bump(Resource.PLAYER);
+    }
+
+    /**
+     * Bumps the player generation after players were imported in bulk
+     * @param event the committed import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayersImported(PlayersImportedEvent event) {
+        bump(Resource.PLAYER);
+    }
+
+    /**
+     * Bumps the team and player generations after a transfer moved money and a player
+     * @param event the committed transfer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        bump(Resource.TEAM);
+        bump(Resource.PLAYER);
+    }
+
+    private void bump(Resource resource) {
+        generations.get(resource).incrementAndGet();
+    }
+
+    private String prefix(Resource resource, ResponseFormat format, long generation) {
+        return epoch + SEPARATOR + Character.toLowerCase(resource.name().charAt(0)) + format.getTagVariant() + generation;
+    }
+
+    /**
+     * Strips the generation from the middle part of a tag
+     * @param part resource and format codes followed by the generation
+     * @return the resource and format codes
+     */
+    private static String codes(String part) {
+        int end = 0;
+        while(end < part.length() && !Character.isDigit(part.charAt(end))) end++;
+        return part.substring(0, end);
+    }
+
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+
+    private static String unquote(String tag) {
+        String value = tag.trim();
+        if(value.startsWith(WEAK_PREFIX)) value = value.substring(WEAK_PREFIX.length());
+        if(value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
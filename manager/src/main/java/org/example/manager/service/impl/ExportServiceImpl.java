@@ -0,0 +1,162 @@
+package org.example.manager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.ExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ExportService interface
+ * Streams projection rows from a database cursor and writes them one line at a time
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+    private static final List<String> PLAYER_CSV_HEADER =
+            List.of("id", "first_name", "last_name", "age", "months_of_experience", "team_name");
+    private static final List<String> TEAM_CSV_HEADER =
+            List.of("id", "name", "country", "balance", "commission_rate");
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    /**
+     * Constructor for ExportServiceImpl
+     * @param playerRepository repository for player data access
+     * @param teamRepository repository for team data access
+     * @param objectMapper mapper used to write NDJSON rows with the same naming as the API responses
+     */
+    public ExportServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository,
+                             ObjectMapper objectMapper) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every player to the output stream in the requested format
+     * The transaction keeps the database cursor open while the rows are written
+     * @param format format of the exported rows
+     * @param out stream to write the rows to, it is flushed but not closed
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportPlayers(ExportFormat format, OutputStream out) throws IOException {
+        logger.info("Exporting players as {}", format);
+        try (Stream<PlayerInformationResponse> players = playerRepository.streamAllPlayerResponses()) {
+            long count = format == ExportFormat.CSV
+                    ? writeCsv(players.iterator(), PLAYER_CSV_HEADER, out, player -> Arrays.asList(
+                            player.getId(), player.getFirstName(), player.getLastName(), player.getAge(),
+                            player.getMonthsOfExperience(), player.getTeamName()))
+                    : writeNdjson(players.iterator(), out);
+            logger.info("Successfully exported {} players", count);
+        }
+    }
+
+    /**
+     * Writes every team to the output stream in the requested format
+     * The transaction keeps the database cursor open while the rows are written
+     * @param format format of the exported rows
+     * @param out stream to write the rows to, it is flushed but not closed
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportTeams(ExportFormat format, OutputStream out) throws IOException {
+        logger.info("Exporting teams as {}", format);
+        try (Stream<TeamInformationResponse> teams = teamRepository.streamAllTeamResponses()) {
+            long count = format == ExportFormat.CSV
+                    ? writeCsv(teams.iterator(), TEAM_CSV_HEADER, out, team -> Arrays.asList(
+                            team.getId(), team.getName(), team.getCountry(),
+                            team.getBalance() == null ? null : team.getBalance().toPlainString(),
+                            team.getCommissionRate()))
+                    : writeNdjson(teams.iterator(), out);
+            logger.info("Successfully exported {} teams", count);
+        }
+    }
+
+    /**
+     * Writes every row as one JSON document followed by a line break
+     * @param rows rows to write
+     * @param out stream to write to
+     * @return number of written rows
+     * @throws IOException if writing to the output stream fails
+     */
+    private long writeNdjson(Iterator<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        while(rows.hasNext()) {
+            objectMapper.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            count++;
+        }
+        generator.flush();
+        return count;
+    }
+
+    /**
+     * Writes a header line and every row as a comma-separated line
+     * @param rows rows to write
+     * @param header column names of the header line
+     * @param out stream to write to
+     * @param columns function returning the column values of a row in header order
+     * @return number of written rows, without the header
+     * @throws IOException if writing to the output stream fails
+     */
+    private <T> long writeCsv(Iterator<T> rows, List<String> header, OutputStream out,
+                              Function<T, List<?>> columns) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, header);
+        while(rows.hasNext()) {
+            writeCsvLine(writer, columns.apply(rows.next()));
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes one CSV line, quoting values that contain separators, quotes or line breaks
+     * @param writer writer to write to
+     * @param values column values of the line
+     * @throws IOException if writing fails
+     */
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for(int i = 0; i < values.size(); i++) {
+            if(i > 0) writer.write(',');
+            String value = values.get(i) == null ? "" : values.get(i).toString();
+            if(value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe leaderboard of named entries ranked by an amount of money, highest first
+ * Amounts are kept as long cents in a RankedSkipList, so updates, ranks and the start of the top entries
+ * cost O(log n). Reads share a read lock, updates are serialized.
+ * Entries ignore updates of older versions, so changes delivered out of order cannot overwrite newer ones;
+ * removed entries keep a version above any other, so late changes do not bring them back
+ */
+final class Leaderboard {
+    private final RankedSkipList ranking = new RankedSkipList();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds an entry or replaces its name and amount, unless the entry has a newer version
+     * @param id the ID of the entry
+     * @param name display name of the entry
+     * @param amount the amount the entry is ranked by
+     * @param version version of the name and the amount
+     */
+    void put(long id, String name, BigDecimal amount, long version) {
+        lock.writeLock().lock();
+        try {
+            if(isOlder(id, version)) return;
+            versions.put(id, version);
+            names.put(id, name);
+            ranking.put(id, toCents(amount));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the amount of an entry, unless the entry has a newer version
+     * Entries not on the leaderboard are ignored
+     * @param id the ID of the entry
+     * @param amount the amount the entry is ranked by
+     * @param version version of the amount
+     */
+    void update(long id, BigDecimal amount, long version) {
+        lock.writeLock().lock();
+        try {
+            if(!ranking.contains(id) || isOlder(id, version)) return;
+            versions.put(id, version);
+            ranking.put(id, toCents(amount));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an entry, changes of the entry delivered afterwards are ignored
+     * @param id the ID of the entry
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            names.remove(id);
+            ranking.remove(id);
+            versions.put(id, Long.MAX_VALUE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param count maximum number of entries
+     * @return the entries with the highest amounts, in rank order
+     */
+    List<LeaderboardEntryResponse> top(int count) {
+        lock.readLock().lock();
+        try {
+            long[] ids = ranking.ids(1, count);
+            List<LeaderboardEntryResponse> entries = new ArrayList<>(ids.length);
+            for(int i = 0; i < ids.length; i++) {
+                entries.add(entry(i + 1, ids[i]));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id the ID of the entry
+     * @return the entry with its rank, empty if it is not on the leaderboard
+     */
+    Optional<LeaderboardEntryResponse> find(long id) {
+        lock.readLock().lock();
+        try {
+            int rank = ranking.rank(id);
+            return rank == 0 ? Optional.empty() : Optional.of(entry(rank, id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of entries
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private LeaderboardEntryResponse entry(int rank, long id) {
+        return new LeaderboardEntryResponse(rank, id, names.get(id), BigDecimal.valueOf(ranking.score(id), 2));
+    }
+
+    private boolean isOlder(long id, long version) {
+        Long current = versions.get(id);
+        return current != null && current > version;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
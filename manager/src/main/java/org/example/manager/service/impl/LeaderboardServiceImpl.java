@@ -0,0 +1,204 @@
+package org.example.manager.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+import org.example.manager.dto.response.PlayerSummaryResponse;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.LeaderboardService;
+import org.example.manager.service.TransferFeeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Implementation of LeaderboardService interface
+ * Keeps the teams ranked by balance and the players ranked by transfer value in indexable skip lists,
+ * so top-N and rank queries cost O(log n) plus the returned entries. The leaderboards are loaded when
+ * the application is ready and updated from the change and transfer events after their transactions commit
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final Leaderboard teams = new Leaderboard();
+    private final Leaderboard players = new Leaderboard();
+    static final int MAX_TOP = 100;
+    private static final int LOAD_PAGE_SIZE = 5000;
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardServiceImpl.class);
+
+    /**
+     * Constructor for LeaderboardServiceImpl
+     * @param playerRepository repository the players are loaded from
+     * @param teamRepository repository the teams are loaded from
+     */
+    public LeaderboardServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    /**
+     * Finds the teams with the highest balances
+     * @param top maximum number of teams to return
+     * @return the richest teams, in rank order
+     * @throws IllegalArgumentException if top is not between 1 and the maximum leaderboard size
+     */
+    @Override
+    public List<LeaderboardEntryResponse> topTeams(int top) {
+        checkTop(top);
+        return teams.top(top);
+    }
+
+    /**
+     * Finds the leaderboard position of a team
+     * @param teamId the ID of the team
+     * @return the team with its rank by balance
+     * @throws EntityNotFoundException if the team is not on the leaderboard
+     */
+    @Override
+    public LeaderboardEntryResponse teamRank(Long teamId) {
+        return teams.find(teamId).orElseThrow(() -> {
+            logger.error("Team with id {} not found on the leaderboard", teamId);
+            return new EntityNotFoundException("Team with id " + teamId + " not found");
+        });
+    }
+
+    /**
+     * Finds the players with the highest transfer values
+     * @param top maximum number of players to return
+     * @return the most valuable players, in rank order
+     * @throws IllegalArgumentException if top is not between 1 and the maximum leaderboard size
+     */
+    @Override
+    public List<LeaderboardEntryResponse> topPlayers(int top) {
+        checkTop(top);
+        return players.top(top);
+    }
+
+    /**
+     * Finds the leaderboard position of a player
+     * @param playerId the ID of the player
+     * @return the player with its rank by transfer value
+     * @throws EntityNotFoundException if the player is not on the leaderboard
+     */
+    @Override
+    public LeaderboardEntryResponse playerRank(Long playerId) {
+        return players.find(playerId).orElseThrow(() -> {
+            logger.error("Player with id {} not found on the leaderboard", playerId);
+            return new EntityNotFoundException("Player with id " + playerId + " not found");
+        });
+    }
+
+    /**
+     * Loads every team and player into the leaderboards once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Loading leaderboards");
+        for(Team team : teamRepository.findAllTeams()) {
+            teams.put(team.getId(), team.getName(), team.getBalance(), team.getVersion());
+        }
+        int loaded = loadPlayers(0L, Long.MAX_VALUE);
+        logger.info("Loaded leaderboards with {} teams and {} players", teams.size(), loaded);
+    }
+
+    /**
+     * Updates the team leaderboard after a team was created, updated or deleted
+     * Changes older than the version on the leaderboard are ignored
+     * @param event the change of the team
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if(event.isDeleted()) {
+            teams.remove(event.getTeamId());
+        } else {
+            teams.put(event.getTeamId(), event.getName(), event.getBalance(), event.getVersion());
+        }
+    }
+
+    /**
+     * Updates the player leaderboard after a player was created, updated or deleted
+     * Changes older than the version on the leaderboard and changes of deleted players are ignored
+     * @param event the change of the player
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        if(event.isDeleted()) {
+            players.remove(event.getPlayerId());
+        } else {
+            putPlayer(event.getPlayerId(), event.getFirstName(), event.getLastName(),
+                    event.getMonthsOfExperience(), event.getAge(), event.getVersion());
+        }
+    }
+
+    /**
+     * Adds the players inserted by a bulk import to the player leaderboard
+     * Only the range of IDs of the import is read, in keyset pages. The range is read on the primary
+     * in a new transaction, a lagging read replica may not have the imported rows yet
+     * @param event the finished import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPlayersImported(PlayersImportedEvent event) {
+        int loaded = loadPlayers(event.getFirstPlayerId() - 1, event.getLastPlayerId());
+        logger.info("Added {} players to the leaderboard after import of {} rows", loaded, event.getImportedRows());
+    }
+
+    /**
+     * Sets the balances of both teams of a completed transfer
+     * The event carries the balances with their versions instead of the amount, so transfers and team changes
+     * delivered out of order cannot overwrite newer balances.
+     * The transfer value of the player does not depend on the team, the player leaderboard is unchanged
+     * @param event the completed transfer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        teams.update(event.getFromTeamId(), event.getFromTeamBalance(), event.getFromTeamVersion());
+        teams.update(event.getToTeamId(), event.getToTeamBalance(), event.getToTeamVersion());
+    }
+
+    /**
+     * Loads the players in a range of IDs
+     * @param after ID after which players are read
+     * @param last greatest ID of the players to read
+     * @return number of loaded players
+     */
+    private int loadPlayers(long after, long last) {
+        int loaded = 0;
+        List<PlayerSummaryResponse> page;
+        do {
+            page = playerRepository.findPlayerSummariesBetween(after, last, Limit.of(LOAD_PAGE_SIZE));
+            for(PlayerSummaryResponse player : page) {
+                putPlayer(player.getId(), player.getFirstName(), player.getLastName(),
+                        player.getMonthsOfExperience(), player.getAge(), player.getVersion());
+                after = player.getId();
+            }
+            loaded += page.size();
+        } while(page.size() == LOAD_PAGE_SIZE);
+        return loaded;
+    }
+
+    private void putPlayer(Long id, String firstName, String lastName, int monthsOfExperience, int age, long version) {
+        players.put(id, firstName + " " + lastName, TransferFeeCalculator.transferAmount(monthsOfExperience, age), version);
+    }
+
+    private static void checkTop(int top) {
+        if(top < 1 || top > MAX_TOP) {
+            logger.error("Leaderboard size out of range: {}", top);
+            throw new IllegalArgumentException("Leaderboard size must be between 1 and " + MAX_TOP);
+        }
+    }
+}
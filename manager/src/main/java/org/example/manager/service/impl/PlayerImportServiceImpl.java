@@ -0,0 +1,360 @@
+package org.example.manager.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.dto.response.PlayerImportResponse;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.PlayerImportService;
+import org.example.manager.service.TransferFeeCalculator;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of PlayerImportService interface
+ * Parses the upload line by line, validates every row with the same rules as PlayerServiceImpl.createPlayer
+ * and inserts the valid rows in batches. On PostgreSQL a batch is sent with a single COPY, on other databases
+ * with a JDBC batch insert. The whole import runs in one transaction.
+ */
+@Service
+public class PlayerImportServiceImpl implements PlayerImportService {
+    private final TeamRepository teamRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    static final int BATCH_SIZE = 5000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final List<String> CSV_COLUMNS =
+            List.of("first_name", "last_name", "age", "months_of_experience", "team_id");
+    private static final String INSERT_SQL =
+            "INSERT INTO player (first_name, last_name, age, months_of_experience, transfer_value, team_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String COPY_SQL =
+            "COPY player (first_name, last_name, age, months_of_experience, transfer_value, team_id) FROM STDIN WITH (FORMAT csv)";
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(id), 0) FROM player";
+    private static final Logger logger = LoggerFactory.getLogger(PlayerImportServiceImpl.class);
+
+    /**
+     * Constructor for PlayerImportServiceImpl
+     * @param teamRepository repository for team data access
+     * @param jdbcTemplate template used for the batch inserts, it joins the transaction of the import
+     * @param objectMapper mapper used to read NDJSON rows with the same naming as the API requests
+     * @param validator validator applying the constraints of PlayerInformationRequest
+     * @param eventPublisher publisher of the import event, delivered to listeners after commit
+     */
+    public PlayerImportServiceImpl(TeamRepository teamRepository, JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper, Validator validator,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.teamRepository = teamRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requestReader = objectMapper.readerFor(PlayerInformationRequest.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports every valid row of the upload, invalid rows are skipped and reported
+     * CSV uploads need a header line naming at least the first_name, last_name, age, months_of_experience
+     * and team_id columns, in any order. NDJSON uploads hold one player request object per line.
+     * @param format format of the uploaded rows
+     * @param in stream of the upload, it is read to the end but not closed
+     * @return number of imported and rejected rows with the reasons of the first rejected rows
+     * @throws IOException if reading the upload fails
+     * @throws IllegalArgumentException if the CSV header is missing or lacks a required column
+     */
+    @Transactional
+    @Override
+    public PlayerImportResponse importPlayers(ExportFormat format, InputStream in) throws IOException {
+        logger.info("Importing players as {}", format);
+        Set<Long> teamIds = new HashSet<>(teamRepository.findAllIds());
+        boolean copySupported = Boolean.TRUE.equals(jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> connection.isWrapperFor(PGConnection.class)));
+        // generated IDs only grow, so the imported players get IDs above the greatest one before the first insert
+        long maxIdBefore = maxPlayerId();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        long line = 0;
+        RowParser parser;
+        if(format == ExportFormat.CSV) {
+            parser = csvParser(reader.readLine());
+            line++;
+        } else {
+            parser = this::parseJson;
+        }
+
+        List<PlayerInformationRequest> batch = new ArrayList<>(BATCH_SIZE);
+        List<PlayerImportResponse.RowError> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        String row;
+        while((row = reader.readLine()) != null) {
+            line++;
+            if(row.isBlank()) continue;
+            String error;
+            try {
+                PlayerInformationRequest request = parser.parse(row);
+                error = validate(request, teamIds);
+                if(error == null) batch.add(request);
+            } catch (RowFormatException ex) {
+                error = ex.getMessage();
+            }
+            if(error != null) {
+                rejected++;
+                logger.debug("Rejected import row at line {}: {}", line, error);
+                if(errors.size() < MAX_REPORTED_ERRORS) errors.add(new PlayerImportResponse.RowError(line, error));
+            }
+            if(batch.size() == BATCH_SIZE) {
+                imported += insert(batch, copySupported);
+                batch.clear();
+            }
+        }
+        imported += insert(batch, copySupported);
+
+        if(rejected > 0) logger.warn("Rejected {} rows of the player import", rejected);
+        logger.info("Successfully imported {} players", imported);
+        if(imported > 0) eventPublisher.publishEvent(new PlayersImportedEvent(imported, maxIdBefore + 1, maxPlayerId()));
+        return new PlayerImportResponse(imported, rejected, errors, rejected > errors.size());
+    }
+
+    /**
+     * Reads the greatest player ID visible to the import transaction
+     * @return greatest player ID, 0 if there are no players
+     */
+    private long maxPlayerId() {
+        Long maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Validates a parsed row against the request constraints, the experience rule and the existing teams
+     * @param request the parsed row
+     * @param teamIds IDs of all existing teams
+     * @return reason the row is rejected, or null if the row is valid
+     */
+    private String validate(PlayerInformationRequest request, Set<Long> teamIds) {
+        List<String> missing = new ArrayList<>();
+        if(request.getFirstName() == null) missing.add("first_name");
+        if(request.getLastName() == null) missing.add("last_name");
+        if(request.getAge() == null) missing.add("age");
+        if(request.getMonthsOfExperience() == null) missing.add("months_of_experience");
+        if(request.getTeamId() == null) missing.add("team_id");
+        if(!missing.isEmpty()) {
+            return "Missing required fields: " + String.join(", ", missing);
+        }
+        Set<ConstraintViolation<PlayerInformationRequest>> violations = validator.validate(request);
+        if(!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        //to avoid cases where experience is greater than the player's age
+        if(request.getMonthsOfExperience() > PlayerServiceImpl.maxPossibleExperience(request.getAge())) {
+            return "Months of experience cannot be greater than max experience";
+        }
+        if(!teamIds.contains(request.getTeamId())) {
+            return "Team with this id not found: " + request.getTeamId();
+        }
+        return null;
+    }
+
+    /**
+     * Inserts a batch of validated rows
+     * The rows bypass the Player entity callbacks, so the transfer value is computed here with the same formula
+     * @param batch rows to insert
+     * @param copySupported whether the connection is a PostgreSQL connection supporting COPY
+     * @return number of inserted rows
+     */
+    private int insert(List<PlayerInformationRequest> batch, boolean copySupported) {
+        if(batch.isEmpty()) return 0;
+        logger.debug("Inserting batch of {} imported players", batch.size());
+        if(copySupported) {
+            StringBuilder csv = new StringBuilder(batch.size() * 48);
+            for(PlayerInformationRequest request : batch) {
+                csv.append(quote(request.getFirstName())).append(',')
+                        .append(quote(request.getLastName())).append(',')
+                        .append(request.getAge()).append(',')
+                        .append(request.getMonthsOfExperience()).append(',')
+                        .append(transferValue(request).toPlainString()).append(',')
+                        .append(request.getTeamId()).append('\n');
+            }
+            Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(COPY_SQL, new StringReader(csv.toString()));
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Failed to stream the import batch to the database", ex);
+                }
+            });
+            return copied == null ? 0 : copied.intValue();
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, request) -> {
+            statement.setString(1, request.getFirstName());
+            statement.setString(2, request.getLastName());
+            statement.setInt(3, request.getAge());
+            statement.setInt(4, request.getMonthsOfExperience());
+            statement.setBigDecimal(5, transferValue(request));
+            statement.setLong(6, request.getTeamId());
+        });
+        return batch.size();
+    }
+
+    /**
+     * Calculates the stored transfer value of an imported row, the same value Player.updateTransferValue sets
+     * @param request validated row
+     * @return the base transfer fee of the player
+     */
+    private static BigDecimal transferValue(PlayerInformationRequest request) {
+        return TransferFeeCalculator.transferAmount(request.getMonthsOfExperience(), request.getAge());
+    }
+
+    /**
+     * Parses one NDJSON line into a player request
+     * @param row the line to parse
+     * @return the parsed request
+     * @throws RowFormatException if the line is not a valid request object
+     */
+    private PlayerInformationRequest parseJson(String row) {
+        try {
+            return requestReader.readValue(row);
+        } catch (JsonProcessingException ex) {
+            throw new RowFormatException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Builds a parser for the CSV rows from the header line
+     * @param header the first line of the upload
+     * @return parser reading the required columns by their position in the header
+     * @throws IllegalArgumentException if the header is missing or lacks a required column
+     */
+    private RowParser csvParser(String header) {
+        if(header == null) {
+            logger.error("CSV import without header line");
+            throw new IllegalArgumentException("CSV import requires a header line");
+        }
+        List<String> names = splitCsv(header).stream().map(String::trim).toList();
+        int[] positions = new int[CSV_COLUMNS.size()];
+        for(int i = 0; i < positions.length; i++) {
+            positions[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if(positions[i] < 0) {
+                logger.error("CSV import header lacks column: {}", CSV_COLUMNS.get(i));
+                throw new IllegalArgumentException("CSV header must contain the columns " + CSV_COLUMNS);
+            }
+        }
+        return row -> {
+            List<String> values = splitCsv(row);
+            if(values.size() != names.size()) {
+                throw new RowFormatException("Expected " + names.size() + " columns but found " + values.size());
+            }
+            return new PlayerInformationRequest(
+                    emptyToNull(values.get(positions[0])),
+                    emptyToNull(values.get(positions[1])),
+                    parseInteger(values.get(positions[2]), "age"),
+                    parseInteger(values.get(positions[3]), "months_of_experience"),
+                    parseLong(values.get(positions[4]), "team_id"));
+        };
+    }
+
+    /**
+     * Splits one CSV line, values may be quoted with double quotes, doubled quotes inside quoted values are unescaped
+     * @param line the line to split
+     * @return values of the line
+     * @throws RowFormatException if a quoted value is not closed
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if(c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if(quoted) throw new RowFormatException("Unclosed quoted value");
+        values.add(value.toString());
+        return values;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        if(value.isBlank()) return null;
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new RowFormatException("Invalid number in " + column + ": " + value);
+        }
+    }
+
+    private static Long parseLong(String value, String column) {
+        if(value.isBlank()) return null;
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new RowFormatException("Invalid number in " + column + ": " + value);
+        }
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Parser of one line of the upload
+     */
+    @FunctionalInterface
+    private interface RowParser {
+        PlayerInformationRequest parse(String row);
+    }
+
+    /**
+     * Thrown when a line of the upload cannot be parsed, it rejects the row only
+     */
+    private static class RowFormatException extends RuntimeException {
+        RowFormatException(String message) {
+            super(message);
+        }
+    }
+}
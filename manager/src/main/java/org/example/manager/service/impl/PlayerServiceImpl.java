@@ -1,37 +1,66 @@
 package org.example.manager.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.response.PageResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.event.PlayerChangedEvent;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Player;
 import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.PlayerSpecifications;
 import org.example.manager.repository.TeamRepository;
 import org.example.manager.service.PlayerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of PlayerService interface
  * Provides business logic for player management operations
  */
 @Service
+@Timed(value = "manager.service", histogram = true)
 public class PlayerServiceImpl implements PlayerService {
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final static int MIN_AGE = 6; //minimal age in football academys
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    /**
+     * Sort fields accepted by the search, mapped to the entity attributes
+     */
+    private static final Map<String, String> SEARCH_SORT_FIELDS = Map.of(
+            "id", "id",
+            "age", "age",
+            "months_of_experience", "monthsOfExperience",
+            "first_name", "firstName",
+            "last_name", "lastName");
     private static final Logger logger = LoggerFactory.getLogger(PlayerServiceImpl.class);
 
     /**
      * Constructor for PlayerServiceImpl
      * @param playerRepository repository for player data access
      * @param teamRepository repository for team data access
+     * @param eventPublisher publisher of player change events
      */
-    public PlayerServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository) {
+    public PlayerServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.playerRepository = playerRepository;
         this.teamRepository = teamRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -42,6 +71,7 @@ public class PlayerServiceImpl implements PlayerService {
      * @throws IllegalArgumentException if months of experience exceed maximum possible
      * @throws EntityNotFoundException if the team with the provided ID is not found
      */
+    @Transactional
     @Override
     public Player createPlayer(PlayerInformationRequest request) {
         logger.info("Creating player with request: {}", request);
@@ -52,8 +82,7 @@ public class PlayerServiceImpl implements PlayerService {
 
         Player player = new Player();
         //to avoid cases where experience is greater than the player's age
-        int maxPossibleExperience = (request.getAge() - MIN_AGE) * 12;
-        if(request.getMonthsOfExperience() > maxPossibleExperience) {
+        if(request.getMonthsOfExperience() > maxPossibleExperience(request.getAge())) {
             logger.error("Months of experience cannot be greater than max experience");
             throw new IllegalArgumentException("Months of experience cannot be greater than max experience");
         }
@@ -66,6 +95,7 @@ public class PlayerServiceImpl implements PlayerService {
             return new EntityNotFoundException("Team with this id not found");
         }));
         Player savedPlayer = playerRepository.save(player);
+        eventPublisher.publishEvent(PlayerChangedEvent.saved(savedPlayer));
         logger.info("Successfully created player with ID: {}", savedPlayer.getId());
         return savedPlayer;
     }
@@ -79,6 +109,7 @@ public class PlayerServiceImpl implements PlayerService {
      * @throws EntityNotFoundException if the player or team with the provided ID is not found
      * @throws IllegalArgumentException if months of experience exceed maximum possible
      */
+    @Transactional
     @Override
     public Player updatePlayer(Long id, PlayerInformationRequest request) {
         logger.info("Updating player with ID: {} using request: {}", id, request);
@@ -99,9 +130,7 @@ public class PlayerServiceImpl implements PlayerService {
         if(request.getMonthsOfExperience() != null) {
             int currentAge = request.getAge() != null ? request.getAge() : playerForUpdate.getAge();
             //to avoid cases where experience is greater than the player's age
-            int maxPossibleExperience = (currentAge - MIN_AGE) * 12;
-
-            if(request.getMonthsOfExperience() > maxPossibleExperience) {
+            if(request.getMonthsOfExperience() > maxPossibleExperience(currentAge)) {
                 logger.error("Months of experience cannot be greater than max experience");
                 throw new IllegalArgumentException("Months of experience cannot be greater than max experience");
             }
@@ -114,17 +143,22 @@ public class PlayerServiceImpl implements PlayerService {
                         return new EntityNotFoundException("Team with this id not found");
                     }));
         }
-        Player updatedPlayer = playerRepository.save(playerForUpdate);
+        // flushed, so the change event carries the incremented version
+        Player updatedPlayer = playerRepository.saveAndFlush(playerForUpdate);
+        eventPublisher.publishEvent(PlayerChangedEvent.saved(updatedPlayer));
         logger.info("Successfully updated player with ID: {}", updatedPlayer.getId());
         return updatedPlayer;
     }
 
     /**
      * Retrieves a player by ID
+     * Read on the primary, not the read replica: the response is tagged with the current player generation,
+     * which already counts changes a lagging replica may not have received
      * @param playerId the ID of the player to retrieve
      * @return the Player entity with the specified ID
      * @throws EntityNotFoundException if the player with the provided ID is not found
      */
+    @Transactional
     @Override
     public Player readPlayer(Long playerId) {
         logger.info("Fetching player with ID: {}", playerId);
@@ -141,23 +175,129 @@ public class PlayerServiceImpl implements PlayerService {
      * @param playerId the ID of the player to delete
      * @throws EntityNotFoundException if the player with the provided ID is not found
      */
+    @Transactional
     @Override
     public void deletePlayer(Long playerId) {
         logger.info("Deleting player with ID: {}", playerId);
         Player player = readPlayer(playerId);
         playerRepository.delete(player);
+        eventPublisher.publishEvent(PlayerChangedEvent.deleted(playerId));
         logger.info("Successfully deleted player with ID: {}", playerId);
     }
 
     /**
-     * Retrieves all players
-     * @return a list of all Player entities
+     * Retrieves all players as response objects built by a single projection query
+     * Read on the primary like readPlayer, the list is tagged with the current player generation
+     * @return a list of all players as response objects
      */
+    @Transactional
     @Override
-    public List<Player> getAllPlayers() {
+    public List<PlayerInformationResponse> getAllPlayers() {
         logger.info("Fetching all players");
-        List<Player> players = playerRepository.findAllPlayers();
+        List<PlayerInformationResponse> players = playerRepository.findAllPlayerResponses();
         logger.debug("Successfully fetched {} players", players.size());
         return players;
     }
+
+    /**
+     * Retrieves one page of players using keyset pagination on the player ID
+     * @param after ID of the last player of the previous page, null to start from the beginning
+     * @param limit maximum number of players to return
+     * @return a list of players with ID greater than the cursor as response objects, ordered by ID
+     * @throws IllegalArgumentException if the limit is not between 1 and the maximum page size
+     */
+    @Transactional
+    @Override
+    public List<PlayerInformationResponse> getPlayersPage(Long after, int limit) {
+        logger.info("Fetching players page after ID: {} with limit: {}", after, limit);
+        if(limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Page limit out of range: {}", limit);
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<PlayerInformationResponse> players = playerRepository.findPlayerResponsesAfter(after == null ? 0L : after, Limit.of(limit));
+        logger.debug("Successfully fetched {} players", players.size());
+        return players;
+    }
+
+    /**
+     * Searches players by optional filters with server-side sorting and offset pagination
+     * One row more than the page size is read to tell whether another page follows, no count query is run.
+     * The ID is always the last sort key, so pages are stable for equal sort values.
+     * Offsets are capped, because the database still reads every skipped row
+     * @param request search filters, sort order and page
+     * @return one page of the matching players as response objects
+     * @throws NullableRequestException if the request is null
+     * @throws IllegalArgumentException if a range, the sort order or the page is invalid
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PageResponse<PlayerInformationResponse> searchPlayers(PlayerSearchRequest request) {
+        logger.info("Searching players with request: {}", request);
+        if(request == null) {
+            logger.error("Request cannot be null");
+            throw new NullableRequestException("Request cannot be null");
+        }
+        if(request.getSize() < 1 || request.getSize() > MAX_PAGE_SIZE) {
+            logger.error("Page size out of range: {}", request.getSize());
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if(request.getPage() < 0 || (long) request.getPage() * request.getSize() > MAX_SEARCH_OFFSET) {
+            logger.error("Page out of range: {}", request.getPage());
+            throw new IllegalArgumentException("Page offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+        checkRange("age", request.getMinAge(), request.getMaxAge());
+        checkRange("experience", request.getMinExperience(), request.getMaxExperience());
+
+        PageRequest pageRequest = PageRequest.of(request.getPage(), request.getSize(), parseSort(request.getSort()));
+        Slice<Player> players = playerRepository.findBy(PlayerSpecifications.matching(request),
+                query -> query.slice(pageRequest));
+        logger.debug("Successfully found {} players", players.getNumberOfElements());
+        return new PageResponse<>(players.map(PlayerInformationResponse::new).getContent(),
+                request.getPage(), request.getSize(), players.hasNext());
+    }
+
+    /**
+     * Checks that the lower bound of an optional range is not greater than its upper bound
+     * @param name name of the range used in the error message
+     * @param min lower bound, optional
+     * @param max upper bound, optional
+     * @throws IllegalArgumentException if both bounds are given and the lower one is greater
+     */
+    private void checkRange(String name, Integer min, Integer max) {
+        if(min != null && max != null && min > max) {
+            logger.error("Invalid {} range: {} - {}", name, min, max);
+            throw new IllegalArgumentException("Minimal " + name + " cannot be greater than maximal " + name);
+        }
+    }
+
+    /**
+     * Parses the sort order of a search
+     * @param sort "field" or "field,asc|desc" with a snake_case field name, null for ID order
+     * @return the sort order, followed by the ID as tie-breaker
+     * @throws IllegalArgumentException if the field is not sortable or the direction is unknown
+     */
+    private Sort parseSort(String sort) {
+        Sort byId = Sort.by("id");
+        if(sort == null || sort.isBlank()) return byId;
+        String[] parts = sort.split(",", 2);
+        String property = SEARCH_SORT_FIELDS.get(parts[0].trim());
+        if(property == null) {
+            logger.error("Unsupported sort field: {}", parts[0]);
+            throw new IllegalArgumentException("Unsupported sort field: " + parts[0].trim());
+        }
+        Sort.Direction direction = parts.length > 1
+                ? Sort.Direction.fromString(parts[1].trim())
+                : Sort.Direction.ASC;
+        return "id".equals(property) ? Sort.by(direction, property) : Sort.by(direction, property).and(byId);
+    }
+
+    /**
+     * Calculates the maximum months of experience a player of the given age can have
+     * Shared with the bulk import, so both paths apply the same rule
+     * @param age player's age in years
+     * @return maximum possible months of experience, counted from the minimal academy age
+     */
+    static int maxPossibleExperience(int age) {
+        return (age - MIN_AGE) * 12;
+    }
 }
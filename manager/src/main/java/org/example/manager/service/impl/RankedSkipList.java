@@ -0,0 +1,215 @@
+package org.example.manager.service.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Indexable skip list of IDs ordered by a long score, highest first, ties by ascending ID
+ * Every link stores how many entries it skips, so the rank of an entry and the entry at a rank
+ * are found in O(log n) expected time, like the sorted sets of Redis.
+ * Not thread-safe, callers serialize access
+ */
+final class RankedSkipList {
+    private static final int MAX_LEVEL = 32;
+    // a node is promoted to the next level with probability 1/4
+    private static final int PROMOTION_MASK = 3;
+    private final Node head = new Node(0, 0, MAX_LEVEL);
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private int level = 1;
+
+    private static final class Node {
+        final long id;
+        final long score;
+        final Node[] next;
+        /**
+         * Number of entries between this node and next[i], counting next[i]
+         */
+        final int[] span;
+
+        Node(long id, long score, int level) {
+            this.id = id;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    /**
+     * @return number of entries
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param id the ID of the entry
+     * @return whether the list has an entry with the ID
+     */
+    boolean contains(long id) {
+        return nodes.containsKey(id);
+    }
+
+    /**
+     * @param id the ID of the entry
+     * @return the score of the entry
+     * @throws IllegalArgumentException if the list has no entry with the ID
+     */
+    long score(long id) {
+        return node(id).score;
+    }
+
+    /**
+     * Adds an entry or moves an existing one to its new score
+     * @param id the ID of the entry
+     * @param score the score of the entry
+     */
+    void put(long id, long score) {
+        Node existing = nodes.get(id);
+        if(existing != null) {
+            if(existing.score == score) return;
+            nodes.remove(id);
+            unlink(existing);
+        }
+        nodes.put(id, insert(id, score));
+    }
+
+    /**
+     * Removes an entry
+     * @param id the ID of the entry
+     * @return whether the entry was present
+     */
+    boolean remove(long id) {
+        Node node = nodes.remove(id);
+        if(node == null) return false;
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * @param id the ID of the entry
+     * @return the 1-based rank of the entry, 0 if the list has no entry with the ID
+     */
+    int rank(long id) {
+        Node node = nodes.get(id);
+        if(node == null) return 0;
+        int rank = 0;
+        Node x = head;
+        for(int i = level - 1; i >= 0; i--) {
+            while(x.next[i] != null && !before(node, x.next[i])) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if(x == node) return rank;
+        }
+        return rank;
+    }
+
+    /**
+     * Copies the IDs of the entries from a rank on
+     * @param fromRank 1-based rank of the first entry
+     * @param count maximum number of entries
+     * @return IDs of the entries in rank order, fewer than count at the end of the list
+     */
+    long[] ids(int fromRank, int count) {
+        if(fromRank < 1 || fromRank > size() || count < 1) return new long[0];
+        long[] ids = new long[Math.min(count, size() - fromRank + 1)];
+        Node x = byRank(fromRank);
+        for(int i = 0; i < ids.length; i++) {
+            ids[i] = x.id;
+            x = x.next[0];
+        }
+        return ids;
+    }
+
+    private Node node(long id) {
+        Node node = nodes.get(id);
+        if(node == null) throw new IllegalArgumentException("No entry with ID " + id);
+        return node;
+    }
+
+    private Node byRank(int rank) {
+        int traversed = 0;
+        Node x = head;
+        for(int i = level - 1; i >= 0; i--) {
+            while(x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if(traversed == rank) return x;
+        }
+        throw new IllegalStateException("Rank out of range: " + rank);
+    }
+
+    private Node insert(long id, long score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        Node x = head;
+        for(int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while(x.next[i] != null && before(x.next[i], score, id)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        int nodeLevel = randomLevel();
+        if(nodeLevel > level) {
+            for(int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = nodes.size();
+            }
+            level = nodeLevel;
+        }
+        Node node = new Node(id, score, nodeLevel);
+        for(int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for(int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        return node;
+    }
+
+    private void unlink(Node node) {
+        Node x = head;
+        for(int i = level - 1; i >= 0; i--) {
+            while(x.next[i] != null && before(x.next[i], node.score, node.id)) {
+                x = x.next[i];
+            }
+            if(x.next[i] == node) {
+                x.span[i] += node.span[i] - 1;
+                x.next[i] = node.next[i];
+            } else {
+                x.span[i]--;
+            }
+        }
+        while(level > 1 && head.next[level - 1] == null) {
+            head.span[level - 1] = 0;
+            level--;
+        }
+        Arrays.fill(node.next, null);
+    }
+
+    private int randomLevel() {
+        int nodeLevel = 1;
+        while(nodeLevel < MAX_LEVEL && (random.nextInt() & PROMOTION_MASK) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static boolean before(Node a, Node b) {
+        return before(a, b.score, b.id);
+    }
+
+    private static boolean before(Node node, long score, long id) {
+        return node.score > score || (node.score == score && node.id < id);
+    }
+}
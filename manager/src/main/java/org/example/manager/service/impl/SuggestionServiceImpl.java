@@ -0,0 +1,238 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.response.PlayerSummaryResponse;
+import org.example.manager.dto.response.SuggestionResponse;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.SuggestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of SuggestionService interface
+ * Keeps a sorted map from every word suffix of the normalized player and team names to the named entity,
+ * so the suggestions of a prefix are one range of the map. The map is loaded when the application is ready
+ * and updated from the change events of players and teams after their transactions commit.
+ * Player and team names carry the version of their row, changes older than the indexed one are ignored
+ * and deleted entities keep a version above any other, so events delivered out of order cannot bring back old names.
+ * Reads never lock, updates of the index are serialized
+ */
+@Service
+public class SuggestionServiceImpl implements SuggestionService {
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final ConcurrentSkipListMap<String, SuggestionResponse> index = new ConcurrentSkipListMap<>();
+    private final Map<String, SuggestionResponse> entries = new ConcurrentHashMap<>();
+    // guarded by this, like every update of the index
+    private final Map<String, Long> versions = new HashMap<>();
+    static final String PLAYER = "player";
+    static final String TEAM = "team";
+    static final int MAX_SUGGESTIONS = 50;
+    private static final int LOAD_PAGE_SIZE = 5000;
+    // separates the indexed name from the entity key, sorts before any character of a name
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+    /**
+     * Constructor for SuggestionServiceImpl
+     * @param playerRepository repository the player names are loaded from
+     * @param teamRepository repository the team names are loaded from
+     */
+    public SuggestionServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository) {
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    /**
+     * Finds players and teams with a name word starting with the query
+     * @param query prefix typed by the user, matched case and accent insensitively
+     * @param limit maximum number of suggestions to return
+     * @return matching players and teams, ordered by the matched name, empty for a blank query
+     * @throws IllegalArgumentException if the limit is not between 1 and the maximum number of suggestions
+     */
+    @Override
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        if(limit < 1 || limit > MAX_SUGGESTIONS) {
+            logger.error("Suggestion limit out of range: {}", limit);
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        String prefix = normalize(query);
+        if(prefix.isEmpty()) return List.of();
+
+        ConcurrentNavigableMap<String, SuggestionResponse> matches =
+                index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        // an entity matches once per name word starting with the prefix, it is suggested once
+        Map<String, SuggestionResponse> suggestions = new LinkedHashMap<>();
+        for(SuggestionResponse suggestion : matches.values()) {
+            suggestions.putIfAbsent(entityKey(suggestion.getType(), suggestion.getId()), suggestion);
+            if(suggestions.size() == limit) break;
+        }
+        return new ArrayList<>(suggestions.values());
+    }
+
+    /**
+     * Loads every team and player name into the index once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        logger.info("Loading name suggestion index");
+        for(Team team : teamRepository.findAllTeams()) {
+            put(TEAM, team.getId(), team.getName(), team.getVersion());
+        }
+        int players = indexPlayers(0L, Long.MAX_VALUE);
+        logger.info("Loaded name suggestion index with {} players and {} names", players, index.size());
+    }
+
+    /**
+     * Updates the index after a player was created, updated or deleted
+     * @param event the change of the player
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        if(event.isDeleted()) {
+            remove(PLAYER, event.getPlayerId());
+        } else {
+            put(PLAYER, event.getPlayerId(), event.getFirstName() + " " + event.getLastName(), event.getVersion());
+        }
+    }
+
+    /**
+     * Updates the index after a team was created, updated or deleted
+     * @param event the change of the team
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        if(event.isDeleted()) {
+            remove(TEAM, event.getTeamId());
+        } else {
+            put(TEAM, event.getTeamId(), event.getName(), event.getVersion());
+        }
+    }
+
+    /**
+     * Adds the players inserted by a bulk import to the index
+     * Only the range of IDs of the import is read, in keyset pages. The range is read on the primary
+     * in a new transaction, a lagging read replica may not have the imported rows yet
+     * @param event the finished import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPlayersImported(PlayersImportedEvent event) {
+        int players = indexPlayers(event.getFirstPlayerId() - 1, event.getLastPlayerId());
+        logger.info("Indexed {} players after import of {} rows", players, event.getImportedRows());
+    }
+
+    /**
+     * Indexes the names of the players in a range of IDs
+     * @param after ID after which players are read
+     * @param last greatest ID of the players to read
+     * @return number of indexed players
+     */
+    private int indexPlayers(long after, long last) {
+        int indexed = 0;
+        List<PlayerSummaryResponse> page;
+        do {
+            page = playerRepository.findPlayerSummariesBetween(after, last, Limit.of(LOAD_PAGE_SIZE));
+            for(PlayerSummaryResponse player : page) {
+                put(PLAYER, player.getId(), player.getFirstName() + " " + player.getLastName(), player.getVersion());
+                after = player.getId();
+            }
+            indexed += page.size();
+        } while(page.size() == LOAD_PAGE_SIZE);
+        return indexed;
+    }
+
+    /**
+     * Adds or replaces the names of an entity, unless the index has a newer version of the entity
+     * @param type entity type
+     * @param id entity ID
+     * @param label display name of the entity
+     * @param version version of the row the name was read from
+     */
+    private synchronized void put(String type, Long id, String label, long version) {
+        Long current = versions.get(entityKey(type, id));
+        if(current != null && current > version) return;
+        versions.put(entityKey(type, id), version);
+        SuggestionResponse suggestion = new SuggestionResponse(type, id, label);
+        SuggestionResponse previous = entries.put(entityKey(type, id), suggestion);
+        if(previous != null) nameKeys(previous).forEach(index::remove);
+        nameKeys(suggestion).forEach(key -> index.put(key, suggestion));
+    }
+
+    /**
+     * Removes the names of an entity, changes of the entity delivered afterwards are ignored
+     * @param type entity type
+     * @param id entity ID
+     */
+    private synchronized void remove(String type, Long id) {
+        versions.put(entityKey(type, id), Long.MAX_VALUE);
+        SuggestionResponse previous = entries.remove(entityKey(type, id));
+        if(previous != null) nameKeys(previous).forEach(index::remove);
+    }
+
+    /**
+     * Builds the index keys of a suggestion, one per word of its normalized label
+     * Every key is the label from the start of a word to its end, followed by the entity,
+     * so typing the beginning of any first name, last name or name word finds the entity
+     * @param suggestion the indexed suggestion
+     * @return the index keys of the suggestion
+     */
+    private static List<String> nameKeys(SuggestionResponse suggestion) {
+        String name = normalize(suggestion.getLabel());
+        String entityKey = KEY_SEPARATOR + entityKey(suggestion.getType(), suggestion.getId());
+        List<String> keys = new ArrayList<>();
+        for(int start = 0; start < name.length(); start++) {
+            if(start == 0 || name.charAt(start - 1) == ' ' || name.charAt(start - 1) == '-') {
+                keys.add(name.substring(start) + entityKey);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Normalizes a name for case and accent insensitive prefix matching
+     * @param value the name or the typed prefix
+     * @return lower case name without diacritics and with single spaces, empty for null
+     */
+    static String normalize(String value) {
+        if(value == null) return "";
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String plain = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(plain.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the key identifying an entity of the index
+     * @param type entity type
+     * @param id entity ID
+     * @return key unique across players and teams
+     */
+    private static String entityKey(String type, Long id) {
+        return type + ':' + id;
+    }
+}
@@ -1,16 +1,25 @@
 package org.example.manager.service.impl;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
 import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.event.TeamChangedEvent;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
 import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.BalanceSnapshotService;
 import org.example.manager.service.TeamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,20 +28,33 @@ import java.util.List;
  * Provides business logic for team management operations
  */
 @Service
+@Timed(value = "manager.service", histogram = true)
 public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private static final int MAX_PAGE_SIZE = 500;
     private static final Logger logger = LoggerFactory.getLogger(TeamServiceImpl.class);
 
     /**
      * Constructor for TeamServiceImpl
      * @param teamRepository repository for team data access
+     * @param playerRepository repository for the rosters of the teams
+     * @param balanceSnapshotService service snapshotting balances that are set outside of transfers
+     * @param eventPublisher publisher of team change events, delivered to listeners after commit
      */
-    public TeamServiceImpl(TeamRepository teamRepository) {
+    public TeamServiceImpl(TeamRepository teamRepository, PlayerRepository playerRepository,
+                           BalanceSnapshotService balanceSnapshotService, ApplicationEventPublisher eventPublisher) {
         this.teamRepository = teamRepository;
+        this.playerRepository = playerRepository;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates a new team based on the provided request
+     * The initial balance is snapshotted in the same transaction, as the start of the balance history of the team
      * @param request the team information request containing team details
      * @return the created Team entity
      * @throws NullableRequestException if the request is null
@@ -60,12 +82,15 @@ public class TeamServiceImpl implements TeamService {
         team.setBalance(request.getBalance());
         team.setCommissionRate(request.getCommissionRate());
         Team savedTeam = teamRepository.save(team);
+        balanceSnapshotService.snapshotTeam(savedTeam.getId());
+        eventPublisher.publishEvent(TeamChangedEvent.saved(savedTeam));
         logger.info("Successfully created team with ID: {}", savedTeam.getId());
         return savedTeam;
     }
 
     /**
      * Updates an existing team with the provided information
+     * A changed balance is not recorded in the transfer ledger, so it is snapshotted in the same transaction
      * @param id the ID of the team to update
      * @param request the team information request containing updated details
      * @return the updated Team entity
@@ -91,19 +116,27 @@ public class TeamServiceImpl implements TeamService {
             teamForUpdate.setName(request.getName());
         }
         if(request.getCountry() != null) teamForUpdate.setCountry(request.getCountry());
+        boolean balanceChanged = request.getBalance() != null && (teamForUpdate.getBalance() == null
+                || request.getBalance().compareTo(teamForUpdate.getBalance()) != 0);
         if(request.getBalance() != null) teamForUpdate.setBalance(request.getBalance());
         if(request.getCommissionRate() != null) teamForUpdate.setCommissionRate(request.getCommissionRate());
-        Team updatedTeam = teamRepository.save(teamForUpdate);
+        // flushed, so the change event carries the incremented version
+        Team updatedTeam = teamRepository.saveAndFlush(teamForUpdate);
+        if(balanceChanged) balanceSnapshotService.snapshotTeam(id);
+        eventPublisher.publishEvent(TeamChangedEvent.saved(updatedTeam));
         logger.info("Successfully updated team with ID: {}", updatedTeam.getId());
         return updatedTeam;
     }
 
     /**
      * Retrieves a team by ID
+     * Read on the primary, not the read replica: the response is tagged with the current team generation,
+     * which already counts changes a lagging replica may not have received
      * @param id the ID of the team to retrieve
      * @return the Team entity with the specified ID
      * @throws EntityNotFoundException if the team with the provided ID is not found
      */
+    @Transactional
     @Override
     public Team readTeam(Long id) {
         logger.info("Fetching team with ID: {}", id);
@@ -119,23 +152,102 @@ public class TeamServiceImpl implements TeamService {
      * @param id the ID of the team to delete
      * @throws EntityNotFoundException if the team with the provided ID is not found
      */
+    @Transactional
     @Override
     public void deleteTeam(Long id) {
         logger.info("Deleting team with ID: {}", id);
         Team team = readTeam(id);
         teamRepository.delete(team);
+        eventPublisher.publishEvent(TeamChangedEvent.deleted(id));
         logger.info("Successfully deleted team with ID: {}", id);
     }
 
     /**
-     * Retrieves all teams
-     * @return a list of all Team entities
+     * Retrieves all teams as response objects built by a single projection query
+     * Read on the primary like readTeam, the list is tagged with the current team generation
+     * @return a list of all teams as response objects
      */
+    @Transactional
     @Override
-    public List<Team> getAllTeams() {
+    public List<TeamInformationResponse> getAllTeams() {
         logger.info("Fetching all teams");
-        List<Team> teams = teamRepository.findAllTeams();
+        List<TeamInformationResponse> teams = teamRepository.findAllTeamResponses();
         logger.debug("Successfully fetched {} teams", teams.size());
         return teams;
     }
+
+    /**
+     * Retrieves one page of teams using keyset pagination on the team ID
+     * @param after ID of the last team of the previous page, null to start from the beginning
+     * @param limit maximum number of teams to return
+     * @return a list of teams with ID greater than the cursor as response objects, ordered by ID
+     * @throws IllegalArgumentException if the limit is not between 1 and the maximum page size
+     */
+    @Transactional
+    @Override
+    public List<TeamInformationResponse> getTeamsPage(Long after, int limit) {
+        logger.info("Fetching teams page after ID: {} with limit: {}", after, limit);
+        if(limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Page limit out of range: {}", limit);
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<TeamInformationResponse> teams = teamRepository.findTeamResponsesAfter(after == null ? 0L : after, Limit.of(limit));
+        logger.debug("Successfully fetched {} teams", teams.size());
+        return teams;
+    }
+
+    /**
+     * Retrieves one page of the players of a team using keyset pagination on the player ID
+     * The existence of the team is only checked when the page is empty, to tell an unknown team from an empty roster
+     * @param id the ID of the team
+     * @param after ID of the last player of the previous page, null to start from the beginning
+     * @param limit maximum number of players to return
+     * @return a list of the team's players with ID greater than the cursor as response objects, ordered by ID
+     * @throws IllegalArgumentException if the limit is not between 1 and the maximum page size
+     * @throws EntityNotFoundException if the team with the provided ID is not found
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<PlayerInformationResponse> getTeamPlayersPage(Long id, Long after, int limit) {
+        logger.info("Fetching players page of team with ID: {} after ID: {} with limit: {}", id, after, limit);
+        if(limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Page limit out of range: {}", limit);
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<PlayerInformationResponse> players =
+                playerRepository.findTeamPlayerResponsesAfter(id, after == null ? 0L : after, Limit.of(limit));
+        if(players.isEmpty() && !teamRepository.existsById(id)) {
+            logger.error("Team with id: {} not found", id);
+            throw new EntityNotFoundException("Team with id: " + id + " not found");
+        }
+        logger.debug("Successfully fetched {} players of team with ID: {}", players.size(), id);
+        return players;
+    }
+
+    /**
+     * Retrieves the most expensive players of other teams the team can afford with a single indexed range query
+     * The existence of the team is only checked when the list is empty, to tell an unknown team from a team
+     * that cannot afford anyone
+     * @param id the ID of the buying team
+     * @param limit maximum number of players to return
+     * @return a list of affordable players as response objects, ordered by transfer value descending
+     * @throws IllegalArgumentException if the limit is not between 1 and the maximum page size
+     * @throws EntityNotFoundException if the team with the provided ID is not found
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public List<AffordablePlayerResponse> getAffordablePlayers(Long id, int limit) {
+        logger.info("Fetching players affordable by team with ID: {} with limit: {}", id, limit);
+        if(limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Page limit out of range: {}", limit);
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<AffordablePlayerResponse> players = playerRepository.findAffordableBy(id, Limit.of(limit));
+        if(players.isEmpty() && !teamRepository.existsById(id)) {
+            logger.error("Team with id: {} not found", id);
+            throw new EntityNotFoundException("Team with id: " + id + " not found");
+        }
+        logger.debug("Successfully fetched {} players affordable by team with ID: {}", players.size(), id);
+        return players;
+    }
 }
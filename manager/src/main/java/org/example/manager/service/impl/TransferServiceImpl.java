@@ -1,65 +1,227 @@
 package org.example.manager.service.impl;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.event.TransferCompletedEvent;
 import org.example.manager.exception.custom.LowBalanceException;
+import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.exception.custom.WrongTeamException;
+import org.example.manager.metrics.TransferMetrics;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
+import org.example.manager.model.TransferLedgerEntry;
 import org.example.manager.repository.PlayerRepository;
 import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
+import org.example.manager.service.TransferFeeCalculator;
 import org.example.manager.service.TransferService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Implementation of TransferService interface
  * Provides business logic for player transfer operations between teams
  */
 @Service
+@Timed(value = "manager.service", histogram = true)
 public class TransferServiceImpl implements TransferService {
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
+    private final TransferLedgerRepository transferLedgerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferMetrics transferMetrics;
+    private final EntityManagerFactory entityManagerFactory;
+    private static final int MAX_BATCH_SIZE = 10_000;
     private static final Logger logger = LoggerFactory.getLogger(TransferServiceImpl.class);
 
     /**
      * Constructor for TransferServiceImpl
      * @param playerRepository repository for player data access
      * @param teamRepository repository for team data access
+     * @param transferLedgerRepository repository the completed transfers are recorded in
+     * @param eventPublisher publisher of the completed transfer events
+     * @param transferMetrics metrics the rejected transfers are recorded in
+     * @param entityManagerFactory factory whose second-level cache the transferred rows are evicted from
      */
-    public TransferServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository) {
+    public TransferServiceImpl(PlayerRepository playerRepository, TeamRepository teamRepository,
+                               TransferLedgerRepository transferLedgerRepository,
+                               ApplicationEventPublisher eventPublisher, TransferMetrics transferMetrics,
+                               EntityManagerFactory entityManagerFactory) {
         this.playerRepository = playerRepository;
         this.teamRepository = teamRepository;
+        this.transferLedgerRepository = transferLedgerRepository;
+        this.eventPublisher = eventPublisher;
+        this.transferMetrics = transferMetrics;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
      * Transfers a player from their current team to a new team
-     * Handles financial transactions including transfer amount and commission
+     * Handles financial transactions including transfer amount and commission.
+     * Balances are changed with conditional delta updates computed by the database instead of
+     * read-modify-write on the entities, so concurrent transfers into the same team cannot overdraw it
+     * and only the two team rows and the player row are locked, until commit.
+     * Team rows are updated in ascending ID order before the player row, the same order the batch transfer locks them.
+     * The updates bypass the second-level cache, so only the two teams and the player are evicted from it.
+     * The transfer is recorded in the ledger in the same transaction, after the team rows are locked,
+     * and a completed transfer event is published.
+     * The player is read again in the same transaction, so the result never comes from a lagging read replica.
      * @param playerId the ID of the player to transfer
      * @param newTeamId the ID of the team to transfer the player to
+     * @return the transferred player with the new team
      * @throws EntityNotFoundException if the player or team with the provided ID is not found
+     * @throws WrongTeamException if the player already belongs to the new team or was transferred concurrently
      * @throws LowBalanceException if the new team does not have sufficient funds for the transfer
      */
     @Transactional
     @Override
-    public void transferPlayer(Long playerId, Long newTeamId) {
+    public Player transferPlayer(Long playerId, Long newTeamId) {
         logger.info("Transferring player with ID: {} to team with ID: {}", playerId, newTeamId);
-        Player player = playerRepository.findById(playerId)
-                .orElseThrow(() -> {
-                    logger.error("Player with this id not found: {}", playerId);
-                    return new EntityNotFoundException("Player with this id not found");
-                });
-        Team newTeam = teamRepository.findById(newTeamId)
-                .orElseThrow(() -> {
-                    logger.error("Team with this id not found: {}", newTeamId);
-                    return new EntityNotFoundException("Team with this id not found");
-                });
-
-        if(player.getTeam().getName().equals(newTeam.getName())) {
+        try {
+            Player player = playerRepository.findById(playerId)
+                    .orElseThrow(() -> {
+                        logger.error("Player with this id not found: {}", playerId);
+                        return new EntityNotFoundException("Player with this id not found");
+                    });
+            Team newTeam = teamRepository.findById(newTeamId)
+                    .orElseThrow(() -> {
+                        logger.error("Team with this id not found: {}", newTeamId);
+                        return new EntityNotFoundException("Team with this id not found");
+                    });
+            Team oldTeam = player.getTeam();
+            // fails fast on the balance that was read, the conditional withdrawal below is the authoritative check
+            TransferLedgerEntry entry = validateTransfer(player, newTeam);
+            BigDecimal fullAmount = entry.getFullAmount();
+
+            if(newTeam.getId() < oldTeam.getId()) {
+                withdraw(newTeam, fullAmount);
+                deposit(oldTeam, fullAmount);
+            } else {
+                deposit(oldTeam, fullAmount);
+                withdraw(newTeam, fullAmount);
+            }
+            if(playerRepository.moveToTeam(playerId, oldTeam.getId(), newTeam.getId()) == 0) {
+                logger.error("Player with ID: {} was transferred concurrently", playerId);
+                throw new WrongTeamException("Player was transferred concurrently");
+            }
+            evictTransferred(playerId, oldTeam.getId(), newTeam.getId());
+            transferLedgerRepository.save(entry);
+            // the rows are still locked by this transaction, so these are the values the transfer commits
+            Map<Long, Team> teams = new HashMap<>();
+            teamRepository.findAllById(List.of(oldTeam.getId(), newTeam.getId()))
+                    .forEach(team -> teams.put(team.getId(), team));
+            Player transferred = playerRepository.findById(playerId)
+                    .orElseThrow(() -> new EntityNotFoundException("Player with this id not found"));
+            eventPublisher.publishEvent(TransferCompletedEvent.of(entry, teams.get(oldTeam.getId()), teams.get(newTeam.getId())));
+            logger.info("Successfully transferred player with ID: {} to team: {}",
+                    playerId, newTeam.getName());
+            return transferred;
+        } catch (EntityNotFoundException | WrongTeamException | LowBalanceException ex) {
+            transferMetrics.recordFailure(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Transfers a batch of players in one transaction
+     * Teams involved in the batch are locked first and players second, both in ascending ID order,
+     * so concurrent batches always acquire row locks in the same order and cannot deadlock.
+     * Changes are flushed once before the events are published, where Hibernate batches the UPDATE statements
+     * and the ledger INSERT statements of the successful transfers, so the events carry the final team versions.
+     * @param requests the transfers to perform, applied in the given order
+     * @return the outcome of every transfer, in request order
+     * @throws NullableRequestException if the request list is null or empty
+     * @throws IllegalArgumentException if the batch is larger than the maximum batch size
+     */
+    @Transactional
+    @Override
+    public List<TransferResultResponse> transferPlayers(List<TransferRequest> requests) {
+        logger.info("Transferring batch of {} players", requests == null ? 0 : requests.size());
+        if(requests == null || requests.isEmpty()) {
+            logger.error("Transfer list cannot be empty");
+            throw new NullableRequestException("Transfer list cannot be empty");
+        }
+        if(requests.size() > MAX_BATCH_SIZE) {
+            logger.error("Transfer batch too large: {}", requests.size());
+            throw new IllegalArgumentException("Transfer batch cannot contain more than " + MAX_BATCH_SIZE + " transfers");
+        }
+
+        Set<Long> playerIds = new TreeSet<>();
+        Set<Long> teamIds = new TreeSet<>();
+        for(TransferRequest request : requests) {
+            if(request == null || request.getPlayerId() == null || request.getNewTeamId() == null) continue;
+            playerIds.add(request.getPlayerId());
+            teamIds.add(request.getNewTeamId());
+        }
+        if(!playerIds.isEmpty()) teamIds.addAll(playerRepository.findTeamIdsByPlayerIdIn(playerIds));
+        Map<Long, Team> teams = new HashMap<>();
+        if(!teamIds.isEmpty()) {
+            teamRepository.findAllForUpdateByIdIn(teamIds).forEach(team -> teams.put(team.getId(), team));
+        }
+        Map<Long, Player> players = new HashMap<>();
+        if(!playerIds.isEmpty()) {
+            playerRepository.findAllForUpdateByIdIn(playerIds).forEach(player -> players.put(player.getId(), player));
+        }
+
+        List<TransferResultResponse> results = new ArrayList<>(requests.size());
+        List<TransferLedgerEntry> entries = new ArrayList<>();
+        for(TransferRequest request : requests) {
+            Long playerId = request == null ? null : request.getPlayerId();
+            Long newTeamId = request == null ? null : request.getNewTeamId();
+            try {
+                if(playerId == null || newTeamId == null) {
+                    throw new NullableRequestException("Player ID and team ID are required");
+                }
+                Player player = players.get(playerId);
+                if(player == null) throw new EntityNotFoundException("Player with this id not found");
+                Team newTeam = teams.get(newTeamId);
+                if(newTeam == null) throw new EntityNotFoundException("Team with this id not found");
+                if(teams.get(player.getTeam().getId()) != player.getTeam()) {
+                    throw new WrongTeamException("Player was transferred concurrently");
+                }
+                entries.add(applyTransfer(player, newTeam));
+                results.add(TransferResultResponse.success(playerId, newTeamId));
+            } catch (NullableRequestException | EntityNotFoundException | WrongTeamException | LowBalanceException ex) {
+                logger.warn("Transfer of player with ID: {} to team with ID: {} failed: {}", playerId, newTeamId, ex.getMessage());
+                transferMetrics.recordFailure(ex);
+                results.add(TransferResultResponse.failure(playerId, newTeamId, ex.getMessage()));
+            }
+        }
+        transferLedgerRepository.saveAll(entries);
+        teamRepository.flush();
+        entries.forEach(entry -> eventPublisher.publishEvent(
+                TransferCompletedEvent.of(entry, teams.get(entry.getFromTeamId()), teams.get(entry.getToTeamId()))));
+        logger.info("Successfully transferred {} of {} players in batch", entries.size(), requests.size());
+        return results;
+    }
+
+    /**
+     * Validates a transfer against the loaded state of the player and the teams
+     * @param player the player to transfer, with the current team loaded
+     * @param newTeam the team to transfer the player to
+     * @return the ledger entry of the transfer, not yet saved, with the transfer amount and the commission of the current team
+     * @throws WrongTeamException if the player already belongs to the new team
+     * @throws LowBalanceException if the new team does not have sufficient funds for the transfer
+     */
+    private TransferLedgerEntry validateTransfer(Player player, Team newTeam) {
+        if(Objects.equals(player.getTeam().getId(), newTeam.getId())) {
             logger.error("Player already in the team: {}", newTeam.getName());
             throw new WrongTeamException("Player already in the team");
         }
@@ -73,15 +235,76 @@ public class TransferServiceImpl implements TransferService {
                     newTeam.getBalance(), fullAmount);
             throw new LowBalanceException("New team does not have enough money");
         }
+        return new TransferLedgerEntry(player.getId(), player.getTeam().getId(), newTeam.getId(), transferAmount, commission);
+    }
 
-        player.getTeam().setBalance(player.getTeam().getBalance().add(fullAmount));
-        newTeam.setBalance(newTeam.getBalance().subtract(fullAmount));
+    /**
+     * Validates a transfer and moves the player and the money between the teams in memory
+     * The caller is responsible for persisting the changed entities and the ledger entry
+     * @param player the player to transfer, with the current team loaded
+     * @param newTeam the team to transfer the player to
+     * @return the ledger entry of the transfer, not yet saved
+     * @throws WrongTeamException if the player already belongs to the new team
+     * @throws LowBalanceException if the new team does not have sufficient funds for the transfer
+     */
+    private TransferLedgerEntry applyTransfer(Player player, Team newTeam) {
+        TransferLedgerEntry entry = validateTransfer(player, newTeam);
+        Team oldTeam = player.getTeam();
+        oldTeam.setBalance(oldTeam.getBalance().add(entry.getFullAmount()));
+        newTeam.setBalance(newTeam.getBalance().subtract(entry.getFullAmount()));
         player.setTeam(newTeam);
-        teamRepository.save(player.getTeam());
-        teamRepository.save(newTeam);
-        playerRepository.save(player);
-        logger.info("Successfully transferred player with ID: {} to team: {}",
-                playerId, newTeam.getName());
+        return entry;
+    }
+
+    /**
+     * Withdraws the amount from the buying team with a conditional update
+     * @param team the buying team
+     * @param amount the amount to withdraw
+     * @throws LowBalanceException if the balance of the team does not cover the amount at update time
+     */
+    private void withdraw(Team team, BigDecimal amount) {
+        if(teamRepository.withdraw(team.getId(), amount) == 0) {
+            logger.error("New team does not have enough money. Team ID: {}, Required amount: {}", team.getId(), amount);
+            throw new LowBalanceException("New team does not have enough money");
+        }
+    }
+
+    /**
+     * Deposits the amount to the selling team with a delta update
+     * @param team the selling team
+     * @param amount the amount to deposit
+     * @throws EntityNotFoundException if the team no longer exists
+     */
+    private void deposit(Team team, BigDecimal amount) {
+        if(teamRepository.deposit(team.getId(), amount) == 0) {
+            logger.error("Team with this id not found: {}", team.getId());
+            throw new EntityNotFoundException("Team with this id not found");
+        }
+    }
+
+    /**
+     * Evicts the rows changed by a transfer from the second-level cache
+     * They are evicted again after the transaction completes, in case a concurrent reader
+     * cached the committed rows from before the transfer in the meantime
+     * @param playerId the ID of the transferred player
+     * @param oldTeamId the ID of the selling team
+     * @param newTeamId the ID of the buying team
+     */
+    private void evictTransferred(Long playerId, Long oldTeamId, Long newTeamId) {
+        Runnable evict = () -> {
+            entityManagerFactory.getCache().evict(Player.class, playerId);
+            entityManagerFactory.getCache().evict(Team.class, oldTeamId);
+            entityManagerFactory.getCache().evict(Team.class, newTeamId);
+        };
+        evict.run();
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
     }
 
     /**
@@ -94,8 +317,7 @@ public class TransferServiceImpl implements TransferService {
         logger.debug("Calculating transfer amount for player: {} with {} months experience and age {}",
                 player.getFirstName() + " " + player.getLastName(),
                 player.getMonthsOfExperience(), player.getAge());
-        BigDecimal amount = BigDecimal.valueOf(player.getMonthsOfExperience() * 100_000L)
-                .divide(BigDecimal.valueOf(player.getAge()), 2, RoundingMode.HALF_UP);
+        BigDecimal amount = TransferFeeCalculator.transferAmount(player.getMonthsOfExperience(), player.getAge());
         logger.debug("Transfer amount calculated: {}", amount);
         return amount;
     }
@@ -110,8 +332,7 @@ public class TransferServiceImpl implements TransferService {
     private BigDecimal calculateCommission(BigDecimal transferAmount, Team team) {
         logger.debug("Calculating commission for transfer amount: {} and team commission rate: {}",
                 transferAmount, team.getCommissionRate());
-        BigDecimal commission = transferAmount.multiply(BigDecimal.valueOf(team.getCommissionRate()))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        BigDecimal commission = TransferFeeCalculator.commission(transferAmount, team.getCommissionRate());
         logger.debug("Commission calculated: {}", commission);
         return commission;
     }
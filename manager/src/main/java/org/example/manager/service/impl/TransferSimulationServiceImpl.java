@@ -0,0 +1,242 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferSimulationResponse;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.service.SimulatedTransferOutcome;
+import org.example.manager.service.TransferSimulationService;
+import org.example.manager.service.TransferSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of TransferSimulationService interface
+ * Reads the teams and players into a columnar TransferSnapshot with two plain JDBC queries in one repeatable-read
+ * transaction and keeps it until a team, player or transfer change marks it stale, so repeated simulations
+ * between changes do not touch the database
+ * The transaction is not read-only, so the snapshot is read on the primary: it is reloaded right after
+ * the changes marking it stale, which a lagging read replica may not have received yet
+ */
+@Service
+public class TransferSimulationServiceImpl implements TransferSimulationService {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile TransferSnapshot snapshot;
+    static final int MAX_TRANSFERS = 1_000_000;
+    static final int MAX_REPORTED_FAILURES = 1000;
+    private static final int FETCH_SIZE = 5000;
+    private static final String TEAM_SQL = "SELECT id, balance, commission_rate FROM team ORDER BY id";
+    private static final String PLAYER_SQL = "SELECT id, age, months_of_experience, team_id FROM player ORDER BY id";
+    private static final Logger logger = LoggerFactory.getLogger(TransferSimulationServiceImpl.class);
+
+    /**
+     * Constructor for TransferSimulationServiceImpl
+     * @param jdbcTemplate template reading the team and player columns
+     * @param transactionManager manager of the repeatable-read transaction the snapshot is read in
+     */
+    public TransferSimulationServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Applies the transfers in the given order to the current snapshot
+     * Each transfer is checked with the same rules and failure messages as TransferService.transferPlayer,
+     * a failed transfer leaves the balances and the teams of the players unchanged for the following ones
+     * @param requests the transfers to simulate
+     * @return the final balances of the teams taking part in a successful transfer and the first failures
+     * @throws NullableRequestException if the request list is null or empty, or a transfer misses an ID
+     * @throws IllegalArgumentException if more transfers than the maximum are submitted
+     */
+    @Override
+    public TransferSimulationResponse simulate(List<TransferRequest> requests) {
+        logger.info("Simulating {} transfers", requests == null ? 0 : requests.size());
+        if(requests == null || requests.isEmpty()) {
+            logger.error("Transfer list cannot be empty");
+            throw new NullableRequestException("Transfer list cannot be empty");
+        }
+        if(requests.size() > MAX_TRANSFERS) {
+            logger.error("Too many transfers to simulate: {}", requests.size());
+            throw new IllegalArgumentException("Simulation cannot contain more than " + MAX_TRANSFERS + " transfers");
+        }
+        long[] playerIds = new long[requests.size()];
+        long[] teamIds = new long[requests.size()];
+        for(int step = 0; step < requests.size(); step++) {
+            TransferRequest request = requests.get(step);
+            if(request == null || request.getPlayerId() == null || request.getNewTeamId() == null) {
+                logger.error("Transfer {} misses the player or the team ID", step + 1);
+                throw new NullableRequestException("Player ID and team ID are required");
+            }
+            playerIds[step] = request.getPlayerId();
+            teamIds[step] = request.getNewTeamId();
+        }
+
+        TransferSnapshot current = currentSnapshot();
+        long started = System.nanoTime();
+        TransferSnapshot.Simulation simulation = current.simulate(playerIds, teamIds);
+        logger.info("Simulated {} transfers in {} us, {} succeeded", simulation.steps(),
+                (System.nanoTime() - started) / 1000, simulation.succeeded());
+        return toResponse(current, simulation, playerIds, teamIds);
+    }
+
+    /**
+     * Marks the snapshot stale after a team was created, updated or deleted
+     * @param event the change of the team
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Marks the snapshot stale after a player was created, updated or deleted
+     * @param event the change of the player
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Marks the snapshot stale after a bulk import of players
+     * @param event the finished import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlayersImported(PlayersImportedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Marks the snapshot stale after a real transfer changed balances and teams
+     * @param event the completed transfer
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        stale.set(true);
+    }
+
+    /**
+     * Returns the snapshot, reading it again if a change happened since it was read
+     * The stale flag is cleared before reading, so a change committed during the read triggers the next reload
+     * @return snapshot of the teams and players
+     */
+    TransferSnapshot currentSnapshot() {
+        TransferSnapshot current = snapshot;
+        if(current != null && !stale.get()) return current;
+        synchronized(this) {
+            if(snapshot == null || stale.get()) {
+                stale.set(false);
+                try {
+                    snapshot = transactionTemplate.execute(status -> loadSnapshot());
+                } catch (RuntimeException ex) {
+                    stale.set(true);
+                    throw ex;
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Reads the teams and players column by column into primitive arrays
+     * The row counts are read first in the same transaction, so the arrays are allocated once with their final size
+     * @return snapshot of the teams and players
+     */
+    private TransferSnapshot loadSnapshot() {
+        long started = System.nanoTime();
+        int teamCount = count("SELECT COUNT(*) FROM team");
+        long[] teamIds = new long[teamCount];
+        long[] balances = new long[teamCount];
+        double[] commissionRates = new double[teamCount];
+        int[] team = {0};
+        jdbcTemplate.query(streaming(TEAM_SQL), rs -> {
+            teamIds[team[0]] = rs.getLong(1);
+            balances[team[0]] = rs.getBigDecimal(2).setScale(2).unscaledValue().longValueExact();
+            commissionRates[team[0]] = rs.getDouble(3);
+            team[0]++;
+        });
+        int playerCount = count("SELECT COUNT(*) FROM player");
+        long[] playerIds = new long[playerCount];
+        int[] ages = new int[playerCount];
+        int[] monthsOfExperience = new int[playerCount];
+        long[] playerTeamIds = new long[playerCount];
+        int[] player = {0};
+        jdbcTemplate.query(streaming(PLAYER_SQL), rs -> {
+            playerIds[player[0]] = rs.getLong(1);
+            ages[player[0]] = rs.getInt(2);
+            monthsOfExperience[player[0]] = rs.getInt(3);
+            playerTeamIds[player[0]] = rs.getLong(4);
+            player[0]++;
+        });
+        TransferSnapshot loaded = new TransferSnapshot(teamIds, balances, commissionRates,
+                playerIds, ages, monthsOfExperience, playerTeamIds);
+        logger.info("Loaded transfer snapshot of {} teams and {} players in {} ms", teamCount, playerCount,
+                (System.nanoTime() - started) / 1_000_000);
+        return loaded;
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private PreparedStatementCreator streaming(String sql) {
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        };
+    }
+
+    /**
+     * Builds the response from the simulation result
+     * @param current the simulated snapshot
+     * @param simulation the result of the simulation
+     * @param playerIds IDs of the players of every step
+     * @param teamIds IDs of the new teams of every step
+     * @return final balances of the teams involved and the first failures
+     */
+    private TransferSimulationResponse toResponse(TransferSnapshot current, TransferSnapshot.Simulation simulation,
+                                                  long[] playerIds, long[] teamIds) {
+        List<TransferSimulationResponse.StepFailure> failures = new ArrayList<>();
+        long failed = 0;
+        for(int step = 0; step < simulation.steps(); step++) {
+            SimulatedTransferOutcome outcome = simulation.outcome(step);
+            if(outcome == SimulatedTransferOutcome.SUCCESS) continue;
+            failed++;
+            if(failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(new TransferSimulationResponse.StepFailure(step + 1, playerIds[step], teamIds[step],
+                        outcome.name().toLowerCase(Locale.ROOT), outcome.getMessage()));
+            }
+        }
+        List<TransferSimulationResponse.TeamBalance> balances = new ArrayList<>();
+        for(int team = 0; team < current.teamCount(); team++) {
+            if(simulation.involved(team)) {
+                balances.add(new TransferSimulationResponse.TeamBalance(current.teamId(team),
+                        BigDecimal.valueOf(current.balance(team), 2), BigDecimal.valueOf(simulation.balance(team), 2)));
+            }
+        }
+        return new TransferSimulationResponse(simulation.steps(), simulation.succeeded(), failed,
+                balances, failures, failed > failures.size());
+    }
+}
@@ -3,7 +3,8 @@ CREATE TABLE team (
                       name VARCHAR(255) NOT NULL UNIQUE,
                       country VARCHAR(255) NOT NULL,
                       balance DECIMAL(15,2) DEFAULT 0.00,
-                      commission_rate DOUBLE PRECISION NOT NULL CHECK (commission_rate >= 0 AND commission_rate <= 10)
+                      commission_rate DOUBLE PRECISION NOT NULL CHECK (commission_rate >= 0 AND commission_rate <= 10),
+                      version BIGINT NOT NULL DEFAULT 0
 );
 
 CREATE TABLE player (
@@ -15,10 +16,45 @@ CREATE TABLE player (
                             months_of_experience >= 0 AND
                             months_of_experience <= (age - 6) * 12
                             ),
+                        transfer_value DECIMAL(15,2) NOT NULL,
                         team_id BIGINT NOT NULL,
+                        version BIGINT NOT NULL DEFAULT 0,
                         FOREIGN KEY(team_id) REFERENCES team(id)
 );
 
+CREATE INDEX idx_player_team_id ON player(team_id, id);
+CREATE INDEX idx_player_age_experience ON player(age, months_of_experience);
+CREATE INDEX idx_player_name ON player(last_name, first_name);
+CREATE INDEX idx_player_transfer_value ON player(transfer_value);
+-- serves the last name prefix search, LIKE 'prefix%' cannot use a btree in a non-C collation
+CREATE INDEX idx_player_last_name_prefix ON player(last_name varchar_pattern_ops);
+CREATE INDEX idx_team_country ON team(country);
+
+CREATE SEQUENCE transfer_ledger_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE transfer_ledger (
+                        id BIGINT PRIMARY KEY DEFAULT nextval('transfer_ledger_seq'),
+                        player_id BIGINT NOT NULL,
+                        from_team_id BIGINT NOT NULL,
+                        to_team_id BIGINT NOT NULL,
+                        fee DECIMAL(15,2) NOT NULL,
+                        commission DECIMAL(15,2) NOT NULL,
+                        created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_transfer_ledger_from_team ON transfer_ledger(from_team_id, id);
+CREATE INDEX idx_transfer_ledger_to_team ON transfer_ledger(to_team_id, id);
+
+CREATE TABLE team_balance_snapshot (
+                        id BIGSERIAL PRIMARY KEY,
+                        team_id BIGINT NOT NULL,
+                        balance DECIMAL(15,2) NOT NULL,
+                        last_ledger_id BIGINT NOT NULL,
+                        taken_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_team_balance_snapshot_team ON team_balance_snapshot(team_id, taken_at);
+
 INSERT INTO team(name, country, balance, commission_rate)
 VALUES
     ('FC Barcelona', 'Spain', 200000000, 5.47),
@@ -27,8 +63,10 @@ VALUES
     ('Real Madrid', 'Spain', 180000000, 5.05),
     ('Liverpool', 'England', 110000000, 3.05);
 
-INSERT INTO player(first_name, last_name, age, months_of_experience, team_id)
-VALUES
+-- transfer_value is (months_of_experience * 100000) / age rounded half up to cents, as computed by the application
+INSERT INTO player(first_name, last_name, age, months_of_experience, transfer_value, team_id)
+SELECT first_name, last_name, age, months_of_experience, ROUND(months_of_experience * 100000.0 / age, 2), team_id
+FROM (VALUES
     ('Lionel', 'Messi', 37, 240, 1),
     ('Cristiano', 'Ronaldo', 40, 276, 2),
     ('Kylian', 'Mbappe', 26, 120, 3),
@@ -37,4 +75,8 @@ VALUES
     ('Mohamed', 'Salah', 33, 190, 5),
     ('Erling', 'Haaland', 25, 84, 3),
     ('Virgil', 'Van Dijk', 34, 192, 5),
-    ('Harry', 'Kane', 31, 168, 2);
+    ('Harry', 'Kane', 31, 168, 2)
+) AS seed(first_name, last_name, age, months_of_experience, team_id);
+
+INSERT INTO team_balance_snapshot(team_id, balance, last_ledger_id, taken_at)
+SELECT id, balance, 0, now() FROM team;
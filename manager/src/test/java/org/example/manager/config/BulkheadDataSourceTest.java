@@ -0,0 +1,61 @@
+package org.example.manager.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadDataSourceTest {
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void getConnection_releasesPermitOnClose() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 10);
+
+        Connection borrowed = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+        borrowed.close();
+        borrowed.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void getConnection_failsWhenBulkheadIsFull() throws SQLException {
+        when(target.getConnection()).thenReturn(mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 10);
+
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_releasesPermitWhenPoolFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("Pool exhausted"));
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 10);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void getConnection_delegatesOtherCalls() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(target.getConnection()).thenReturn(connection);
+        BulkheadDataSource dataSource = new BulkheadDataSource(target, 1, 10);
+
+        assertFalse(dataSource.getConnection().getAutoCommit());
+    }
+}
@@ -0,0 +1,236 @@
+package org.example.manager.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.dto.response.TransferSimulationResponse;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
+import org.example.manager.service.EntityTagService;
+import org.example.manager.service.EntityTagService.Resource;
+import org.example.manager.service.PlayerService;
+import org.example.manager.service.TeamService;
+import org.example.manager.service.TransferService;
+import org.example.manager.service.impl.TransferSimulationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// two in-memory H2 databases stand in for the primary and the replica, replicate() copies the primary over
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database=H2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "manager.datasource.replica.enabled=true",
+        "manager.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1"
+})
+class ReadReplicaDataSourceConfigTest {
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private PlayerService playerService;
+    @Autowired
+    private TransferService transferService;
+    @Autowired
+    private EntityTagService entityTagService;
+    @Autowired
+    private TransferSimulationServiceImpl transferSimulationService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TransferLedgerRepository transferLedgerRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @TestConfiguration
+    static class ReplicaSchemaConfig {
+        // the schema is created by Hibernate on the primary only, the replica needs it before the application is ready
+        @Bean
+        InitializingBean replicaSchema(EntityManagerFactory entityManagerFactory,
+                                       @Qualifier("primaryDataSource") DataSource primary,
+                                       @Qualifier("replicaDataSource") DataSource replica) {
+            return () -> replicate(primary, replica);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // the second-level cache manager is shared with the other test contexts, which use other databases
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferLedgerRepository.deleteAll();
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+        replicate(primary, replica);
+    }
+
+    @Test
+    void readOnlyTransactions_readFromReplica() {
+        Team team = teamRepository.save(team("Barcelona", "Spain"));
+        playerRepository.save(player(team));
+        replicate(primary, replica);
+        new JdbcTemplate(primary).update("UPDATE team SET name = 'Changed on primary' WHERE id = ?", team.getId());
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals("Barcelona", playerService.searchPlayers(search()).getItems().get(0).getTeamName());
+        assertEquals("Barcelona", teamService.getTeamPlayersPage(team.getId(), null, 10).get(0).getTeamName());
+    }
+
+    @Test
+    void readOnlyTransactions_doNotSeeUnreplicatedRows() {
+        Team team = teamRepository.save(team("Barcelona", "Spain"));
+        playerRepository.save(player(team));
+        entityManagerFactory.getCache().evictAll();
+
+        assertTrue(playerService.searchPlayers(search()).getItems().isEmpty());
+        assertThrows(EntityNotFoundException.class, () -> teamService.getTeamPlayersPage(team.getId(), null, 10));
+    }
+
+    @Test
+    void taggedReads_seeChangesCountedByTheirGeneration() {
+        Team team = teamRepository.save(team("Barcelona", "Spain"));
+        Player player = playerRepository.save(player(team));
+        replicate(primary, replica);
+        long teamGeneration = entityTagService.currentGeneration(Resource.TEAM);
+        long playerGeneration = entityTagService.currentGeneration(Resource.PLAYER);
+
+        // the replica is not replicated again, a read tagged with the new generations must not return its rows
+        teamService.updateTeam(team.getId(), new TeamInformationRequest("Real Madrid", "Spain", new BigDecimal("1000000"), 5.0));
+
+        assertTrue(entityTagService.currentGeneration(Resource.TEAM) > teamGeneration);
+        assertTrue(entityTagService.currentGeneration(Resource.PLAYER) > playerGeneration);
+        assertEquals("Real Madrid", teamService.readTeam(team.getId()).getName());
+        assertEquals("Real Madrid", teamService.getAllTeams().get(0).getName());
+        assertEquals("Real Madrid", teamService.getTeamsPage(null, 10).get(0).getName());
+        assertEquals("Real Madrid", playerService.readPlayer(player.getId()).getTeam().getName());
+        assertEquals("Real Madrid", playerService.getAllPlayers().get(0).getTeamName());
+        assertEquals("Real Madrid", playerService.getPlayersPage(null, 10).get(0).getTeamName());
+    }
+
+    @Test
+    void writes_goToPrimary() {
+        Team team = teamService.createTeam(new TeamInformationRequest("Barcelona", "Spain", new BigDecimal("1000000"), 5.0));
+
+        assertEquals(1, count(primary, team.getId()));
+        assertEquals(0, count(replica, team.getId()));
+    }
+
+    @Test
+    void transfers_stayOnPrimary() {
+        Team barcelona = teamRepository.save(team("Barcelona", "Spain"));
+        Team liverpool = teamRepository.save(team("Liverpool", "England"));
+        Player player = playerRepository.save(player(barcelona));
+        entityManagerFactory.getCache().evictAll();
+
+        transferService.transferPlayer(player.getId(), liverpool.getId());
+
+        assertEquals(liverpool.getId(), new JdbcTemplate(primary)
+                .queryForObject("SELECT team_id FROM player WHERE id = ?", Long.class, player.getId()));
+        replicate(primary, replica);
+        entityManagerFactory.getCache().evictAll();
+        TeamInformationResponse response = teamService.getAllTeams().get(1);
+        assertEquals("Liverpool", response.getName());
+    }
+
+    @Test
+    void replicaReads_doNotCacheStaleRowsForTransfers() {
+        Team barcelona = teamRepository.save(team("Barcelona", "Spain"));
+        Team liverpool = teamRepository.save(team("Liverpool", "England"));
+        Player player = playerRepository.save(player(barcelona));
+        replicate(primary, replica);
+        entityManagerFactory.getCache().evictAll();
+
+        // the replica is not replicated again, it lags behind the primary from here on
+        assertEquals("Liverpool", transferService.transferPlayer(player.getId(), liverpool.getId()).getTeam().getName());
+        assertEquals("Barcelona", playerService.searchPlayers(search()).getItems().get(0).getTeamName());
+        assertFalse(entityManagerFactory.getCache().contains(Player.class, player.getId()));
+
+        assertEquals("Barcelona", transferService.transferPlayer(player.getId(), barcelona.getId()).getTeam().getName());
+        assertEquals(barcelona.getId(), new JdbcTemplate(primary)
+                .queryForObject("SELECT team_id FROM player WHERE id = ?", Long.class, player.getId()));
+    }
+
+    @Test
+    void transferSimulation_readsSnapshotFromPrimary() {
+        Team barcelona = teamRepository.save(team("Barcelona", "Spain"));
+        Team liverpool = teamRepository.save(team("Liverpool", "England"));
+        Player player = playerRepository.save(player(barcelona));
+        // the repositories do not publish change events, the replica has not received the rows yet
+        transferSimulationService.onTeamChanged(TeamChangedEvent.saved(liverpool));
+
+        TransferSimulationResponse response = transferSimulationService.simulate(
+                List.of(new TransferRequest(player.getId(), liverpool.getId())));
+
+        assertEquals(1, response.getSucceeded());
+    }
+
+    private static void replicate(DataSource primary, DataSource replica) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primary).queryForList("SCRIPT", String.class).forEach(replicaJdbc::execute);
+    }
+
+    private PlayerSearchRequest search() {
+        PlayerSearchRequest request = new PlayerSearchRequest();
+        request.setSize(10);
+        return request;
+    }
+
+    private int count(DataSource dataSource, Long teamId) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM team WHERE id = ?", Integer.class, teamId);
+    }
+
+    private Team team(String name, String country) {
+        Team team = new Team();
+        team.setName(name);
+        team.setCountry(country);
+        team.setBalance(new BigDecimal("1000000"));
+        team.setCommissionRate(3.0);
+        return team;
+    }
+
+    private Player player(Team team) {
+        Player player = new Player();
+        player.setFirstName("Marc");
+        player.setLastName("Casado");
+        player.setAge(21);
+        player.setMonthsOfExperience(30);
+        player.setTeam(team);
+        return player;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.manager.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+import org.example.manager.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LeaderboardController.class)
+class LeaderboardControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @Test
+    void topTeams() throws Exception {
+        Mockito.when(leaderboardService.topTeams(3))
+                .thenReturn(List.of(new LeaderboardEntryResponse(1, 2L, "Manchester United", new BigDecimal("3000000.00"))));
+        mockMvc.perform(get("/leaderboard/teams").param("top", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].name").value("Manchester United"))
+                .andExpect(jsonPath("$[0].value").value("3000000.00"));
+    }
+
+    @Test
+    void topPlayers_defaultTop() throws Exception {
+        Mockito.when(leaderboardService.topPlayers(10))
+                .thenReturn(List.of(new LeaderboardEntryResponse(1, 11L, "Virgil Van Dijk", new BigDecimal("564705.88"))));
+        mockMvc.perform(get("/leaderboard/players"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(11));
+    }
+
+    @Test
+    void playerRank() throws Exception {
+        Mockito.when(leaderboardService.playerRank(10L))
+                .thenReturn(new LeaderboardEntryResponse(2, 10L, "Kylian Mbappe", new BigDecimal("461538.46")));
+        mockMvc.perform(get("/leaderboard/players/10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2));
+    }
+
+    @Test
+    void teamRank_notFound() throws Exception {
+        Mockito.when(leaderboardService.teamRank(99L)).thenThrow(new EntityNotFoundException("Team with id 99 not found"));
+        mockMvc.perform(get("/leaderboard/teams/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void topTeams_invalidTop() throws Exception {
+        Mockito.when(leaderboardService.topTeams(0))
+                .thenThrow(new IllegalArgumentException("Leaderboard size must be between 1 and 100"));
+        mockMvc.perform(get("/leaderboard/teams").param("top", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -2,32 +2,53 @@ package org.example.manager.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.dto.response.PageResponse;
+import org.example.manager.dto.response.PlayerImportResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.ExportService;
+import org.example.manager.service.PlayerImportService;
 import org.example.manager.service.PlayerService;
+import org.example.manager.service.impl.EntityTagServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PlayerController.class)
+@Import(EntityTagServiceImpl.class)
 class PlayerControllerTest {
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private EntityTagServiceImpl entityTagService;
     @MockBean
     private PlayerService playerService;
+    @MockBean
+    private ExportService exportService;
+    @MockBean
+    private PlayerImportService playerImportService;
 
     private Player createPlayerWithTeam(Long playerId, String firstName, String lastName, Long teamId, String teamName) {
         Player player = new Player();
@@ -89,6 +110,38 @@ class PlayerControllerTest {
                 .andExpect(status().isFound());
     }
 
+    @Test
+    void readPlayer_notModifiedWithoutQuery() throws Exception {
+        Player player = createPlayerWithTeam(1L, "Lionel", "Messi", 1L, "FC Barcelona");
+        Mockito.when(playerService.readPlayer(1L)).thenReturn(player);
+        String etag = mockMvc.perform(get("/player/1"))
+                .andExpect(status().isFound())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/player/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(playerService, times(1)).readPlayer(1L);
+    }
+
+    @Test
+    void readPlayer_modifiedAfterTeamVersionChanged() throws Exception {
+        Player player = createPlayerWithTeam(1L, "Lionel", "Messi", 1L, "FC Barcelona");
+        Mockito.when(playerService.readPlayer(1L)).thenReturn(player);
+        String etag = mockMvc.perform(get("/player/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        entityTagService.onPlayerChanged(PlayerChangedEvent.deleted(2L));
+        mockMvc.perform(get("/player/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        player.getTeam().setName("Barcelona");
+        player.getTeam().setVersion(1);
+        entityTagService.onTeamChanged(TeamChangedEvent.saved(player.getTeam()));
+        mockMvc.perform(get("/player/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.team_name").value("Barcelona"));
+    }
+
     @Test
     void readPlayer_notFound() throws Exception {
         Mockito.when(playerService.readPlayer(99L)).thenThrow(new EntityNotFoundException("Player not found"));
@@ -133,8 +186,112 @@ class PlayerControllerTest {
     void listPlayers() throws Exception {
         Player player1 = createPlayerWithTeam(1L, "Lionel", "Messi", 1L, "FC Barcelona");
         Player player2 = createPlayerWithTeam(2L, "Cristiano", "Ronaldo", 2L, "Real Madrid");
-        Mockito.when(playerService.getAllPlayers()).thenReturn(Arrays.asList(player1, player2));
+        Mockito.when(playerService.getAllPlayers()).thenReturn(Arrays.asList(new PlayerInformationResponse(player1), new PlayerInformationResponse(player2)));
         mockMvc.perform(get("/player/list"))
                 .andExpect(status().isOk());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void listPlayers_notModifiedUntilPlayerChanged() throws Exception {
+        Mockito.when(playerService.getAllPlayers()).thenReturn(List.of());
+        String etag = mockMvc.perform(get("/player/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/player/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(playerService, times(1)).getAllPlayers();
+
+        entityTagService.onPlayerChanged(PlayerChangedEvent.deleted(1L));
+        mockMvc.perform(get("/player/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(playerService, times(2)).getAllPlayers();
+    }
+
+    @Test
+    void listPlayers_page() throws Exception {
+        Player player1 = createPlayerWithTeam(3L, "Lionel", "Messi", 1L, "FC Barcelona");
+        Player player2 = createPlayerWithTeam(4L, "Cristiano", "Ronaldo", 2L, "Real Madrid");
+        Mockito.when(playerService.getPlayersPage(2L, 2)).thenReturn(Arrays.asList(new PlayerInformationResponse(player1), new PlayerInformationResponse(player2)));
+        mockMvc.perform(get("/player/list").param("after", "2").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.next_cursor").value(4));
+    }
+
+    @Test
+    void searchPlayers() throws Exception {
+        Player player = createPlayerWithTeam(3L, "Lionel", "Messi", 1L, "FC Barcelona");
+        Mockito.when(playerService.searchPlayers(Mockito.argThat(request ->
+                        request.getMinAge() == 30 && request.getMaxExperience() == 300 && request.getTeamId() == 1L
+                                && "Spain".equals(request.getCountry()) && "Me".equals(request.getName())
+                                && "age,desc".equals(request.getSort()) && request.getPage() == 1 && request.getSize() == 50)))
+                .thenReturn(new PageResponse<>(List.of(new PlayerInformationResponse(player)), 1, 50, false));
+        mockMvc.perform(get("/player/search")
+                        .param("min_age", "30")
+                        .param("max_experience", "300")
+                        .param("team_id", "1")
+                        .param("country", "Spain")
+                        .param("name", "Me")
+                        .param("sort", "age,desc")
+                        .param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].last_name").value("Messi"))
+                .andExpect(jsonPath("$.has_next").value(false));
+    }
+
+    @Test
+    void searchPlayers_invalidSort() throws Exception {
+        Mockito.when(playerService.searchPlayers(any()))
+                .thenThrow(new IllegalArgumentException("Unsupported sort field: balance"));
+        mockMvc.perform(get("/player/search").param("sort", "balance"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listPlayers_lastPage() throws Exception {
+        Player player = createPlayerWithTeam(5L, "Lionel", "Messi", 1L, "FC Barcelona");
+        Mockito.when(playerService.getPlayersPage(4L, 50)).thenReturn(List.of(new PlayerInformationResponse(player)));
+        mockMvc.perform(get("/player/list").param("after", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void exportPlayers_csv() throws Exception {
+        mockMvc.perform(get("/player/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+        Mockito.verify(exportService).exportPlayers(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportPlayers_unsupportedFormat() throws Exception {
+        mockMvc.perform(get("/player/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importPlayers() throws Exception {
+        Mockito.when(playerImportService.importPlayers(eq(ExportFormat.NDJSON), any())).thenReturn(new PlayerImportResponse(
+                1, 1, List.of(new PlayerImportResponse.RowError(2, "Team with this id not found: 99")), false));
+        mockMvc.perform(post("/player/import")
+                .param("format", "ndjson")
+                .contentType("application/x-ndjson")
+                .content("{\"first_name\":\"Lionel\",\"last_name\":\"Messi\",\"age\":36,\"months_of_experience\":240,\"team_id\":1}\n"
+                        + "{\"first_name\":\"Luis\",\"last_name\":\"Suarez\",\"age\":36,\"months_of_experience\":240,\"team_id\":99}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported_rows").value(1))
+                .andExpect(jsonPath("$.rejected_rows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    void importPlayers_unsupportedFormat() throws Exception {
+        mockMvc.perform(post("/player/import")
+                .param("format", "xml")
+                .content("<players/>"))
+                .andExpect(status().isBadRequest());
+    }
+}
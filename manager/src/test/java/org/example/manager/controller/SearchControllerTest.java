@@ -0,0 +1,41 @@
+package org.example.manager.controller;
+
+import org.example.manager.dto.response.SuggestionResponse;
+import org.example.manager.service.SuggestionService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+class SearchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private SuggestionService suggestionService;
+
+    @Test
+    void suggest() throws Exception {
+        Mockito.when(suggestionService.suggest("mes", 10))
+                .thenReturn(List.of(new SuggestionResponse("player", 1L, "Lionel Messi")));
+        mockMvc.perform(get("/search/suggest").param("q", "mes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("player"))
+                .andExpect(jsonPath("$[0].label").value("Lionel Messi"));
+    }
+
+    @Test
+    void suggest_invalidLimit() throws Exception {
+        Mockito.when(suggestionService.suggest("mes", 0))
+                .thenThrow(new IllegalArgumentException("Suggestion limit must be between 1 and 50"));
+        mockMvc.perform(get("/search/suggest").param("q", "mes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
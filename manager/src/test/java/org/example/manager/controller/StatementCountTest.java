@@ -0,0 +1,169 @@
+package org.example.manager.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.manager.metrics.QueryStatisticsMatchers.statementCount;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// runs the whole application against H2, without a test transaction, so every request opens its own session
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class StatementCountTest {
+    private static final String[] FIRST_NAMES = {"Pedri", "Mohamed", "Gavi", "Virgil", "Ronald", "Alisson", "Jules", "Trent", "Frenkie", "Andrew"};
+    private static final String[] LAST_NAMES = {"Gonzalez", "Salah", "Paez", "Van Dijk", "Araujo", "Becker", "Kounde", "Alexander-Arnold", "De Jong", "Robertson"};
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private TransferLedgerRepository transferLedgerRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Team barcelona;
+    private Team liverpool;
+    private final List<Player> players = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // the second-level cache manager is shared with the other test contexts, which use other databases
+        entityManagerFactory.getCache().evictAll();
+        barcelona = teamRepository.save(team("Barcelona", "Spain"));
+        liverpool = teamRepository.save(team("Liverpool", "England"));
+        for(int i = 0; i < 10; i++) {
+            players.add(playerRepository.save(player(i, i % 2 == 0 ? barcelona : liverpool)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferLedgerRepository.deleteAll();
+        playerRepository.deleteAll();
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    void readPlayer() throws Exception {
+        mockMvc.perform(get("/player/{id}", players.get(0).getId()))
+                .andExpect(status().isFound())
+                .andExpect(header().exists("X-Query-Count"))
+                .andExpect(header().exists("X-Query-Time"))
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void readPlayer_notCached() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        // the team is joined by the entity graph, not loaded lazily while the response is built
+        mockMvc.perform(get("/player/{id}", players.get(0).getId()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.team_name").value("Barcelona"))
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void listPlayers() throws Exception {
+        mockMvc.perform(get("/player/list").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void readTeam() throws Exception {
+        mockMvc.perform(get("/team/{id}", barcelona.getId()))
+                .andExpect(status().isFound())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void listTeams() throws Exception {
+        mockMvc.perform(get("/team/list"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void teamPlayers() throws Exception {
+        mockMvc.perform(get("/team/{id}/players", barcelona.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void affordablePlayers() throws Exception {
+        mockMvc.perform(get("/team/{id}/affordable", barcelona.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void searchPlayers() throws Exception {
+        mockMvc.perform(get("/player/search").param("team_id", String.valueOf(barcelona.getId())))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    void transferPlayer() throws Exception {
+        mockMvc.perform(post("/transfer/{playerId}/to/{newTeamId}", players.get(0).getId(), liverpool.getId()))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(statementCount(9));
+    }
+
+    @Test
+    void transferPlayer_keepsUnrelatedTeamCached() throws Exception {
+        Team chelsea = teamRepository.save(team("Chelsea", "England"));
+        mockMvc.perform(get("/team/{id}", chelsea.getId())).andExpect(status().isFound());
+        mockMvc.perform(get("/team/{id}", barcelona.getId())).andExpect(status().isFound());
+        mockMvc.perform(post("/transfer/{playerId}/to/{newTeamId}", players.get(0).getId(), liverpool.getId()))
+                .andExpect(status().is2xxSuccessful());
+        // only the rows of the transfer are evicted, the selling team is reloaded with 120000.00 plus 4% commission
+        assertTrue(entityManagerFactory.getCache().contains(Team.class, chelsea.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Team.class, barcelona.getId()));
+        mockMvc.perform(get("/team/{id}", barcelona.getId()))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.balance").value("2124800.00"));
+    }
+
+    private Team team(String name, String country) {
+        Team team = new Team();
+        team.setName(name);
+        team.setCountry(country);
+        team.setBalance(new BigDecimal("2000000.00"));
+        team.setCommissionRate(4.0);
+        return team;
+    }
+
+    private Player player(int number, Team team) {
+        Player player = new Player();
+        player.setFirstName(FIRST_NAMES[number]);
+        player.setLastName(LAST_NAMES[number]);
+        player.setAge(20 + number);
+        player.setMonthsOfExperience(24 + number * 6);
+        player.setTeam(team);
+        return player;
+    }
+}
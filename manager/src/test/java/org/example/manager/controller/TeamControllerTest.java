@@ -2,33 +2,61 @@ package org.example.manager.controller;
 
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.manager.config.BinaryFormatConfig;
 import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamBalanceResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.event.TeamChangedEvent;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Team;
+import org.example.manager.service.BalanceSnapshotService;
+import org.example.manager.service.ExportFormat;
+import org.example.manager.service.ExportService;
 import org.example.manager.service.TeamService;
+import org.example.manager.service.impl.EntityTagServiceImpl;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TeamController.class)
+@Import({EntityTagServiceImpl.class, BinaryFormatConfig.class})
 class TeamControllerTest {
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private EntityTagServiceImpl entityTagService;
     @MockBean
     private TeamService teamService;
+    @MockBean
+    private ExportService exportService;
+    @MockBean
+    private BalanceSnapshotService balanceSnapshotService;
 
     private Team createTeam(Long id, String name, String country) {
         Team team = new Team();
@@ -78,6 +106,101 @@ class TeamControllerTest {
                 .andExpect(status().isFound());
     }
 
+    @Test
+    void readTeam_notModifiedWithoutQuery() throws Exception {
+        Team team = createTeam(1L, "FC Barcelona", "Spain");
+        Mockito.when(teamService.readTeam(1L)).thenReturn(team);
+        String etag = mockMvc.perform(get("/team/1"))
+                .andExpect(status().isFound())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/team/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        verify(teamService, times(1)).readTeam(1L);
+    }
+
+    @Test
+    void readTeam_notModifiedAfterOtherTeamChanged() throws Exception {
+        Team team = createTeam(1L, "FC Barcelona", "Spain");
+        Mockito.when(teamService.readTeam(1L)).thenReturn(team);
+        String etag = mockMvc.perform(get("/team/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        entityTagService.onTeamChanged(TeamChangedEvent.deleted(2L));
+
+        String newEtag = mockMvc.perform(get("/team/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        verify(teamService, times(2)).readTeam(1L);
+        Assertions.assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void readTeam_modifiedAfterVersionChanged() throws Exception {
+        Team team = createTeam(1L, "FC Barcelona", "Spain");
+        Mockito.when(teamService.readTeam(1L)).thenReturn(team);
+        String etag = mockMvc.perform(get("/team/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        team.setVersion(1);
+        entityTagService.onTeamChanged(TeamChangedEvent.saved(team));
+
+        mockMvc.perform(get("/team/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isFound())
+                .andExpect(jsonPath("$.name").value("FC Barcelona"));
+    }
+
+    @Test
+    void readTeam_smile() throws Exception {
+        Team team = createTeam(1L, "FC Barcelona", "Spain");
+        team.setBalance(new BigDecimal("1000000.50"));
+        Mockito.when(teamService.readTeam(1L)).thenReturn(team);
+        String jsonEtag = mockMvc.perform(get("/team/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        byte[] body = mockMvc.perform(get("/team/1").accept("application/x-jackson-smile"))
+                .andExpect(status().isFound())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(header().string(HttpHeaders.ETAG, not(jsonEtag)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode document = new ObjectMapper(new SmileFactory()).readTree(body);
+        Assertions.assertEquals("FC Barcelona", document.get("name").asText());
+        Assertions.assertEquals(5.0, document.get("commission_rate").asDouble());
+        Assertions.assertTrue(document.get("balance").isBigDecimal());
+        Assertions.assertEquals(0, new BigDecimal("1000000.50").compareTo(document.get("balance").decimalValue()));
+    }
+
+    @Test
+    void readTeam_notModifiedOnlyForSameFormat() throws Exception {
+        Mockito.when(teamService.readTeam(1L)).thenReturn(createTeam(1L, "FC Barcelona", "Spain"));
+        String smileEtag = mockMvc.perform(get("/team/1").accept("application/x-jackson-smile"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/team/1").accept("application/x-jackson-smile").header(HttpHeaders.IF_NONE_MATCH, smileEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/team/1").header(HttpHeaders.IF_NONE_MATCH, smileEtag))
+                .andExpect(status().isFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("FC Barcelona"));
+    }
+
+    @Test
+    void listTeams_cbor() throws Exception {
+        Team team = createTeam(1L, "FC Barcelona", "Spain");
+        Mockito.when(teamService.getAllTeams()).thenReturn(List.of(new TeamInformationResponse(team)));
+        mockMvc.perform(get("/team/list").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void listTeams_notAcceptable() throws Exception {
+        mockMvc.perform(get("/team/list").accept(MediaType.TEXT_HTML))
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     void readTeam_notFound() throws Exception {
         Mockito.when(teamService.readTeam(99L)).thenThrow(new EntityNotFoundException("Team not found"));
@@ -85,6 +208,27 @@ class TeamControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void readTeamBalance() throws Exception {
+        Instant at = Instant.parse("2025-01-01T12:00:00Z");
+        Instant takenAt = Instant.parse("2025-01-01T11:00:00Z");
+        Mockito.when(balanceSnapshotService.getBalanceAt(1L, at))
+                .thenReturn(new TeamBalanceResponse(1L, at, new BigDecimal("1252000.00"), takenAt));
+        mockMvc.perform(get("/team/1/balance").param("at", "2025-01-01T12:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.team_id").value(1))
+                .andExpect(jsonPath("$.balance").value("1252000.00"))
+                .andExpect(jsonPath("$.snapshot_taken_at").value("2025-01-01T11:00:00Z"));
+    }
+
+    @Test
+    void readTeamBalance_noSnapshot() throws Exception {
+        Mockito.when(balanceSnapshotService.getBalanceAt(eq(99L), any(Instant.class)))
+                .thenThrow(new EntityNotFoundException("No balance snapshot of the team found at this time"));
+        mockMvc.perform(get("/team/99/balance"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void updateTeam() throws Exception {
         Team team = createTeam(1L, "FC Barcelona", "Spain");
@@ -132,8 +276,87 @@ class TeamControllerTest {
     void listTeams() throws Exception {
         Team team1 = createTeam(1L, "FC Barcelona", "Spain");
         Team team2 = createTeam(2L, "Real Madrid", "Spain");
-        Mockito.when(teamService.getAllTeams()).thenReturn(Arrays.asList(team1, team2));
+        Mockito.when(teamService.getAllTeams()).thenReturn(Arrays.asList(new TeamInformationResponse(team1), new TeamInformationResponse(team2)));
         mockMvc.perform(get("/team/list"))
                 .andExpect(status().isOk());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void listTeams_notModifiedUntilTeamChanged() throws Exception {
+        Mockito.when(teamService.getAllTeams()).thenReturn(List.of());
+        String etag = mockMvc.perform(get("/team/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/team/list").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+                .andExpect(status().isNotModified());
+        verify(teamService, times(1)).getAllTeams();
+
+        entityTagService.onTeamChanged(TeamChangedEvent.deleted(1L));
+        mockMvc.perform(get("/team/list").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(teamService, times(2)).getAllTeams();
+    }
+
+    @Test
+    void listTeams_page() throws Exception {
+        Team team1 = createTeam(1L, "FC Barcelona", "Spain");
+        Mockito.when(teamService.getTeamsPage(null, 1)).thenReturn(List.of(new TeamInformationResponse(team1)));
+        mockMvc.perform(get("/team/list").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("FC Barcelona"))
+                .andExpect(jsonPath("$.next_cursor").value(1));
+    }
+
+    @Test
+    void listTeamPlayers() throws Exception {
+        Mockito.when(teamService.getTeamPlayersPage(1L, 7L, 2)).thenReturn(List.of(
+                new PlayerInformationResponse(8L, "Lionel", "Messi", 36, 240, "FC Barcelona"),
+                new PlayerInformationResponse(9L, "Robert", "Lewandowski", 36, 228, "FC Barcelona")));
+        mockMvc.perform(get("/team/1/players").param("after", "7").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].last_name").value("Messi"))
+                .andExpect(jsonPath("$.next_cursor").value(9));
+    }
+
+    @Test
+    void listTeamPlayers_notFound() throws Exception {
+        Mockito.when(teamService.getTeamPlayersPage(99L, null, 50))
+                .thenThrow(new EntityNotFoundException("Team with id: 99 not found"));
+        mockMvc.perform(get("/team/99/players"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void listAffordablePlayers() throws Exception {
+        Mockito.when(teamService.getAffordablePlayers(2L, 5)).thenReturn(List.of(
+                new AffordablePlayerResponse(1L, "Lionel", "Messi", "FC Barcelona", new BigDecimal("648648.65"), 5.47)));
+        mockMvc.perform(get("/team/2/affordable").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].team_name").value("FC Barcelona"))
+                .andExpect(jsonPath("$[0].transfer_value").value("648648.65"))
+                .andExpect(jsonPath("$[0].total_cost").value("684129.73"));
+    }
+
+    @Test
+    void listAffordablePlayers_notFound() throws Exception {
+        Mockito.when(teamService.getAffordablePlayers(99L, 50))
+                .thenThrow(new EntityNotFoundException("Team with id: 99 not found"));
+        mockMvc.perform(get("/team/99/affordable"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportTeams_csv() throws Exception {
+        mockMvc.perform(get("/team/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+        Mockito.verify(exportService).exportTeams(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportTeams_unsupportedFormat() throws Exception {
+        mockMvc.perform(get("/team/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,22 +1,34 @@
 package org.example.manager.controller;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.dto.response.TransferSimulationResponse;
+import org.example.manager.dto.response.TransferTicketResponse;
 import org.example.manager.exception.custom.LowBalanceException;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.TransferQueueFullException;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
-import org.example.manager.service.PlayerService;
+import org.example.manager.service.AsyncTransferService;
 import org.example.manager.service.TransferService;
+import org.example.manager.service.TransferSimulationService;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransferController.class)
@@ -26,7 +38,9 @@ class TransferControllerTest {
     @MockBean
     private TransferService transferService;
     @MockBean
-    private PlayerService playerService;
+    private AsyncTransferService asyncTransferService;
+    @MockBean
+    private TransferSimulationService transferSimulationService;
 
     private Player createPlayerWithTeam(Long playerId, String firstName, String lastName, Long teamId, String teamName) {
         Player player = new Player();
@@ -43,8 +57,7 @@ class TransferControllerTest {
     @Test
     void transferPlayer_success() throws Exception {
         Player player = createPlayerWithTeam(1L, "Lionel", "Messi", 2L, "Real Madrid");
-        Mockito.doNothing().when(transferService).transferPlayer(1L, 2L);
-        when(playerService.readPlayer(1L)).thenReturn(player);
+        when(transferService.transferPlayer(1L, 2L)).thenReturn(player);
         mockMvc.perform(post("/transfer/1/to/2")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
@@ -73,4 +86,82 @@ class TransferControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void transferPlayers_batch() throws Exception {
+        when(transferService.transferPlayers(anyList())).thenReturn(List.of(
+                TransferResultResponse.success(1L, 2L),
+                TransferResultResponse.failure(3L, 2L, "New team does not have enough money")));
+        mockMvc.perform(post("/transfer/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"player_id\":1,\"new_team_id\":2},{\"player_id\":3,\"new_team_id\":2}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("New team does not have enough money"));
+    }
+
+    @Test
+    void transferPlayers_emptyBatch() throws Exception {
+        when(transferService.transferPlayers(anyList())).thenThrow(new NullableRequestException("Transfer list cannot be empty"));
+        mockMvc.perform(post("/transfer/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void simulateTransfers() throws Exception {
+        when(transferSimulationService.simulate(anyList())).thenReturn(new TransferSimulationResponse(2, 1, 1,
+                List.of(new TransferSimulationResponse.TeamBalance(2L, new BigDecimal("300000.00"), new BigDecimal("48000.00"))),
+                List.of(new TransferSimulationResponse.StepFailure(2, 3L, 2L, "low_balance", "New team does not have enough money")),
+                false));
+        mockMvc.perform(post("/transfer/simulate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"player_id\":1,\"new_team_id\":2},{\"player_id\":3,\"new_team_id\":2}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.balances[0].balance").value("48000.00"))
+                .andExpect(jsonPath("$.failures[0].outcome").value("low_balance"))
+                .andExpect(jsonPath("$.failures_truncated").value(false));
+    }
+
+    @Test
+    void transferPlayer_async() throws Exception {
+        when(asyncTransferService.submitTransfer(1L, 2L)).thenReturn(
+                new TransferTicketResponse("ticket-1", 1L, 2L, TransferTicketResponse.Status.PENDING, null));
+        mockMvc.perform(post("/transfer/1/to/2")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/transfer/status/ticket-1"))
+                .andExpect(jsonPath("$.ticket_id").value("ticket-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void transferPlayer_asyncQueueFull() throws Exception {
+        when(asyncTransferService.submitTransfer(1L, 2L)).thenThrow(new TransferQueueFullException("Transfer queue is full, retry later"));
+        mockMvc.perform(post("/transfer/1/to/2")
+                .param("async", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void transferStatus_success() throws Exception {
+        when(asyncTransferService.getTransferStatus("ticket-1")).thenReturn(
+                new TransferTicketResponse("ticket-1", 1L, 2L, TransferTicketResponse.Status.FAILED, "Low balance"));
+        mockMvc.perform(get("/transfer/status/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Low balance"));
+    }
+
+    @Test
+    void transferStatus_notFound() throws Exception {
+        when(asyncTransferService.getTransferStatus("unknown")).thenThrow(new EntityNotFoundException("Transfer ticket unknown not found"));
+        mockMvc.perform(get("/transfer/status/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.manager.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_logsOneLinePerRequest() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/player/99"), response,
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertTrue(event.getFormattedMessage().startsWith("GET /player/99 404 "));
+        Map<String, Object> fields = event.getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+        assertEquals("GET", fields.get("http.method"));
+        assertEquals("/player/99", fields.get("url.path"));
+        assertEquals(404, fields.get("http.status"));
+        assertEquals(false, fields.get(AccessLogFilter.SAMPLED_KEY));
+    }
+
+    @Test
+    void doFilter_marksSampledRequestsInMdc() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1);
+        String[] sampled = new String[1];
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/team/list"), new MockHttpServletResponse(),
+                (req, res) -> sampled[0] = MDC.get(AccessLogFilter.SAMPLED_KEY));
+
+        assertEquals("true", sampled[0]);
+        assertNull(MDC.get(AccessLogFilter.SAMPLED_KEY));
+        assertTrue(appender.list.get(0).getKeyValuePairs().contains(new KeyValuePair(AccessLogFilter.SAMPLED_KEY, true)));
+    }
+
+    @Test
+    void constructor_rejectsInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> new AccessLogFilter(1.5));
+    }
+}
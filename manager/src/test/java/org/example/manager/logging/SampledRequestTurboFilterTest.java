@@ -0,0 +1,55 @@
+package org.example.manager.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledRequestTurboFilterTest {
+    private final LoggerContext context = new LoggerContext();
+
+    @BeforeEach
+    void setUp() {
+        SampledRequestTurboFilter filter = new SampledRequestTurboFilter();
+        filter.addLoggerPrefix("org.example.manager");
+        filter.start();
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(AccessLogFilter.SAMPLED_KEY);
+    }
+
+    @Test
+    void decide_keepsLevelsOfUnsampledRequests() {
+        Logger logger = context.getLogger("org.example.manager.service.impl.TransferServiceImpl");
+
+        assertFalse(logger.isDebugEnabled());
+        assertFalse(logger.isInfoEnabled());
+        assertTrue(logger.isWarnEnabled());
+    }
+
+    @Test
+    void decide_acceptsDebugOfSampledRequests() {
+        MDC.put(AccessLogFilter.SAMPLED_KEY, "true");
+        Logger logger = context.getLogger("org.example.manager.service.impl.TransferServiceImpl");
+
+        assertTrue(logger.isDebugEnabled());
+        assertTrue(logger.isInfoEnabled());
+        assertFalse(logger.isTraceEnabled());
+    }
+
+    @Test
+    void decide_onlyForConfiguredPrefixes() {
+        MDC.put(AccessLogFilter.SAMPLED_KEY, "true");
+
+        assertFalse(context.getLogger("org.springframework.web").isDebugEnabled());
+    }
+}
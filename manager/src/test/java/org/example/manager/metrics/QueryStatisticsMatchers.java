@@ -0,0 +1,47 @@
+package org.example.manager.metrics;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MockMvc result matchers asserting the SQL statements a request executed
+ * Needs the QueryStatisticsFilter in the MockMvc filter chain and a real database behind the services,
+ * statements executed while the response body is written are counted too.
+ */
+public final class QueryStatisticsMatchers {
+
+    private QueryStatisticsMatchers() {
+    }
+
+    /**
+     * @param expected exact number of SQL statements the request must execute
+     * @return matcher failing when the request executed a different number of statements
+     */
+    public static ResultMatcher statementCount(int expected) {
+        return result -> assertEquals(expected, statistics(result).getStatementCount(),
+                () -> "SQL statements of " + describe(result));
+    }
+
+    /**
+     * @param max maximum number of SQL statements the request may execute
+     * @return matcher failing when the request executed more statements
+     */
+    public static ResultMatcher statementCountAtMost(int max) {
+        return result -> {
+            int count = statistics(result).getStatementCount();
+            assertTrue(count <= max, () -> "Expected at most " + max + " SQL statements of " + describe(result) + " but was " + count);
+        };
+    }
+
+    private static QueryStatistics statistics(MvcResult result) {
+        Object statistics = result.getRequest().getAttribute(QueryStatisticsFilter.ATTRIBUTE);
+        assertNotNull(statistics, "QueryStatisticsFilter is not applied to " + describe(result));
+        return (QueryStatistics) statistics;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.manager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.exception.custom.LowBalanceException;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.WrongTeamException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TransferMetrics transferMetrics = new TransferMetrics(registry);
+
+    @Test
+    void onTransferCompleted_countsSuccessAndRecordsFee() {
+        transferMetrics.onTransferCompleted(new TransferCompletedEvent(1L, 1L, 2L,
+                new BigDecimal("240000.00"), new BigDecimal("12000.00"),
+                new BigDecimal("1252000.00"), 1, new BigDecimal("748000.00"), 1));
+
+        assertEquals(1.0, count("success"));
+        DistributionSummary fee = registry.get(TransferMetrics.FEE).summary();
+        assertEquals(1, fee.count());
+        assertEquals(240000.0, fee.totalAmount());
+    }
+
+    @Test
+    void recordFailure_countsByOutcome() {
+        transferMetrics.recordFailure(new LowBalanceException("New team does not have enough money"));
+        transferMetrics.recordFailure(new LowBalanceException("New team does not have enough money"));
+        transferMetrics.recordFailure(new WrongTeamException("Player already in the team"));
+        transferMetrics.recordFailure(new EntityNotFoundException("Player with this id not found"));
+        transferMetrics.recordFailure(new NullableRequestException("Player ID and team ID are required"));
+
+        assertEquals(2.0, count("low_balance"));
+        assertEquals(1.0, count("wrong_team"));
+        assertEquals(1.0, count("not_found"));
+        assertEquals(1.0, count("invalid"));
+        assertEquals(0.0, count("success"));
+    }
+
+    private double count(String outcome) {
+        return registry.get(TransferMetrics.TRANSFERS).tag("outcome", outcome).counter().count();
+    }
+}
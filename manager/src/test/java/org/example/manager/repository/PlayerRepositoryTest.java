@@ -1,13 +1,25 @@
 package org.example.manager.repository;
 
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.PlayerSummaryResponse;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,6 +29,36 @@ class PlayerRepositoryTest {
     private PlayerRepository playerRepository;
     @Autowired
     private TeamRepository teamRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findById_fetchesTeam() {
+        Team team = createAndSaveTeam();
+        Player player = playerRepository.save(createPlayer("Leo", "Messi", team));
+        entityManager.flush();
+        entityManager.clear();
+
+        // from the second-level cache
+        assertTrue(Hibernate.isInitialized(playerRepository.findById(player.getId()).orElseThrow().getTeam()));
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        // from the database
+        assertTrue(Hibernate.isInitialized(playerRepository.findById(player.getId()).orElseThrow().getTeam()));
+    }
+
+    @Test
+    void findAllPlayers_readOnlyWithTeams() {
+        Team team = createAndSaveTeam();
+        playerRepository.save(createPlayer("Leo", "Messi", team));
+        entityManager.flush();
+        entityManager.clear();
+
+        Player player = playerRepository.findAllPlayers().get(0);
+
+        assertTrue(entityManager.getEntityManager().unwrap(Session.class).isReadOnly(player));
+        assertTrue(Hibernate.isInitialized(player.getTeam()));
+    }
 
     @Test
     void findAllPlayers() {
@@ -39,6 +81,229 @@ class PlayerRepositoryTest {
         assertEquals(2, players.size());
     }
 
+    @Test
+    void findAllPlayerResponses() {
+        Team team = createAndSaveTeam();
+        playerRepository.save(createPlayer("Leo", "Messi", team));
+        playerRepository.save(createPlayer("Cristiano", "Ronaldo", team));
+        List<PlayerInformationResponse> players = playerRepository.findAllPlayerResponses();
+        assertEquals(2, players.size());
+        assertEquals("Messi", players.get(0).getLastName());
+        assertEquals("Barcelona", players.get(0).getTeamName());
+    }
+
+    @Test
+    void findPlayerResponsesAfter() {
+        Team team = createAndSaveTeam();
+        Player player1 = playerRepository.save(createPlayer("Leo", "Messi", team));
+        Player player2 = playerRepository.save(createPlayer("Cristiano", "Ronaldo", team));
+        Player player3 = playerRepository.save(createPlayer("Kylian", "Mbappe", team));
+        List<PlayerInformationResponse> firstPage = playerRepository.findPlayerResponsesAfter(0L, Limit.of(2));
+        assertEquals(List.of(player1.getId(), player2.getId()),
+                firstPage.stream().map(PlayerInformationResponse::getId).toList());
+        List<PlayerInformationResponse> secondPage = playerRepository.findPlayerResponsesAfter(player2.getId(), Limit.of(2));
+        assertEquals(List.of(player3.getId()), secondPage.stream().map(PlayerInformationResponse::getId).toList());
+        assertEquals("Barcelona", secondPage.get(0).getTeamName());
+    }
+
+    @Test
+    void findPlayerSummariesBetween() {
+        Team team = createAndSaveTeam();
+        Player player1 = playerRepository.save(createPlayer("Leo", "Messi", team));
+        Player player2 = playerRepository.save(createPlayer("Cristiano", "Ronaldo", team));
+        playerRepository.save(createPlayer("Kylian", "Mbappe", team));
+        player2.setAge(31);
+        playerRepository.flush();
+        List<PlayerSummaryResponse> range = playerRepository.findPlayerSummariesBetween(
+                player1.getId() - 1, player2.getId(), Limit.of(5));
+        assertEquals(List.of(player1.getId(), player2.getId()),
+                range.stream().map(PlayerSummaryResponse::getId).toList());
+        assertEquals(List.of(0L, 1L), range.stream().map(PlayerSummaryResponse::getVersion).toList());
+    }
+
+    @Test
+    void findTeamPlayerResponsesAfter() {
+        Team team = createAndSaveTeam();
+        Team otherTeam = new Team();
+        otherTeam.setName("Chelsea");
+        otherTeam.setCountry("England");
+        otherTeam.setBalance(BigDecimal.TEN);
+        otherTeam.setCommissionRate(1.0);
+        otherTeam = teamRepository.save(otherTeam);
+        Player player1 = playerRepository.save(createPlayer("Leo", "Messi", team));
+        playerRepository.save(createPlayer("Cole", "Palmer", otherTeam));
+        Player player3 = playerRepository.save(createPlayer("Kylian", "Mbappe", team));
+        List<PlayerInformationResponse> firstPage = playerRepository.findTeamPlayerResponsesAfter(team.getId(), 0L, Limit.of(1));
+        assertEquals(List.of(player1.getId()), firstPage.stream().map(PlayerInformationResponse::getId).toList());
+        List<PlayerInformationResponse> secondPage =
+                playerRepository.findTeamPlayerResponsesAfter(team.getId(), player1.getId(), Limit.of(5));
+        assertEquals(List.of(player3.getId()), secondPage.stream().map(PlayerInformationResponse::getId).toList());
+        assertEquals("Barcelona", secondPage.get(0).getTeamName());
+    }
+
+    @Test
+    void streamAllPlayerResponses() {
+        Team team = createAndSaveTeam();
+        playerRepository.save(createPlayer("Leo", "Messi", team));
+        playerRepository.save(createPlayer("Cristiano", "Ronaldo", team));
+        try (Stream<PlayerInformationResponse> players = playerRepository.streamAllPlayerResponses()) {
+            assertEquals(List.of("Messi", "Ronaldo"), players.map(PlayerInformationResponse::getLastName).toList());
+        }
+    }
+
+    @Test
+    void findTeamIdsByPlayerIdIn() {
+        Team team = createAndSaveTeam();
+        Player player1 = playerRepository.save(createPlayer("Leo", "Messi", team));
+        Player player2 = playerRepository.save(createPlayer("Cristiano", "Ronaldo", team));
+        List<Long> teamIds = playerRepository.findTeamIdsByPlayerIdIn(List.of(player1.getId(), player2.getId()));
+        assertEquals(List.of(team.getId()), teamIds);
+    }
+
+    @Test
+    void moveToTeam_onlyFromExpectedTeam() {
+        Team team = createAndSaveTeam();
+        Team otherTeam = new Team();
+        otherTeam.setName("Chelsea");
+        otherTeam.setCountry("England");
+        otherTeam.setBalance(BigDecimal.TEN);
+        otherTeam.setCommissionRate(1.0);
+        otherTeam = teamRepository.save(otherTeam);
+        Player player = playerRepository.save(createPlayer("Leo", "Messi", team));
+        assertEquals(0, playerRepository.moveToTeam(player.getId(), otherTeam.getId(), team.getId()));
+        assertEquals(1, playerRepository.moveToTeam(player.getId(), team.getId(), otherTeam.getId()));
+        assertEquals(otherTeam.getId(), playerRepository.findById(player.getId()).orElseThrow().getTeam().getId());
+        assertEquals(1, playerRepository.findById(player.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void findBy_searchSpecification() {
+        Team team = createAndSaveTeam();
+        Team otherTeam = new Team();
+        otherTeam.setName("Chelsea");
+        otherTeam.setCountry("England");
+        otherTeam.setBalance(BigDecimal.TEN);
+        otherTeam.setCommissionRate(1.0);
+        otherTeam = teamRepository.save(otherTeam);
+        playerRepository.save(createPlayer("Leo", "Messi", team));
+        playerRepository.save(createPlayer("Lamine", "Malik", team));
+        playerRepository.save(createPlayer("Filipe", "Malcom", team));
+        playerRepository.save(createPlayer("Luis", "Malouda", otherTeam));
+        Player young = createPlayer("Marc", "Maloney", team);
+        young.setAge(18);
+        young.setMonthsOfExperience(12);
+        playerRepository.save(young);
+
+        PlayerSearchRequest request = new PlayerSearchRequest();
+        request.setCountry("Spain");
+        request.setName("Mal");
+        request.setMinAge(20);
+        Slice<Player> page = playerRepository.findBy(PlayerSpecifications.matching(request),
+                query -> query.slice(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "lastName"))));
+        assertEquals(List.of("Malik"), page.map(Player::getLastName).getContent());
+        assertTrue(page.hasNext());
+
+        // wildcards in the prefix match literally
+        request.setName("Ma%");
+        Slice<Player> escaped = playerRepository.findBy(PlayerSpecifications.matching(request),
+                query -> query.slice(PageRequest.of(0, 10, Sort.by("id"))));
+        assertTrue(escaped.isEmpty());
+    }
+
+    @Test
+    void transferValue_followsAgeAndExperience() {
+        Player player = playerRepository.saveAndFlush(createPlayer("Leo", "Messi", createAndSaveTeam()));
+        assertEquals(new BigDecimal("400000.00"), player.getTransferValue());
+
+        player.setAge(31);
+        playerRepository.saveAndFlush(player);
+
+        // 120 * 100000 / 31
+        assertEquals(new BigDecimal("387096.77"), player.getTransferValue());
+    }
+
+    @Test
+    void backfillTransferValues_fillsMissingValuesOnly() {
+        Team team = createAndSaveTeam();
+        Player stored = playerRepository.save(createPlayer("Leo", "Messi", team));
+        Player older = createPlayer("Luis", "Suarez", team);
+        older.setAge(31);
+        older = playerRepository.save(older);
+        entityManager.flush();
+        // a row stored before the column existed
+        entityManager.getEntityManager().createNativeQuery("UPDATE player SET transfer_value = NULL WHERE id = :id")
+                .setParameter("id", older.getId())
+                .executeUpdate();
+
+        assertEquals(1, playerRepository.backfillTransferValues());
+        assertEquals(0, playerRepository.backfillTransferValues());
+        // 120 * 100000 / 31, the same rounding as the application
+        assertEquals(new BigDecimal("387096.77"), playerRepository.findById(older.getId()).orElseThrow().getTransferValue());
+        assertEquals(new BigDecimal("400000.00"), playerRepository.findById(stored.getId()).orElseThrow().getTransferValue());
+    }
+
+    @Test
+    void findAffordableBy_accountsForCommissionOfSeller() {
+        Team seller = createAndSaveTeam();
+        Team expensiveSeller = createTeam("Real Madrid", new BigDecimal("1000000"), 10.0);
+        Team buyer = createTeam("Chelsea", new BigDecimal("410000"), 1.0);
+        Player affordable = playerRepository.save(createPlayer("Leo", "Messi", seller));
+        Player older = createPlayer("Luis", "Suarez", seller);
+        older.setAge(38);
+        playerRepository.save(older);
+        Player tooExpensive = createPlayer("Lamine", "Yamal", seller);
+        tooExpensive.setAge(29);
+        playerRepository.save(tooExpensive);
+        // 400000 plus 10% commission exceeds the balance
+        playerRepository.save(createPlayer("Luka", "Modric", expensiveSeller));
+        playerRepository.save(createPlayer("Cole", "Palmer", buyer));
+        entityManager.flush();
+
+        List<AffordablePlayerResponse> players = playerRepository.findAffordableBy(buyer.getId(), Limit.of(10));
+
+        assertEquals(List.of(affordable.getId(), older.getId()), players.stream().map(AffordablePlayerResponse::getId).toList());
+        assertEquals(new BigDecimal("4000.00"), players.get(0).getCommission());
+        assertEquals(new BigDecimal("404000.00"), players.get(0).getTotalCost());
+        assertEquals(1, playerRepository.findAffordableBy(buyer.getId(), Limit.of(1)).size());
+        assertTrue(playerRepository.findAffordableBy(-1L, Limit.of(10)).isEmpty());
+    }
+
+    @Test
+    void findAffordableBy_roundsCommissionLikeTransfer() {
+        Team seller = createTeam("Real Madrid", new BigDecimal("1000000"), 3.0);
+        Player player = createPlayer("Jude", "Bellingham", seller);
+        player.setAge(33);
+        playerRepository.save(player);
+        // 120 * 100000 / 33 = 363636.36, 3% commission 10909.0908 is rounded down to 10909.09
+        Team exact = createTeam("Chelsea", new BigDecimal("374545.45"), 1.0);
+        Team centShort = createTeam("Arsenal", new BigDecimal("374545.44"), 1.0);
+        entityManager.flush();
+
+        assertEquals(List.of(player.getId()), playerRepository.findAffordableBy(exact.getId(), Limit.of(10)).stream()
+                .map(AffordablePlayerResponse::getId).toList());
+        assertEquals(new BigDecimal("374545.45"), playerRepository.findAffordableBy(exact.getId(), Limit.of(10)).get(0).getTotalCost());
+        assertTrue(playerRepository.findAffordableBy(centShort.getId(), Limit.of(10)).isEmpty());
+    }
+
+    private Team createTeam(String name, BigDecimal balance, double commissionRate) {
+        Team team = new Team();
+        team.setName(name);
+        team.setCountry("Spain");
+        team.setBalance(balance);
+        team.setCommissionRate(commissionRate);
+        return teamRepository.save(team);
+    }
+
+    private Player createPlayer(String firstName, String lastName, Team team) {
+        Player player = new Player();
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setAge(30);
+        player.setMonthsOfExperience(120);
+        player.setTeam(team);
+        return player;
+    }
+
     private Team createAndSaveTeam() {
         Team team = new Team();
         team.setName("Barcelona");
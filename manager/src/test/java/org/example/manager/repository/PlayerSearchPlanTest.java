@@ -0,0 +1,123 @@
+package org.example.manager.repository;
+
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.service.TransferFeeCalculator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// explains the statements Hibernate generates for the search, with the filter values inlined into the SQL
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.manager.repository.PlayerSearchPlanTest$CapturingInspector"
+})
+class PlayerSearchPlanTest {
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private long teamId;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> teams = new ArrayList<>();
+        for(int i = 0; i < 20; i++) {
+            teams.add(new Object[]{"Team" + (char) ('A' + i), i % 2 == 0 ? "Spain" : "England", 1000, 5.0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO team(name, country, balance, commission_rate) VALUES (?, ?, ?, ?)", teams);
+        teamId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM team", Long.class);
+        List<Object[]> players = new ArrayList<>();
+        for(int i = 0; i < 2000; i++) {
+            int age = 16 + i % 30;
+            int monthsOfExperience = i % ((age - 6) * 12);
+            players.add(new Object[]{"First", "Last" + (char) ('A' + i % 26) + i, age, monthsOfExperience,
+                    TransferFeeCalculator.transferAmount(monthsOfExperience, age), teamId + i % 20});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO player(first_name, last_name, age, months_of_experience, transfer_value, team_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", players);
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void ageRange_usesAgeExperienceIndex() {
+        assertPlayerIndex(search(r -> {
+            r.setMinAge(20);
+            r.setMaxAge(22);
+        }), "IDX_PLAYER_AGE_EXPERIENCE");
+    }
+
+    @Test
+    void ageAndExperienceRange_usesAgeExperienceIndex() {
+        assertPlayerIndex(search(r -> {
+            r.setMinAge(30);
+            r.setMaxAge(30);
+            r.setMinExperience(100);
+            r.setMaxExperience(120);
+        }), "IDX_PLAYER_AGE_EXPERIENCE");
+    }
+
+    @Test
+    void team_usesTeamIndex() {
+        // H2 also indexes the foreign key on its own, either index on team_id is a range scan
+        assertPlayerIndexOn(search(r -> r.setTeamId(teamId)), "TEAM_ID");
+    }
+
+    @Test
+    void namePrefix_usesNameIndex() {
+        assertPlayerIndex(search(r -> r.setName("LastQ")), "IDX_PLAYER_NAME");
+    }
+
+    @Test
+    void country_usesTeamCountryAndPlayerTeamIndexes() {
+        String plan = search(r -> r.setCountry("Spain"));
+        assertPlayerIndexOn(plan, "TEAM_ID");
+        assertTrue(plan.contains("PUBLIC.IDX_TEAM_COUNTRY"), plan);
+    }
+
+    private String search(java.util.function.Consumer<PlayerSearchRequest> filters) {
+        PlayerSearchRequest request = new PlayerSearchRequest();
+        filters.accept(request);
+        playerRepository.findBy(PlayerSpecifications.matching(request),
+                query -> query.slice(PageRequest.of(0, 20, Sort.by("id"))));
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        // the page limit is a bind parameter, the filter predicates decide the access path
+        String unlimited = sql.replaceAll("\\s+(offset \\? rows\\s+)?fetch first \\? rows only$", "");
+        return jdbcTemplate.queryForObject("EXPLAIN " + unlimited, String.class);
+    }
+
+    private void assertPlayerIndex(String plan, String index) {
+        assertTrue(plan.contains("PUBLIC." + index), plan);
+        assertFalse(plan.contains("PUBLIC.PLAYER.tableScan"), plan);
+    }
+
+    private void assertPlayerIndexOn(String plan, String column) {
+        assertTrue(plan.matches("(?s).*/\\* PUBLIC\\.\\w+: " + column + " = .*"), plan);
+        assertFalse(plan.contains("PUBLIC.PLAYER.tableScan"), plan);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
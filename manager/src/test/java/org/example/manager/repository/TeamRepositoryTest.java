@@ -1,9 +1,15 @@
 package org.example.manager.repository;
 
+import org.example.manager.dto.response.TeamInformationResponse;
+import jakarta.persistence.EntityManagerFactory;
 import org.example.manager.model.Team;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -13,6 +19,10 @@ import static org.junit.jupiter.api.Assertions.*;
 class TeamRepositoryTest {
     @Autowired
     private TeamRepository teamRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Test
     void findAllTeams() {
@@ -45,6 +55,71 @@ class TeamRepositoryTest {
         assertFalse(notExists);
     }
 
+    @Test
+    void findAllTeamResponses() {
+        teamRepository.save(createTeam("Barcelona", "Spain"));
+        teamRepository.save(createTeam("Chelsea", "England"));
+        List<TeamInformationResponse> teams = teamRepository.findAllTeamResponses();
+        assertEquals(2, teams.size());
+        assertEquals("Barcelona", teams.get(0).getName());
+    }
+
+    @Test
+    void findTeamResponsesAfter() {
+        Team team1 = teamRepository.save(createTeam("Barcelona", "Spain"));
+        Team team2 = teamRepository.save(createTeam("Chelsea", "England"));
+        List<TeamInformationResponse> firstPage = teamRepository.findTeamResponsesAfter(0L, Limit.of(1));
+        assertEquals(1, firstPage.size());
+        assertEquals(team1.getId(), firstPage.get(0).getId());
+        List<TeamInformationResponse> secondPage = teamRepository.findTeamResponsesAfter(team1.getId(), Limit.of(5));
+        assertEquals(1, secondPage.size());
+        assertEquals(team2.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void withdraw_onlyWhenBalanceCoversAmount() {
+        Team team = teamRepository.save(createTeam("Barcelona", "Spain"));
+        assertEquals(0, teamRepository.withdraw(team.getId(), new BigDecimal("10.01")));
+        assertEquals(1, teamRepository.withdraw(team.getId(), new BigDecimal("4.00")));
+        assertEquals(0, new BigDecimal("6.00").compareTo(teamRepository.findById(team.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void withdrawAndDeposit_incrementVersion() {
+        Team team = teamRepository.saveAndFlush(createTeam("Barcelona", "Spain"));
+        assertEquals(0, team.getVersion());
+        teamRepository.withdraw(team.getId(), new BigDecimal("4.00"));
+        teamRepository.deposit(team.getId(), new BigDecimal("1.00"));
+        assertEquals(2, teamRepository.findById(team.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void deposit() {
+        Team team = teamRepository.save(createTeam("Barcelona", "Spain"));
+        assertEquals(1, teamRepository.deposit(team.getId(), new BigDecimal("2.50")));
+        assertEquals(0, teamRepository.deposit(-1L, new BigDecimal("2.50")));
+        assertEquals(0, new BigDecimal("12.50").compareTo(teamRepository.findById(team.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deposit_keepsOtherTeamsCached() {
+        // every call commits on its own, the cache is filled by loads and left to the caller by the native update
+        Team team = teamRepository.save(createTeam("Barcelona", "Spain"));
+        Team otherTeam = teamRepository.save(createTeam("Chelsea", "England"));
+        try {
+            teamRepository.findById(team.getId());
+            teamRepository.findById(otherTeam.getId());
+            transactionTemplate.executeWithoutResult(status -> teamRepository.deposit(team.getId(), new BigDecimal("2.50")));
+            assertTrue(entityManagerFactory.getCache().contains(Team.class, otherTeam.getId()));
+            entityManagerFactory.getCache().evict(Team.class, team.getId());
+            assertEquals(0, new BigDecimal("12.50").compareTo(teamRepository.findById(team.getId()).orElseThrow().getBalance()));
+        } finally {
+            teamRepository.deleteAll();
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+
     private Team createTeam(String name, String country) {
         Team team = new Team();
         team.setName(name);
@@ -0,0 +1,30 @@
+package org.example.manager.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseFormatTest {
+
+    @Test
+    void fromAccept_defaultsToJson() throws HttpMediaTypeNotAcceptableException {
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept(null));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("*/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("application/*"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("text/html, */*;q=0.8"));
+    }
+
+    @Test
+    void fromAccept_binaryFormats() throws HttpMediaTypeNotAcceptableException {
+        assertEquals(ResponseFormat.SMILE, ResponseFormat.fromAccept("application/x-jackson-smile"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.fromAccept("application/cbor, */*"));
+        assertEquals(ResponseFormat.CBOR, ResponseFormat.fromAccept("application/json;q=0.5, application/cbor"));
+        assertEquals(ResponseFormat.JSON, ResponseFormat.fromAccept("application/x-jackson-smile;q=0, application/json"));
+    }
+
+    @Test
+    void fromAccept_notAcceptable() {
+        assertThrows(HttpMediaTypeNotAcceptableException.class, () -> ResponseFormat.fromAccept("text/html"));
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.manager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferFeeCalculatorTest {
+
+    @Test
+    void transferAmount_roundsHalfUp() {
+        assertEquals(new BigDecimal("240000.00"), TransferFeeCalculator.transferAmount(60, 25));
+        assertEquals(new BigDecimal("33333.33"), TransferFeeCalculator.transferAmount(10, 30));
+        assertEquals(new BigDecimal("66666.67"), TransferFeeCalculator.transferAmount(20, 30));
+    }
+
+    @Test
+    void commission_roundsHalfUp() {
+        assertEquals(new BigDecimal("12000.00"), TransferFeeCalculator.commission(new BigDecimal("240000.00"), 5.0));
+        assertEquals(new BigDecimal("0.01"), TransferFeeCalculator.commission(new BigDecimal("0.10"), 5.0));
+        assertEquals(new BigDecimal("0.00"), TransferFeeCalculator.commission(new BigDecimal("240000.00"), 0.0));
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.manager.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferSnapshotTest {
+    private final TransferSnapshot snapshot = new TransferSnapshot(
+            new long[]{1, 2, 3},
+            new long[]{100_000_000, 30_000_000, 0},
+            // the rate of team 3 has more decimals than the long arithmetic handles
+            new double[]{5.0, 2.5, 3.333333333},
+            new long[]{10, 11, 12},
+            new int[]{25, 30, 30},
+            new int[]{60, 10, 20},
+            new long[]{1, 2, 3});
+
+    @Test
+    void simulate_appliesTransfersInOrder() {
+        TransferSnapshot.Simulation simulation = snapshot.simulate(
+                new long[]{10, 10, 99, 11, 12, 12, 10},
+                new long[]{2, 2, 1, 99, 2, 1, 3});
+
+        assertEquals(SimulatedTransferOutcome.SUCCESS, simulation.outcome(0));
+        assertEquals(SimulatedTransferOutcome.WRONG_TEAM, simulation.outcome(1));
+        assertEquals(SimulatedTransferOutcome.PLAYER_NOT_FOUND, simulation.outcome(2));
+        assertEquals(SimulatedTransferOutcome.TEAM_NOT_FOUND, simulation.outcome(3));
+        // 66666.67 plus 2222.22 commission of team 3 exceeds the 48000.00 left to team 2
+        assertEquals(SimulatedTransferOutcome.LOW_BALANCE, simulation.outcome(4));
+        assertEquals(SimulatedTransferOutcome.SUCCESS, simulation.outcome(5));
+        // the commission of a transfer is the one of the current team of the player, team 2 after step 1
+        assertEquals(SimulatedTransferOutcome.LOW_BALANCE, simulation.outcome(6));
+        assertEquals(2, simulation.succeeded());
+        assertEquals(118_311_111, simulation.balance(0));
+        assertEquals(4_800_000, simulation.balance(1));
+        assertEquals(6_888_889, simulation.balance(2));
+        assertTrue(simulation.involved(1));
+        assertEquals(30_000_000, snapshot.balance(1));
+    }
+
+    @Test
+    void simulate_startsFromSnapshotEveryTime() {
+        snapshot.simulate(new long[]{10}, new long[]{2});
+
+        assertEquals(SimulatedTransferOutcome.SUCCESS, snapshot.simulate(new long[]{10}, new long[]{2}).outcome(0));
+    }
+
+    @Test
+    void simulate_findsSparseIds() {
+        TransferSnapshot sparse = new TransferSnapshot(new long[]{1, 5000}, new long[]{0, 100_000_000},
+                new double[]{0.0, 0.0}, new long[]{7, 900_000}, new int[]{25, 25}, new int[]{60, 60}, new long[]{1, 5000});
+
+        TransferSnapshot.Simulation simulation = sparse.simulate(new long[]{7, 8, 900_000}, new long[]{5000, 5000, 2});
+
+        assertEquals(SimulatedTransferOutcome.SUCCESS, simulation.outcome(0));
+        assertEquals(SimulatedTransferOutcome.PLAYER_NOT_FOUND, simulation.outcome(1));
+        assertEquals(SimulatedTransferOutcome.TEAM_NOT_FOUND, simulation.outcome(2));
+        assertEquals(24_000_000, simulation.balance(0));
+    }
+
+    @Test
+    void transferAmount_matchesCalculator() {
+        for(int age = 16; age <= 45; age++) {
+            for(int months = 0; months <= (age - 6) * 12; months++) {
+                assertEquals(TransferFeeCalculator.transferAmount(months, age).unscaledValue().longValueExact(),
+                        TransferSnapshot.transferAmount(months, age));
+            }
+        }
+    }
+
+    @Test
+    void commission_matchesCalculator() {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] rates = new double[200];
+        long[] teamIds = new long[rates.length];
+        for(int i = 0; i < rates.length; i++) {
+            teamIds[i] = i + 1;
+            rates[i] = i % 4 == 0 ? random.nextDouble(0, 10) : random.nextInt(0, 1001) / 100.0;
+        }
+        TransferSnapshot teams = new TransferSnapshot(teamIds, new long[rates.length], rates,
+                new long[0], new int[0], new int[0], new long[0]);
+        for(int i = 0; i < 100_000; i++) {
+            int team = random.nextInt(rates.length);
+            int age = random.nextInt(16, 46);
+            long amount = TransferSnapshot.transferAmount(random.nextInt(0, (age - 6) * 12 + 1), age);
+            assertEquals(TransferFeeCalculator.commission(BigDecimal.valueOf(amount, 2), rates[team])
+                            .unscaledValue().longValueExact(), teams.commission(amount, team), "rate " + rates[team]);
+        }
+    }
+
+    @Test
+    void constructor_rejectsUnknownTeam() {
+        assertThrows(IllegalArgumentException.class, () -> new TransferSnapshot(new long[]{1}, new long[]{0},
+                new double[]{1.0}, new long[]{10}, new int[]{20}, new int[]{12}, new long[]{2}));
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.manager.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.dto.response.TransferTicketResponse;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.TransferQueueFullException;
+import org.example.manager.service.TransferService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AsyncTransferServiceImplTest {
+    private final TransferService transferService = mock(TransferService.class);
+    private AsyncTransferServiceImpl asyncTransferService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if(asyncTransferService != null) asyncTransferService.stop();
+    }
+
+    @Test
+    void submitTransfer_completed() throws InterruptedException {
+        when(transferService.transferPlayers(anyList())).thenAnswer(invocation -> {
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> TransferResultResponse.success(request.getPlayerId(), request.getNewTeamId()))
+                    .toList();
+        });
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 2, 10, 10, 100);
+        asyncTransferService.start();
+
+        TransferTicketResponse ticket = asyncTransferService.submitTransfer(1L, 2L);
+
+        assertEquals(TransferTicketResponse.Status.PENDING, ticket.getStatus());
+        TransferTicketResponse result = awaitFinished(ticket.getTicketId());
+        assertEquals(TransferTicketResponse.Status.COMPLETED, result.getStatus());
+        assertNull(result.getError());
+    }
+
+    @Test
+    void submitTransfer_failed() throws InterruptedException {
+        when(transferService.transferPlayers(anyList())).thenAnswer(invocation -> {
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> TransferResultResponse.failure(request.getPlayerId(), request.getNewTeamId(),
+                            "New team does not have enough money"))
+                    .toList();
+        });
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 2, 10, 10, 100);
+        asyncTransferService.start();
+
+        TransferTicketResponse ticket = asyncTransferService.submitTransfer(1L, 2L);
+
+        TransferTicketResponse result = awaitFinished(ticket.getTicketId());
+        assertEquals(TransferTicketResponse.Status.FAILED, result.getStatus());
+        assertEquals("New team does not have enough money", result.getError());
+    }
+
+    @Test
+    void submitTransfer_batchThrows() throws InterruptedException {
+        when(transferService.transferPlayers(anyList())).thenThrow(new IllegalStateException("Database unavailable"));
+        when(transferService.transferPlayer(1L, 2L)).thenThrow(new IllegalStateException("Database unavailable"));
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 1, 10, 10, 100);
+        asyncTransferService.start();
+
+        TransferTicketResponse ticket = asyncTransferService.submitTransfer(1L, 2L);
+
+        TransferTicketResponse result = awaitFinished(ticket.getTicketId());
+        assertEquals(TransferTicketResponse.Status.FAILED, result.getStatus());
+        assertEquals("Database unavailable", result.getError());
+        // retried once as a batch, then on its own
+        verify(transferService, times(2)).transferPlayers(anyList());
+        verify(transferService).transferPlayer(1L, 2L);
+    }
+
+    @Test
+    void submitTransfer_batchItemThrows_failsOnlyThatItem() throws InterruptedException {
+        // a lock timeout on the row of player 2 fails every batch containing it
+        when(transferService.transferPlayers(anyList())).thenAnswer(invocation -> {
+            List<TransferRequest> requests = invocation.getArgument(0);
+            if(requests.stream().anyMatch(request -> request.getPlayerId() == 2L)) {
+                throw new IllegalStateException("Lock wait timeout");
+            }
+            return requests.stream()
+                    .map(request -> TransferResultResponse.success(request.getPlayerId(), request.getNewTeamId()))
+                    .toList();
+        });
+        when(transferService.transferPlayer(2L, 5L)).thenThrow(new IllegalStateException("Lock wait timeout"));
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 1, 10, 10, 100);
+        asyncTransferService.start();
+
+        TransferTicketResponse first = asyncTransferService.submitTransfer(1L, 5L);
+        TransferTicketResponse failing = asyncTransferService.submitTransfer(2L, 5L);
+        TransferTicketResponse last = asyncTransferService.submitTransfer(3L, 5L);
+
+        assertEquals(TransferTicketResponse.Status.COMPLETED, awaitFinished(first.getTicketId()).getStatus());
+        TransferTicketResponse result = awaitFinished(failing.getTicketId());
+        assertEquals(TransferTicketResponse.Status.FAILED, result.getStatus());
+        assertEquals("Lock wait timeout", result.getError());
+        assertEquals(TransferTicketResponse.Status.COMPLETED, awaitFinished(last.getTicketId()).getStatus());
+    }
+
+    @Test
+    void submitTransfer_sameSellerRunsInParallelPartitions() throws InterruptedException {
+        // players 1 and 4 play for the same team, the two buyers fall into different partitions
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        when(transferService.transferPlayers(anyList())).thenAnswer(invocation -> {
+            bothInFlight.countDown();
+            // only returns if the other partition applies its batch at the same time
+            assertTrue(bothInFlight.await(5, TimeUnit.SECONDS));
+            List<TransferRequest> requests = invocation.getArgument(0);
+            return requests.stream()
+                    .map(request -> TransferResultResponse.success(request.getPlayerId(), request.getNewTeamId()))
+                    .toList();
+        });
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 2, 10, 10, 100);
+        asyncTransferService.start();
+
+        TransferTicketResponse first = asyncTransferService.submitTransfer(1L, 2L);
+        TransferTicketResponse second = asyncTransferService.submitTransfer(4L, 3L);
+
+        assertEquals(TransferTicketResponse.Status.COMPLETED, awaitFinished(first.getTicketId()).getStatus());
+        assertEquals(TransferTicketResponse.Status.COMPLETED, awaitFinished(second.getTicketId()).getStatus());
+        verify(transferService, times(2)).transferPlayers(anyList());
+    }
+
+    @Test
+    void submitTransfer_queueFull() {
+        // writers are not started, so the single slot of the queue is never drained
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 1, 1, 10, 100);
+
+        assertThrows(TransferQueueFullException.class, () -> asyncTransferService.submitTransfer(1L, 2L));
+        verifyNoInteractions(transferService);
+    }
+
+    @Test
+    void submitTransfer_nullRequest() {
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 1, 10, 10, 100);
+        asyncTransferService.start();
+
+        assertThrows(NullableRequestException.class, () -> asyncTransferService.submitTransfer(null, 2L));
+    }
+
+    @Test
+    void getTransferStatus_unknownTicket() {
+        asyncTransferService = new AsyncTransferServiceImpl(transferService, 1, 10, 10, 100);
+
+        assertThrows(EntityNotFoundException.class, () -> asyncTransferService.getTransferStatus("unknown"));
+    }
+
+    private TransferTicketResponse awaitFinished(String ticketId) throws InterruptedException {
+        for(int i = 0; i < 100; i++) {
+            TransferTicketResponse ticket = asyncTransferService.getTransferStatus(ticketId);
+            if(ticket.getStatus() != TransferTicketResponse.Status.PENDING) return ticket;
+            Thread.sleep(50);
+        }
+        fail("Transfer " + ticketId + " was not processed in time");
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.manager.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.TeamBalanceResponse;
+import org.example.manager.model.Team;
+import org.example.manager.model.TeamBalanceSnapshot;
+import org.example.manager.model.TransferLedgerEntry;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the row lock of the snapshot is rendered by the H2 dialect, the PostgreSQL one uses FOR NO KEY UPDATE
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(BalanceSnapshotServiceImpl.class)
+class BalanceSnapshotServiceImplTest {
+    @Autowired
+    private BalanceSnapshotServiceImpl balanceSnapshotService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private TransferLedgerRepository transferLedgerRepository;
+    private static final long OTHER_TEAM_ID = 1_000_000L;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = new Team();
+        team.setName("Barcelona");
+        team.setCountry("Spain");
+        team.setBalance(new BigDecimal("1000.00"));
+        team.setCommissionRate(5.0);
+        team = teamRepository.save(team);
+    }
+
+    @Test
+    void getBalanceAt_addsLedgerTailToSnapshot() {
+        TransferLedgerEntry before = transferLedgerRepository.save(entry(team.getId(), OTHER_TEAM_ID, "100.00", "5.00"));
+        TeamBalanceSnapshot snapshot = balanceSnapshotService.snapshotTeam(team.getId());
+        assertEquals(before.getId(), snapshot.getLastLedgerId());
+
+        // the read-only rebuild does not flush the test transaction
+        transferLedgerRepository.saveAllAndFlush(List.of(
+                entry(team.getId(), OTHER_TEAM_ID, "200.00", "10.00"),
+                entry(OTHER_TEAM_ID + 1, team.getId(), "50.00", "0.00"),
+                entry(OTHER_TEAM_ID, OTHER_TEAM_ID + 1, "999.00", "1.00")));
+
+        TeamBalanceResponse balance = balanceSnapshotService.getBalanceAt(team.getId(), Instant.now());
+        assertEquals(new BigDecimal("1160.00"), balance.getBalance());
+        assertEquals(snapshot.getTakenAt(), balance.getSnapshotTakenAt());
+    }
+
+    @Test
+    void getBalanceAt_beforeFirstSnapshot() {
+        TeamBalanceSnapshot snapshot = balanceSnapshotService.snapshotTeam(team.getId());
+        Instant before = snapshot.getTakenAt().minusSeconds(1);
+
+        assertThrows(EntityNotFoundException.class, () -> balanceSnapshotService.getBalanceAt(team.getId(), before));
+    }
+
+    @Test
+    void snapshotChangedTeams_skipsUnchangedTeams() {
+        balanceSnapshotService.snapshotTeam(team.getId());
+        assertEquals(0, balanceSnapshotService.snapshotChangedTeams());
+
+        transferLedgerRepository.save(entry(team.getId(), OTHER_TEAM_ID, "200.00", "10.00"));
+        assertEquals(1, balanceSnapshotService.snapshotChangedTeams());
+        assertEquals(0, balanceSnapshotService.snapshotChangedTeams());
+    }
+
+    @Test
+    void snapshotTeam_notFound() {
+        assertThrows(EntityNotFoundException.class, () -> balanceSnapshotService.snapshotTeam(999999L));
+    }
+
+    private TransferLedgerEntry entry(Long fromTeamId, Long toTeamId, String fee, String commission) {
+        return new TransferLedgerEntry(1L, fromTeamId, toTeamId, new BigDecimal(fee), new BigDecimal(commission));
+    }
+}
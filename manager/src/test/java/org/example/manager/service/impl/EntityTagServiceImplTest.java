@@ -0,0 +1,69 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.service.EntityTagService.Resource;
+import org.example.manager.service.ResponseFormat;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagServiceImplTest {
+    private final EntityTagServiceImpl entityTagService = new EntityTagServiceImpl();
+
+    @Test
+    void findCurrentTag_matchesOnlyCurrentGeneration() {
+        String listTag = entityTagService.listTag(Resource.TEAM, ResponseFormat.JSON, 0);
+        String entityTag = entityTagService.entityTag(Resource.TEAM, ResponseFormat.JSON, 0, 3);
+
+        assertEquals(listTag, entityTagService.findCurrentTag("\"other\", W/" + listTag, Resource.TEAM, ResponseFormat.JSON, 0));
+        assertEquals(entityTag, entityTagService.findCurrentTag(entityTag, Resource.TEAM, ResponseFormat.JSON, 0));
+        assertNull(entityTagService.findCurrentTag(entityTag, Resource.TEAM, ResponseFormat.JSON, 1));
+        assertNull(entityTagService.findCurrentTag(entityTag, Resource.PLAYER, ResponseFormat.JSON, 0));
+        assertNull(entityTagService.findCurrentTag(null, Resource.TEAM, ResponseFormat.JSON, 0));
+    }
+
+    @Test
+    void findCurrentTag_rejectsTagsOfAnotherInstance() {
+        String tag = new EntityTagServiceImpl().listTag(Resource.TEAM, ResponseFormat.JSON, 0);
+
+        assertNull(entityTagService.findCurrentTag(tag, Resource.TEAM, ResponseFormat.JSON, 0));
+    }
+
+    @Test
+    void matchesVersions_acrossGenerations() {
+        String oldTag = entityTagService.entityTag(Resource.PLAYER, ResponseFormat.JSON, 0, 1, 2);
+
+        assertTrue(entityTagService.matchesVersions(oldTag, entityTagService.entityTag(Resource.PLAYER, ResponseFormat.JSON, 5, 1, 2)));
+        assertFalse(entityTagService.matchesVersions(oldTag, entityTagService.entityTag(Resource.PLAYER, ResponseFormat.JSON, 5, 1, 3)));
+        assertFalse(entityTagService.matchesVersions(oldTag, entityTagService.entityTag(Resource.TEAM, ResponseFormat.JSON, 5, 1, 2)));
+        assertTrue(entityTagService.matchesVersions("*", oldTag));
+        assertFalse(entityTagService.matchesVersions("\"garbage\"", oldTag));
+    }
+
+    @Test
+    void tags_differByFormat() {
+        String jsonTag = entityTagService.entityTag(Resource.TEAM, ResponseFormat.JSON, 0, 1);
+        String smileTag = entityTagService.entityTag(Resource.TEAM, ResponseFormat.SMILE, 0, 1);
+
+        assertNotEquals(jsonTag, smileTag);
+        assertNull(entityTagService.findCurrentTag(smileTag, Resource.TEAM, ResponseFormat.JSON, 0));
+        assertNull(entityTagService.findCurrentTag(jsonTag, Resource.TEAM, ResponseFormat.CBOR, 0));
+        assertFalse(entityTagService.matchesVersions(smileTag, entityTagService.entityTag(Resource.TEAM, ResponseFormat.JSON, 3, 1)));
+        assertTrue(entityTagService.matchesVersions(smileTag, entityTagService.entityTag(Resource.TEAM, ResponseFormat.SMILE, 3, 1)));
+    }
+
+    @Test
+    void events_bumpGenerations() {
+        entityTagService.onPlayersImported(new PlayersImportedEvent(10, 1L, 10L));
+        assertEquals(0, entityTagService.currentGeneration(Resource.TEAM));
+        assertEquals(1, entityTagService.currentGeneration(Resource.PLAYER));
+
+        entityTagService.onTransferCompleted(new TransferCompletedEvent(1L, 1L, 2L, BigDecimal.ONE, BigDecimal.ZERO,
+                BigDecimal.TEN, 1, BigDecimal.ONE, 1));
+        assertEquals(1, entityTagService.currentGeneration(Resource.TEAM));
+        assertEquals(2, entityTagService.currentGeneration(Resource.PLAYER));
+    }
+}
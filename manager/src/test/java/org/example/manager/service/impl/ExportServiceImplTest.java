@@ -0,0 +1,76 @@
+package org.example.manager.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    private ExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(playerRepository, teamRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportPlayers_ndjson() throws Exception {
+        when(playerRepository.streamAllPlayerResponses()).thenReturn(Stream.of(
+                new PlayerInformationResponse(1L, "Lionel", "Messi", 37, 240, "FC Barcelona"),
+                new PlayerInformationResponse(2L, "Harry", "Kane", 31, 168, "Manchester United")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPlayers(ExportFormat.NDJSON, out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"first_name\":\"Lionel\",\"last_name\":\"Messi\",\"age\":37," +
+                "\"months_of_experience\":240,\"team_name\":\"FC Barcelona\"}", lines[0]);
+    }
+
+    @Test
+    void exportPlayers_csv() throws Exception {
+        when(playerRepository.streamAllPlayerResponses()).thenReturn(Stream.of(
+                new PlayerInformationResponse(1L, "Lionel", "Messi", 37, 240, "Barcelona, FC")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportPlayers(ExportFormat.CSV, out);
+        assertEquals("id,first_name,last_name,age,months_of_experience,team_name\n" +
+                "1,Lionel,Messi,37,240,\"Barcelona, FC\"\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportTeams_csv() throws Exception {
+        when(teamRepository.streamAllTeamResponses()).thenReturn(Stream.of(
+                new TeamInformationResponse(1L, "Liverpool", "England", new BigDecimal("110000000.00"), 3.05)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTeams(ExportFormat.CSV, out);
+        assertEquals("id,name,country,balance,commission_rate\n" +
+                "1,Liverpool,England,110000000.00,3.05\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportTeams_empty() throws Exception {
+        when(teamRepository.streamAllTeamResponses()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportTeams(ExportFormat.NDJSON, out);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.manager.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.response.LeaderboardEntryResponse;
+import org.example.manager.dto.response.PlayerSummaryResponse;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.event.TransferCompletedEvent;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceImplTest {
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @InjectMocks
+    private LeaderboardServiceImpl leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        when(teamRepository.findAllTeams()).thenReturn(List.of(
+                team(1L, "Paris Saint-Germain", "1000000.00"),
+                team(2L, "Manchester United", "3000000.00"),
+                team(3L, "Liverpool", "2000000.00")));
+        when(playerRepository.findPlayerSummariesBetween(0L, Long.MAX_VALUE, Limit.of(5000))).thenReturn(List.of(
+                new PlayerSummaryResponse(10L, "Kylian", "Mbappe", 26, 120, 0),
+                new PlayerSummaryResponse(11L, "Virgil", "Van Dijk", 34, 192, 3)));
+        leaderboardService.load();
+    }
+
+    @Test
+    void topTeams_orderedByBalance() {
+        assertEquals(List.of(
+                new LeaderboardEntryResponse(1, 2L, "Manchester United", new BigDecimal("3000000.00")),
+                new LeaderboardEntryResponse(2, 3L, "Liverpool", new BigDecimal("2000000.00"))),
+                leaderboardService.topTeams(2));
+        assertEquals(3, leaderboardService.topTeams(10).size());
+    }
+
+    @Test
+    void topPlayers_orderedByTransferValue() {
+        // 192 * 100000 / 34 = 564705.88, 120 * 100000 / 26 = 461538.46
+        assertEquals(List.of(
+                new LeaderboardEntryResponse(1, 11L, "Virgil Van Dijk", new BigDecimal("564705.88")),
+                new LeaderboardEntryResponse(2, 10L, "Kylian Mbappe", new BigDecimal("461538.46"))),
+                leaderboardService.topPlayers(10));
+    }
+
+    @Test
+    void onTransferCompleted_setsBalancesOfBothTeams() {
+        leaderboardService.onTransferCompleted(new TransferCompletedEvent(10L, 1L, 2L,
+                new BigDecimal("1500000.00"), new BigDecimal("75000.00"),
+                new BigDecimal("2575000.00"), 1, new BigDecimal("1425000.00"), 1));
+
+        assertEquals(new LeaderboardEntryResponse(1, 1L, "Paris Saint-Germain", new BigDecimal("2575000.00")),
+                leaderboardService.teamRank(1L));
+        assertEquals(new LeaderboardEntryResponse(3, 2L, "Manchester United", new BigDecimal("1425000.00")),
+                leaderboardService.teamRank(2L));
+    }
+
+    @Test
+    void events_olderThanLeaderboardAreIgnored() {
+        // the transfer committed after the team update, but its listener ran first
+        leaderboardService.onTransferCompleted(new TransferCompletedEvent(10L, 1L, 2L,
+                new BigDecimal("1500000.00"), new BigDecimal("75000.00"),
+                new BigDecimal("4575000.00"), 2, new BigDecimal("1425000.00"), 1));
+        leaderboardService.onTeamChanged(new TeamChangedEvent(1L, "PSG", new BigDecimal("3000000.00"), 1, false));
+        leaderboardService.onTransferCompleted(new TransferCompletedEvent(11L, 3L, 2L,
+                new BigDecimal("100000.00"), new BigDecimal("5000.00"),
+                new BigDecimal("2105000.00"), 1, new BigDecimal("1320000.00"), 2));
+        leaderboardService.onTransferCompleted(new TransferCompletedEvent(10L, 1L, 2L,
+                new BigDecimal("1500000.00"), new BigDecimal("75000.00"),
+                new BigDecimal("2575000.00"), 1, new BigDecimal("1425000.00"), 1));
+
+        assertEquals(new LeaderboardEntryResponse(1, 1L, "Paris Saint-Germain", new BigDecimal("4575000.00")),
+                leaderboardService.teamRank(1L));
+        assertEquals(new LeaderboardEntryResponse(3, 2L, "Manchester United", new BigDecimal("1320000.00")),
+                leaderboardService.teamRank(2L));
+    }
+
+    @Test
+    void playerEvents_olderThanLeaderboardAreIgnored() {
+        // Virgil Van Dijk was loaded with version 3, a change committed before the load is delivered late
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(11L, "Virgil", "Van Dijk", 20, 192, 2, false));
+        assertEquals(new BigDecimal("564705.88"), leaderboardService.playerRank(11L).getValue());
+
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(10L, "Kylian", "Mbappe", 20, 120, 2, false));
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(10L, "Kylian", "Mbappe", 24, 120, 1, false));
+        assertEquals(new BigDecimal("600000.00"), leaderboardService.playerRank(10L).getValue());
+
+        // an update delivered after the deletion does not bring the player back
+        leaderboardService.onPlayerChanged(PlayerChangedEvent.deleted(10L));
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(10L, "Kylian", "Mbappe", 21, 120, 3, false));
+        assertThrows(EntityNotFoundException.class, () -> leaderboardService.playerRank(10L));
+    }
+
+    @Test
+    void onChanged_updatesAndRemovesEntries() {
+        leaderboardService.onTeamChanged(new TeamChangedEvent(4L, "Real Madrid", new BigDecimal("5000000"), 0, false));
+        leaderboardService.onTeamChanged(TeamChangedEvent.deleted(2L));
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(10L, "Kylian", "Mbappe", 20, 120, 1, false));
+        leaderboardService.onPlayerChanged(PlayerChangedEvent.deleted(11L));
+        // a transfer of the deleted team delivered late does not bring it back
+        leaderboardService.onTransferCompleted(new TransferCompletedEvent(10L, 1L, 2L,
+                new BigDecimal("1500000.00"), new BigDecimal("75000.00"),
+                new BigDecimal("1000000.00"), 0, new BigDecimal("1425000.00"), 5));
+
+        assertEquals(List.of(4L, 3L, 1L), leaderboardService.topTeams(10).stream().map(LeaderboardEntryResponse::getId).toList());
+        assertEquals(new LeaderboardEntryResponse(1, 10L, "Kylian Mbappe", new BigDecimal("600000.00")),
+                leaderboardService.playerRank(10L));
+        assertThrows(EntityNotFoundException.class, () -> leaderboardService.playerRank(11L));
+        assertThrows(EntityNotFoundException.class, () -> leaderboardService.teamRank(2L));
+    }
+
+    @Test
+    void onPlayersImported_loadsImportedRange() {
+        // a player created during the import got a greater ID and was added before the import committed
+        leaderboardService.onPlayerChanged(new PlayerChangedEvent(13L, "Jude", "Bellingham", 22, 60, 0, false));
+        when(playerRepository.findPlayerSummariesBetween(11L, 13L, Limit.of(5000))).thenReturn(List.of(
+                new PlayerSummaryResponse(12L, "Lionel", "Messi", 36, 240, 0),
+                new PlayerSummaryResponse(13L, "Jude", "Bellingham", 22, 60, 0)));
+
+        leaderboardService.onPlayersImported(new PlayersImportedEvent(1, 12L, 13L));
+
+        assertEquals(1, leaderboardService.playerRank(12L).getRank());
+        verify(playerRepository).findPlayerSummariesBetween(11L, 13L, Limit.of(5000));
+    }
+
+    @Test
+    void top_outOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.topTeams(0));
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.topPlayers(LeaderboardServiceImpl.MAX_TOP + 1));
+    }
+
+    private static Team team(Long id, String name, String balance) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName(name);
+        team.setCountry("England");
+        team.setBalance(new BigDecimal(balance));
+        team.setCommissionRate(5.0);
+        return team;
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.response.PlayerImportResponse;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// runs against H2, so the JDBC batch fallback is exercised instead of COPY
+@DataJpaTest
+@RecordApplicationEvents
+@Import(PlayerImportServiceImpl.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class PlayerImportServiceImplTest {
+    @Autowired
+    private PlayerImportServiceImpl playerImportService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    private Team team;
+
+    @BeforeEach
+    void setUp() {
+        team = new Team();
+        team.setName("Barcelona");
+        team.setCountry("Spain");
+        team.setBalance(BigDecimal.TEN);
+        team.setCommissionRate(1.0);
+        team = teamRepository.save(team);
+    }
+
+    @Test
+    void importPlayers_csv() throws IOException {
+        String csv = "team_id,first_name,last_name,age,months_of_experience\n"
+                + team.getId() + ",Lionel,Messi,36,240\n"
+                + "\n"
+                + team.getId() + ",\"Van Dijk\",Virgil,32,120\n";
+
+        PlayerImportResponse response = playerImportService.importPlayers(ExportFormat.CSV, stream(csv));
+
+        assertEquals(2, response.getImportedRows());
+        assertEquals(0, response.getRejectedRows());
+        assertEquals(2, playerRepository.findAllPlayerResponses().size());
+        // 240 * 100000 / 36
+        assertTrue(playerRepository.findAll().stream()
+                .anyMatch(player -> new BigDecimal("666666.67").equals(player.getTransferValue())));
+    }
+
+    @Test
+    void importPlayers_publishesRangeOfImportedIds() throws IOException {
+        Player existing = new Player();
+        existing.setFirstName("Luis");
+        existing.setLastName("Suarez");
+        existing.setAge(36);
+        existing.setMonthsOfExperience(240);
+        existing.setTeam(team);
+        existing = playerRepository.saveAndFlush(existing);
+        String csv = "team_id,first_name,last_name,age,months_of_experience\n"
+                + team.getId() + ",Lionel,Messi,36,240\n"
+                + team.getId() + ",Neymar,Junior,32,180\n";
+
+        playerImportService.importPlayers(ExportFormat.CSV, stream(csv));
+
+        PlayersImportedEvent event = applicationEvents.stream(PlayersImportedEvent.class).findFirst().orElseThrow();
+        assertEquals(2, event.getImportedRows());
+        assertEquals(existing.getId() + 1, event.getFirstPlayerId());
+        for(Player player : playerRepository.findAll()) {
+            if(player.getId().equals(existing.getId())) continue;
+            assertTrue(player.getId() >= event.getFirstPlayerId() && player.getId() <= event.getLastPlayerId());
+        }
+    }
+
+    @Test
+    void importPlayers_csvRejectsInvalidRows() throws IOException {
+        String csv = "first_name,last_name,age,months_of_experience,team_id\n"
+                + "Lionel,Messi,36,240," + team.getId() + "\n"
+                + "Young,Player,18,240," + team.getId() + "\n"
+                + "lowercase,Name,20,10," + team.getId() + "\n"
+                + "Luis,Suarez,36,240,999999\n"
+                + "Luis,Suarez,old,240," + team.getId() + "\n"
+                + "Luis,Suarez,36\n"
+                + "Luis,Suarez,36,," + team.getId() + "\n";
+
+        PlayerImportResponse response = playerImportService.importPlayers(ExportFormat.CSV, stream(csv));
+
+        assertEquals(1, response.getImportedRows());
+        assertEquals(6, response.getRejectedRows());
+        assertFalse(response.isErrorsTruncated());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertEquals("Months of experience cannot be greater than max experience", response.getErrors().get(0).getError());
+        assertEquals("First name must start with capital letters", response.getErrors().get(1).getError());
+        assertEquals("Team with this id not found: 999999", response.getErrors().get(2).getError());
+        assertEquals("Invalid number in age: old", response.getErrors().get(3).getError());
+        assertEquals("Expected 5 columns but found 3", response.getErrors().get(4).getError());
+        assertEquals("Missing required fields: months_of_experience", response.getErrors().get(5).getError());
+        assertEquals(1, playerRepository.findAllPlayerResponses().size());
+    }
+
+    @Test
+    void importPlayers_csvWithoutRequiredColumn() {
+        String csv = "first_name,last_name,age\nLionel,Messi,36\n";
+
+        assertThrows(IllegalArgumentException.class, () -> playerImportService.importPlayers(ExportFormat.CSV, stream(csv)));
+    }
+
+    @Test
+    void importPlayers_ndjson() throws IOException {
+        String ndjson = "{\"first_name\":\"Lionel\",\"last_name\":\"Messi\",\"age\":36,\"months_of_experience\":240,\"team_id\":" + team.getId() + "}\n"
+                + "{\"first_name\":\"Luis\",\n"
+                + "{\"first_name\":\"Luis\",\"last_name\":\"Suarez\",\"age\":37,\"months_of_experience\":250,\"team_id\":" + team.getId() + "}\n";
+
+        PlayerImportResponse response = playerImportService.importPlayers(ExportFormat.NDJSON, stream(ndjson));
+
+        assertEquals(2, response.getImportedRows());
+        assertEquals(1, response.getRejectedRows());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getError().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importPlayers_moreRowsThanOneBatch() throws IOException {
+        StringBuilder csv = new StringBuilder("first_name,last_name,age,months_of_experience,team_id\n");
+        int rows = PlayerImportServiceImpl.BATCH_SIZE + 10;
+        for(int i = 0; i < rows; i++) {
+            csv.append("Lionel,Messi,36,240,").append(team.getId()).append('\n');
+        }
+
+        PlayerImportResponse response = playerImportService.importPlayers(ExportFormat.CSV, stream(csv.toString()));
+
+        assertEquals(rows, response.getImportedRows());
+        assertEquals(rows, playerRepository.count());
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,20 +2,34 @@ package org.example.manager.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.example.manager.dto.request.PlayerInformationRequest;
+import org.example.manager.dto.request.PlayerSearchRequest;
+import org.example.manager.dto.response.PageResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.event.PlayerChangedEvent;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
 import org.example.manager.repository.PlayerRepository;
 import org.example.manager.repository.TeamRepository;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor.SpecificationFluentQuery;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +40,8 @@ class PlayerServiceImplTest {
     private PlayerRepository playerRepository;
     @Mock
     private TeamRepository teamRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private PlayerServiceImpl playerService;
 
@@ -39,6 +55,7 @@ class PlayerServiceImplTest {
         Player result = playerService.createPlayer(request);
         assertNotNull(result);
         verify(playerRepository).save(any(Player.class));
+        verify(eventPublisher).publishEvent(any(PlayerChangedEvent.class));
     }
 
     @Test
@@ -68,10 +85,10 @@ class PlayerServiceImplTest {
         Team team = new Team();
         when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
         when(teamRepository.findById(2L)).thenReturn(Optional.of(team));
-        when(playerRepository.save(any(Player.class))).thenReturn(player);
+        when(playerRepository.saveAndFlush(any(Player.class))).thenReturn(player);
         Player result = playerService.updatePlayer(1L, request);
         assertNotNull(result);
-        verify(playerRepository).save(any(Player.class));
+        verify(playerRepository).saveAndFlush(any(Player.class));
     }
 
     @Test
@@ -119,17 +136,82 @@ class PlayerServiceImplTest {
         doNothing().when(playerRepository).delete(player);
         playerService.deletePlayer(1L);
         verify(playerRepository).delete(player);
+        verify(eventPublisher).publishEvent(PlayerChangedEvent.deleted(1L));
     }
 
     @Test
     void getAllPlayers_success() {
-        Player player1 = new Player();
-        Player player2 = new Player();
-        when(playerRepository.findAllPlayers()).thenReturn(Arrays.asList(player1, player2));
-        List<Player> players = playerService.getAllPlayers();
+        PlayerInformationResponse player1 = createResponse(1L);
+        PlayerInformationResponse player2 = createResponse(2L);
+        when(playerRepository.findAllPlayerResponses()).thenReturn(Arrays.asList(player1, player2));
+        List<PlayerInformationResponse> players = playerService.getAllPlayers();
         assertEquals(2, players.size());
     }
 
+    @Test
+    void getPlayersPage_success() {
+        when(playerRepository.findPlayerResponsesAfter(10L, Limit.of(20))).thenReturn(List.of(createResponse(11L)));
+        List<PlayerInformationResponse> players = playerService.getPlayersPage(10L, 20);
+        assertEquals(1, players.size());
+    }
+
+    @Test
+    void getPlayersPage_startsFromBeginningWithoutCursor() {
+        when(playerRepository.findPlayerResponsesAfter(0L, Limit.of(20))).thenReturn(List.of());
+        playerService.getPlayersPage(null, 20);
+        verify(playerRepository).findPlayerResponsesAfter(0L, Limit.of(20));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchPlayers_slicesWithSortAndIdTieBreaker() {
+        Team team = new Team();
+        team.setName("Barcelona");
+        Player player = new Player();
+        player.setId(1L);
+        player.setLastName("Messi");
+        player.setTeam(team);
+        PageRequest expected = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "age").and(Sort.by("id")));
+        SpecificationFluentQuery<Player> query = mock(SpecificationFluentQuery.class);
+        when(query.slice(expected)).thenReturn(new SliceImpl<>(List.of(player), expected, true));
+        ArgumentCaptor<Function<SpecificationFluentQuery<Player>, Slice<Player>>> queryFunction =
+                ArgumentCaptor.forClass(Function.class);
+        when(playerRepository.findBy(any(Specification.class), queryFunction.capture()))
+                .thenAnswer(invocation -> queryFunction.getValue().apply(query));
+
+        PageResponse<PlayerInformationResponse> page = playerService.searchPlayers(
+                createSearchRequest("age,desc", 2, 10));
+
+        assertEquals("Messi", page.getItems().get(0).getLastName());
+        assertEquals("Barcelona", page.getItems().get(0).getTeamName());
+        assertTrue(page.isHasNext());
+    }
+
+    @Test
+    void searchPlayers_invalidRequest() {
+        assertThrows(NullableRequestException.class, () -> playerService.searchPlayers(null));
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(createSearchRequest(null, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(createSearchRequest(null, 0, 501)));
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(createSearchRequest(null, 1001, 10)));
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(createSearchRequest("balance", 0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(createSearchRequest("age,up", 0, 10)));
+        PlayerSearchRequest invertedRange = createSearchRequest(null, 0, 10);
+        invertedRange.setMinAge(30);
+        invertedRange.setMaxAge(20);
+        assertThrows(IllegalArgumentException.class, () -> playerService.searchPlayers(invertedRange));
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    void getPlayersPage_invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayersPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> playerService.getPlayersPage(null, 501));
+    }
+
+    private PlayerInformationResponse createResponse(Long id) {
+        return new PlayerInformationResponse(id, "Leo", "Messi", 38, 380, "Barcelona");
+    }
+
     private PlayerInformationRequest createRequest(String firstName, String lastName, Integer age, Integer monthsOfExperience, Long teamId) {
         PlayerInformationRequest req = new PlayerInformationRequest();
         req.setFirstName(firstName);
@@ -139,4 +221,12 @@ class PlayerServiceImplTest {
         req.setTeamId(teamId);
         return req;
     }
-} 
\ No newline at end of file
+
+    private PlayerSearchRequest createSearchRequest(String sort, int page, int size) {
+        PlayerSearchRequest request = new PlayerSearchRequest();
+        request.setSort(sort);
+        request.setPage(page);
+        request.setSize(size);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.manager.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedSkipListTest {
+
+    @Test
+    void ranksByScoreThenId() {
+        RankedSkipList list = new RankedSkipList();
+        list.put(1L, 100);
+        list.put(2L, 300);
+        list.put(3L, 100);
+        list.put(4L, 200);
+
+        assertArrayEquals(new long[]{2L, 4L, 1L, 3L}, list.ids(1, 10));
+        assertArrayEquals(new long[]{1L, 3L}, list.ids(3, 2));
+        assertEquals(1, list.rank(2L));
+        assertEquals(4, list.rank(3L));
+        assertEquals(0, list.rank(99L));
+    }
+
+    @Test
+    void putMovesExistingEntry() {
+        RankedSkipList list = new RankedSkipList();
+        list.put(1L, 100);
+        list.put(2L, 200);
+        list.put(1L, 300);
+
+        assertEquals(2, list.size());
+        assertEquals(1, list.rank(1L));
+        assertEquals(300, list.score(1L));
+        assertTrue(list.remove(1L));
+        assertFalse(list.remove(1L));
+        assertArrayEquals(new long[]{2L}, list.ids(1, 10));
+    }
+
+    @Test
+    void matchesSortedReference() {
+        RankedSkipList list = new RankedSkipList();
+        Map<Long, Long> scores = new HashMap<>();
+        Random random = new Random(42);
+        for(int step = 0; step < 20_000; step++) {
+            long id = random.nextInt(500);
+            if(random.nextInt(4) == 0) {
+                assertEquals(scores.remove(id) != null, list.remove(id));
+            } else {
+                long score = random.nextInt(100);
+                scores.put(id, score);
+                list.put(id, score);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(scores.keySet());
+        expected.sort(Comparator.<Long>comparingLong(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        assertEquals(expected.size(), list.size());
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), list.ids(1, expected.size()));
+        for(int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, list.rank(expected.get(i)));
+            assertArrayEquals(new long[]{expected.get(i)}, list.ids(i + 1, 1));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.response.PlayerSummaryResponse;
+import org.example.manager.dto.response.SuggestionResponse;
+import org.example.manager.event.PlayerChangedEvent;
+import org.example.manager.event.PlayersImportedEvent;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceImplTest {
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private TeamRepository teamRepository;
+    @InjectMocks
+    private SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        when(teamRepository.findAllTeams()).thenReturn(List.of(
+                team(1L, "Paris Saint-Germain"), team(2L, "Manchester United")));
+        when(playerRepository.findPlayerSummariesBetween(0L, Long.MAX_VALUE, Limit.of(5000))).thenReturn(List.of(
+                new PlayerSummaryResponse(10L, "Kylian", "Mbappe", 26, 120, 0),
+                new PlayerSummaryResponse(11L, "Virgil", "Van Dijk", 34, 192, 3)));
+        suggestionService.load();
+    }
+
+    @Test
+    void suggest_matchesEveryNameWord() {
+        assertEquals(List.of(new SuggestionResponse("player", 11L, "Virgil Van Dijk")), suggestionService.suggest("dij", 10));
+        assertEquals(List.of(new SuggestionResponse("player", 11L, "Virgil Van Dijk")), suggestionService.suggest("Virg", 10));
+        assertEquals(List.of(new SuggestionResponse("team", 1L, "Paris Saint-Germain")), suggestionService.suggest("germ", 10));
+        assertEquals(List.of(new SuggestionResponse("team", 2L, "Manchester United")), suggestionService.suggest("  UNITED ", 10));
+    }
+
+    @Test
+    void suggest_ignoresAccentsAndLimits() {
+        suggestionService.onPlayerChanged(new PlayerChangedEvent(12L, "Kylian", "Mbappé", 25, 96, 0, false));
+        List<SuggestionResponse> suggestions = suggestionService.suggest("mbappe", 10);
+        assertEquals(List.of(10L, 12L), suggestions.stream().map(SuggestionResponse::getId).toList());
+        assertEquals(1, suggestionService.suggest("mbappé", 1).size());
+        assertTrue(suggestionService.suggest(" ", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.suggest("m", 0));
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.suggest("m", 51));
+    }
+
+    @Test
+    void suggest_suggestsEntityOnce() {
+        suggestionService.onTeamChanged(new TeamChangedEvent(3L, "Real Real", BigDecimal.TEN, 0, false));
+        assertEquals(1, suggestionService.suggest("real", 10).size());
+    }
+
+    @Test
+    void onChanged_replacesAndRemovesNames() {
+        suggestionService.onPlayerChanged(new PlayerChangedEvent(11L, "Virgil", "Dijkstra", 32, 120, 4, false));
+        assertTrue(suggestionService.suggest("van", 10).isEmpty());
+        assertEquals("Virgil Dijkstra", suggestionService.suggest("dijk", 10).get(0).getLabel());
+
+        suggestionService.onPlayerChanged(PlayerChangedEvent.deleted(11L));
+        assertTrue(suggestionService.suggest("virgil", 10).isEmpty());
+
+        suggestionService.onTeamChanged(TeamChangedEvent.deleted(2L));
+        assertTrue(suggestionService.suggest("manchester", 10).isEmpty());
+    }
+
+    @Test
+    void onPlayersImported_indexesImportedRange() {
+        // a player created during the import got a greater ID and was indexed before the import committed
+        suggestionService.onPlayerChanged(new PlayerChangedEvent(14L, "Jude", "Bellingham", 22, 60, 1, false));
+        when(playerRepository.findPlayerSummariesBetween(11L, 14L, Limit.of(5000))).thenReturn(List.of(
+                new PlayerSummaryResponse(12L, "Erling", "Haaland", 25, 84, 0),
+                new PlayerSummaryResponse(14L, "Jude", "Bellingham", 22, 60, 1)));
+
+        suggestionService.onPlayersImported(new PlayersImportedEvent(1, 12L, 14L));
+
+        assertEquals(12L, suggestionService.suggest("haa", 10).get(0).getId());
+        verify(playerRepository).findPlayerSummariesBetween(11L, 14L, Limit.of(5000));
+        verify(playerRepository, times(2)).findPlayerSummariesBetween(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void events_olderThanIndexAreIgnored() {
+        // Virgil Van Dijk was loaded with version 3, a change committed before the load is delivered late
+        suggestionService.onPlayerChanged(new PlayerChangedEvent(11L, "Virgil", "Dijkstra", 32, 120, 2, false));
+        assertEquals("Virgil Van Dijk", suggestionService.suggest("virgil", 10).get(0).getLabel());
+
+        suggestionService.onPlayerChanged(PlayerChangedEvent.deleted(10L));
+        suggestionService.onPlayerChanged(new PlayerChangedEvent(10L, "Kylian", "Mbappe", 27, 132, 1, false));
+        assertTrue(suggestionService.suggest("kylian", 10).isEmpty());
+
+        suggestionService.onTeamChanged(new TeamChangedEvent(1L, "Paris FC", BigDecimal.TEN, 1, false));
+        suggestionService.onTeamChanged(new TeamChangedEvent(1L, "Paris Saint-Germain", BigDecimal.TEN, 0, false));
+        assertEquals("Paris FC", suggestionService.suggest("paris", 10).get(0).getLabel());
+    }
+
+    private static Team team(Long id, String name) {
+        Team team = new Team();
+        team.setId(id);
+        team.setName(name);
+        return team;
+    }
+}
@@ -3,14 +3,22 @@ package org.example.manager.service.impl;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.example.manager.dto.request.TeamInformationRequest;
+import org.example.manager.dto.response.AffordablePlayerResponse;
+import org.example.manager.dto.response.PlayerInformationResponse;
+import org.example.manager.dto.response.TeamInformationResponse;
+import org.example.manager.event.TeamChangedEvent;
 import org.example.manager.exception.custom.NullableRequestException;
 import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
 import org.example.manager.repository.TeamRepository;
+import org.example.manager.service.BalanceSnapshotService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -24,6 +32,12 @@ import static org.mockito.Mockito.*;
 class TeamServiceImplTest {
     @Mock
     private TeamRepository teamRepository;
+    @Mock
+    private PlayerRepository playerRepository;
+    @Mock
+    private BalanceSnapshotService balanceSnapshotService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private TeamServiceImpl teamService;
 
@@ -36,6 +50,7 @@ class TeamServiceImplTest {
         Team result = teamService.createTeam(request);
         assertNotNull(result);
         verify(teamRepository).save(any(Team.class));
+        verify(balanceSnapshotService).snapshotTeam(team.getId());
     }
 
     @Test
@@ -57,10 +72,25 @@ class TeamServiceImplTest {
         team.setName("Juventus");
         when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
         when(teamRepository.existsByNameAndIdNot("Lazio", 1L)).thenReturn(false);
-        when(teamRepository.save(any(Team.class))).thenReturn(team);
+        when(teamRepository.saveAndFlush(any(Team.class))).thenReturn(team);
         Team result = teamService.updateTeam(1L, request);
         assertNotNull(result);
-        verify(teamRepository).save(any(Team.class));
+        verify(teamRepository).saveAndFlush(any(Team.class));
+    }
+
+    @Test
+    void updateTeam_snapshotsChangedBalanceOnly() {
+        Team team = new Team();
+        team.setName("Lazio");
+        team.setBalance(new BigDecimal("2000.00"));
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(team));
+        when(teamRepository.saveAndFlush(any(Team.class))).thenReturn(team);
+
+        teamService.updateTeam(1L, createRequest("Lazio", "Italy", new BigDecimal("2000"), 6.0));
+        verify(balanceSnapshotService, never()).snapshotTeam(any());
+
+        teamService.updateTeam(1L, createRequest("Lazio", "Italy", new BigDecimal("2500"), 6.0));
+        verify(balanceSnapshotService).snapshotTeam(1L);
     }
 
     @Test
@@ -99,17 +129,79 @@ class TeamServiceImplTest {
         doNothing().when(teamRepository).delete(team);
         teamService.deleteTeam(1L);
         verify(teamRepository).delete(team);
+        verify(eventPublisher).publishEvent(TeamChangedEvent.deleted(1L));
     }
 
     @Test
     void getAllTeams_success() {
-        Team team1 = new Team();
-        Team team2 = new Team();
-        when(teamRepository.findAllTeams()).thenReturn(Arrays.asList(team1, team2));
-        List<Team> teams = teamService.getAllTeams();
+        TeamInformationResponse team1 = createResponse(1L, "Barcelona");
+        TeamInformationResponse team2 = createResponse(2L, "Chelsea");
+        when(teamRepository.findAllTeamResponses()).thenReturn(Arrays.asList(team1, team2));
+        List<TeamInformationResponse> teams = teamService.getAllTeams();
         assertEquals(2, teams.size());
     }
 
+    @Test
+    void getTeamsPage_success() {
+        when(teamRepository.findTeamResponsesAfter(5L, Limit.of(10))).thenReturn(List.of(createResponse(6L, "Chelsea")));
+        List<TeamInformationResponse> teams = teamService.getTeamsPage(5L, 10);
+        assertEquals(1, teams.size());
+    }
+
+    @Test
+    void getTeamsPage_invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> teamService.getTeamsPage(null, -1));
+    }
+
+    @Test
+    void getTeamPlayersPage_success() {
+        when(playerRepository.findTeamPlayerResponsesAfter(1L, 0L, Limit.of(10))).thenReturn(
+                List.of(new PlayerInformationResponse(3L, "Lionel", "Messi", 36, 240, "Barcelona")));
+        List<PlayerInformationResponse> players = teamService.getTeamPlayersPage(1L, null, 10);
+        assertEquals(1, players.size());
+        verify(teamRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getTeamPlayersPage_emptyRoster() {
+        when(playerRepository.findTeamPlayerResponsesAfter(1L, 0L, Limit.of(10))).thenReturn(List.of());
+        when(teamRepository.existsById(1L)).thenReturn(true);
+        assertTrue(teamService.getTeamPlayersPage(1L, null, 10).isEmpty());
+    }
+
+    @Test
+    void getTeamPlayersPage_teamNotFound() {
+        when(playerRepository.findTeamPlayerResponsesAfter(99L, 0L, Limit.of(10))).thenReturn(List.of());
+        when(teamRepository.existsById(99L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> teamService.getTeamPlayersPage(99L, null, 10));
+    }
+
+    @Test
+    void getAffordablePlayers_success() {
+        when(playerRepository.findAffordableBy(1L, Limit.of(10))).thenReturn(List.of(
+                new AffordablePlayerResponse(3L, "Lionel", "Messi", "Barcelona", new BigDecimal("648648.65"), 5.47)));
+        List<AffordablePlayerResponse> players = teamService.getAffordablePlayers(1L, 10);
+        assertEquals(new BigDecimal("35481.08"), players.get(0).getCommission());
+        verify(teamRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getAffordablePlayers_teamNotFound() {
+        when(playerRepository.findAffordableBy(99L, Limit.of(10))).thenReturn(List.of());
+        when(teamRepository.existsById(99L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> teamService.getAffordablePlayers(99L, 10));
+    }
+
+    @Test
+    void getAffordablePlayers_invalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> teamService.getAffordablePlayers(1L, 0));
+        verifyNoInteractions(playerRepository);
+    }
+
+    private TeamInformationResponse createResponse(Long id, String name) {
+        return new TeamInformationResponse(id, name, "Spain", new BigDecimal("1000"), 5.0);
+    }
+
     private TeamInformationRequest createRequest(String name, String country, BigDecimal balance, double commissionRate) {
         TeamInformationRequest req = new TeamInformationRequest();
         req.setName(name);
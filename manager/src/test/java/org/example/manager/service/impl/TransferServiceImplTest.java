@@ -1,21 +1,37 @@
 package org.example.manager.service.impl;
 
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferResultResponse;
+import org.example.manager.event.TransferCompletedEvent;
 import org.example.manager.exception.custom.LowBalanceException;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.exception.custom.WrongTeamException;
+import org.example.manager.metrics.TransferMetrics;
 import org.example.manager.model.Player;
 import org.example.manager.model.Team;
+import org.example.manager.model.TransferLedgerEntry;
 import org.example.manager.repository.PlayerRepository;
 import org.example.manager.repository.TeamRepository;
+import org.example.manager.repository.TransferLedgerRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +40,14 @@ class TransferServiceImplTest {
     private PlayerRepository playerRepository;
     @Mock
     private TeamRepository teamRepository;
+    @Mock
+    private TransferLedgerRepository transferLedgerRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private TransferMetrics transferMetrics;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
     @InjectMocks
     private TransferServiceImpl transferService;
 
@@ -34,14 +58,85 @@ class TransferServiceImplTest {
 
         when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
         when(teamRepository.findById(2L)).thenReturn(Optional.of(newTeam));
-        when(playerRepository.save(any(Player.class))).thenReturn(player);
-        when(teamRepository.save(any(Team.class))).thenReturn(player.getTeam());
+        when(teamRepository.deposit(1L, new BigDecimal("252000.00"))).thenReturn(1);
+        when(teamRepository.withdraw(2L, new BigDecimal("252000.00"))).thenReturn(1);
+        when(playerRepository.moveToTeam(1L, 1L, 2L)).thenReturn(1);
+        Team soldFrom = createTeam(1L, "1252000.00", 5.0);
+        soldFrom.setVersion(3);
+        Team boughtBy = createTeam(2L, "9748000.00", 4.0);
+        boughtBy.setVersion(7);
+        when(teamRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(soldFrom, boughtBy));
+
+        assertSame(player, transferService.transferPlayer(1L, 2L));
+
+        // teams are updated in ascending id order, the player row last
+        InOrder inOrder = inOrder(teamRepository, playerRepository);
+        inOrder.verify(teamRepository).deposit(1L, new BigDecimal("252000.00"));
+        inOrder.verify(teamRepository).withdraw(2L, new BigDecimal("252000.00"));
+        inOrder.verify(playerRepository).moveToTeam(1L, 1L, 2L);
+        verify(teamRepository, never()).save(any(Team.class));
+        verify(entityManagerFactory.getCache()).evict(Player.class, 1L);
+        verify(entityManagerFactory.getCache()).evict(Team.class, 1L);
+        verify(entityManagerFactory.getCache()).evict(Team.class, 2L);
+        ArgumentCaptor<TransferLedgerEntry> entry = ArgumentCaptor.forClass(TransferLedgerEntry.class);
+        verify(transferLedgerRepository).save(entry.capture());
+        assertEquals(1L, entry.getValue().getPlayerId());
+        assertEquals(1L, entry.getValue().getFromTeamId());
+        assertEquals(2L, entry.getValue().getToTeamId());
+        assertEquals(new BigDecimal("240000.00"), entry.getValue().getFee());
+        assertEquals(new BigDecimal("12000.00"), entry.getValue().getCommission());
+        // the event carries the balances and versions read back after the updates
+        verify(eventPublisher).publishEvent(new TransferCompletedEvent(1L, 1L, 2L,
+                new BigDecimal("240000.00"), new BigDecimal("12000.00"),
+                new BigDecimal("1252000.00"), 3, new BigDecimal("9748000.00"), 7));
+    }
+
+    @Test
+    void transferPlayer_withdrawsFirstFromLowerTeamId() {
+        Player player = createPlayer(1L, 25, 60, 3L, "1000000", 5.0);
+        Team newTeam = createTeam(2L, "10000000", 4.0);
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(teamRepository.findById(2L)).thenReturn(Optional.of(newTeam));
+        when(teamRepository.withdraw(eq(2L), any(BigDecimal.class))).thenReturn(1);
+        when(teamRepository.deposit(eq(3L), any(BigDecimal.class))).thenReturn(1);
+        when(playerRepository.moveToTeam(any(), any(), any())).thenReturn(1);
+        when(teamRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(player.getTeam(), newTeam));
 
         transferService.transferPlayer(1L, 2L);
 
-        assertEquals(newTeam, player.getTeam());
-        verify(playerRepository).save(player);
-        verify(teamRepository, times(2)).save(any(Team.class));
+        InOrder inOrder = inOrder(teamRepository);
+        inOrder.verify(teamRepository).withdraw(eq(2L), any(BigDecimal.class));
+        inOrder.verify(teamRepository).deposit(eq(3L), any(BigDecimal.class));
+    }
+
+    @Test
+    void transferPlayer_concurrentWithdrawalFails() {
+        Player player = createPlayer(1L, 25, 60, 1L, "1000000", 5.0);
+        Team newTeam = createTeam(2L, "10000000", 4.0);
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(teamRepository.findById(2L)).thenReturn(Optional.of(newTeam));
+        when(teamRepository.deposit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        // another transfer spent the balance between the read and the conditional update
+        when(teamRepository.withdraw(eq(2L), any(BigDecimal.class))).thenReturn(0);
+
+        assertThrows(LowBalanceException.class, () -> transferService.transferPlayer(1L, 2L));
+        verifyNoInteractions(transferLedgerRepository);
+        verify(playerRepository, never()).moveToTeam(any(), any(), any());
+        verify(transferMetrics).recordFailure(any(LowBalanceException.class));
+    }
+
+    @Test
+    void transferPlayer_concurrentPlayerTransferFails() {
+        Player player = createPlayer(1L, 25, 60, 1L, "1000000", 5.0);
+        Team newTeam = createTeam(2L, "10000000", 4.0);
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(teamRepository.findById(2L)).thenReturn(Optional.of(newTeam));
+        when(teamRepository.deposit(eq(1L), any(BigDecimal.class))).thenReturn(1);
+        when(teamRepository.withdraw(eq(2L), any(BigDecimal.class))).thenReturn(1);
+        when(playerRepository.moveToTeam(any(), any(), any())).thenReturn(0);
+
+        WrongTeamException ex = assertThrows(WrongTeamException.class, () -> transferService.transferPlayer(1L, 2L));
+        assertTrue(ex.getMessage().contains("transferred concurrently"));
     }
 
     @Test
@@ -50,6 +145,7 @@ class TransferServiceImplTest {
         EntityNotFoundException ex = assertThrows(EntityNotFoundException.class, () ->
                 transferService.transferPlayer(1L, 2L));
         assertTrue(ex.getMessage().contains("Player with this id not found"));
+        verify(transferMetrics).recordFailure(ex);
     }
 
     @Test
@@ -73,6 +169,70 @@ class TransferServiceImplTest {
         assertTrue(ex.getMessage().contains("not have enough money"));
     }
 
+    @Test
+    void transferPlayer_sameTeam() {
+        Player player = createPlayer(1L, 25, 60, 1L, "1000000", 5.0);
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(teamRepository.findById(1L)).thenReturn(Optional.of(player.getTeam()));
+        WrongTeamException ex = assertThrows(WrongTeamException.class, () -> transferService.transferPlayer(1L, 1L));
+        verify(transferMetrics).recordFailure(ex);
+    }
+
+    @Test
+    void transferPlayers_reportsEveryItem() {
+        Player player1 = createPlayer(1L, 25, 60, 1L, "0", 5.0);
+        Player player2 = createPlayer(2L, 30, 120, 3L, "0", 5.0);
+        Team richTeam = createTeam(2L, "10000000", 4.0);
+        Team poorTeam = player2.getTeam();
+        when(playerRepository.findTeamIdsByPlayerIdIn(Set.of(1L, 2L, 99L))).thenReturn(List.of(1L, 3L));
+        when(teamRepository.findAllForUpdateByIdIn(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(player1.getTeam(), richTeam, poorTeam));
+        when(playerRepository.findAllForUpdateByIdIn(Set.of(1L, 2L, 99L))).thenReturn(List.of(player1, player2));
+
+        List<TransferResultResponse> results = transferService.transferPlayers(List.of(
+                new TransferRequest(1L, 2L),
+                new TransferRequest(2L, 3L),
+                new TransferRequest(99L, 2L),
+                new TransferRequest(2L, 1L)));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(richTeam, player1.getTeam());
+        assertEquals("Player already in the team", results.get(1).getError());
+        assertEquals("Player with this id not found", results.get(2).getError());
+        assertEquals("New team does not have enough money", results.get(3).getError());
+        assertEquals(poorTeam, player2.getTeam());
+        ArgumentCaptor<List<TransferLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(transferLedgerRepository).saveAll(entries.capture());
+        assertEquals(1, entries.getValue().size());
+        assertEquals(2L, entries.getValue().get(0).getToTeamId());
+        verify(eventPublisher, times(1)).publishEvent(any(TransferCompletedEvent.class));
+        verify(transferMetrics).recordFailure(any(WrongTeamException.class));
+        verify(transferMetrics).recordFailure(any(EntityNotFoundException.class));
+        verify(transferMetrics).recordFailure(any(LowBalanceException.class));
+    }
+
+    @Test
+    void transferPlayers_movesMoney() {
+        Player player = createPlayer(1L, 25, 60, 1L, "1000000", 5.0);
+        Team oldTeam = player.getTeam();
+        Team newTeam = createTeam(2L, "10000000", 4.0);
+        when(playerRepository.findTeamIdsByPlayerIdIn(Set.of(1L))).thenReturn(List.of(1L));
+        when(teamRepository.findAllForUpdateByIdIn(Set.of(1L, 2L))).thenReturn(List.of(oldTeam, newTeam));
+        when(playerRepository.findAllForUpdateByIdIn(Set.of(1L))).thenReturn(List.of(player));
+
+        transferService.transferPlayers(List.of(new TransferRequest(1L, 2L)));
+
+        // 60 * 100000 / 25 = 240000.00, plus 5% commission of the selling team = 252000.00
+        assertEquals(new BigDecimal("1252000.00"), oldTeam.getBalance());
+        assertEquals(new BigDecimal("9748000.00"), newTeam.getBalance());
+    }
+
+    @Test
+    void transferPlayers_emptyRequest() {
+        assertThrows(NullableRequestException.class, () -> transferService.transferPlayers(List.of()));
+    }
+
     private Player createPlayer(Long id, int age, int monthsOfExperience, Long teamId, String balance, double commissionRate) {
         Player player = new Player();
         player.setId(id);
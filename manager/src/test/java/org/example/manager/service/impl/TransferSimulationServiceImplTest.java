@@ -0,0 +1,120 @@
+package org.example.manager.service.impl;
+
+import org.example.manager.dto.request.TransferRequest;
+import org.example.manager.dto.response.TransferSimulationResponse;
+import org.example.manager.event.TeamChangedEvent;
+import org.example.manager.exception.custom.NullableRequestException;
+import org.example.manager.model.Player;
+import org.example.manager.model.Team;
+import org.example.manager.repository.PlayerRepository;
+import org.example.manager.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransferSimulationServiceImpl.class)
+class TransferSimulationServiceImplTest {
+    @Autowired
+    private TransferSimulationServiceImpl transferSimulationService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    private Team barcelona;
+    private Team chelsea;
+    private Player pedri;
+
+    @BeforeEach
+    void setUp() {
+        barcelona = teamRepository.save(team("Barcelona", "Spain", "1000000.00", 5.0));
+        chelsea = teamRepository.save(team("Chelsea", "England", "300000.00", 2.5));
+        pedri = playerRepository.save(player(barcelona));
+        playerRepository.flush();
+        // the service outlives the rolled back test data, the repositories do not publish change events
+        transferSimulationService.onTeamChanged(TeamChangedEvent.saved(chelsea));
+    }
+
+    @Test
+    void simulate_returnsBalancesAndFailures() {
+        TransferSimulationResponse response = transferSimulationService.simulate(List.of(
+                new TransferRequest(pedri.getId(), chelsea.getId()),
+                new TransferRequest(pedri.getId(), chelsea.getId()),
+                new TransferRequest(pedri.getId(), barcelona.getId())));
+
+        assertEquals(3, response.getTransfers());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        // 150000.00 plus 5% commission of Barcelona to Chelsea, then 150000.00 plus 2.5% commission of Chelsea back
+        assertEquals(List.of(
+                new TransferSimulationResponse.TeamBalance(barcelona.getId(), new BigDecimal("1000000.00"), new BigDecimal("1003750.00")),
+                new TransferSimulationResponse.TeamBalance(chelsea.getId(), new BigDecimal("300000.00"), new BigDecimal("296250.00"))),
+                response.getBalances());
+        assertEquals(List.of(
+                new TransferSimulationResponse.StepFailure(2, pedri.getId(), chelsea.getId(), "wrong_team", "Player already in the team")),
+                response.getFailures());
+        assertFalse(response.isFailuresTruncated());
+        assertEquals(new BigDecimal("1000000.00"), teamRepository.findById(barcelona.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void simulate_reloadsSnapshotAfterChange() {
+        assertSame(transferSimulationService.currentSnapshot(), transferSimulationService.currentSnapshot());
+        teamRepository.save(team("Liverpool", "England", "10.00", 1.0));
+        teamRepository.flush();
+
+        transferSimulationService.onTeamChanged(TeamChangedEvent.saved(teamRepository.findByName("Liverpool")));
+
+        assertEquals(3, transferSimulationService.currentSnapshot().teamCount());
+    }
+
+    @Test
+    void simulate_truncatesFailures() {
+        List<TransferRequest> requests = new ArrayList<>();
+        for(int i = 0; i <= TransferSimulationServiceImpl.MAX_REPORTED_FAILURES; i++) {
+            requests.add(new TransferRequest(pedri.getId(), barcelona.getId()));
+        }
+
+        TransferSimulationResponse response = transferSimulationService.simulate(requests);
+
+        assertEquals(requests.size(), response.getFailed());
+        assertEquals(TransferSimulationServiceImpl.MAX_REPORTED_FAILURES, response.getFailures().size());
+        assertTrue(response.isFailuresTruncated());
+        assertTrue(response.getBalances().isEmpty());
+    }
+
+    @Test
+    void simulate_invalidRequests() {
+        assertThrows(NullableRequestException.class, () -> transferSimulationService.simulate(List.of()));
+        assertThrows(NullableRequestException.class, () -> transferSimulationService.simulate(
+                Arrays.asList(new TransferRequest(pedri.getId(), null))));
+    }
+
+    private Team team(String name, String country, String balance, double commissionRate) {
+        Team team = new Team();
+        team.setName(name);
+        team.setCountry(country);
+        team.setBalance(new BigDecimal(balance));
+        team.setCommissionRate(commissionRate);
+        return team;
+    }
+
+    private Player player(Team team) {
+        Player player = new Player();
+        player.setFirstName("Pedri");
+        player.setLastName("Gonzalez");
+        player.setAge(20);
+        player.setMonthsOfExperience(30);
+        player.setTeam(team);
+        return player;
+    }
+}